@@ -36,12 +36,54 @@ application {
     mainClass = "App"
 }
 
+// The vectorized NNUE kernels use the incubating Vector API. They are compiled apart, so that only they need the
+// module, and only the engine tasks put them on the class path and add the module; everything else uses plain loops.
+val vector by sourceSets.creating {
+    compileClasspath += sourceSets["main"].output
+}
+
+tasks.named<JavaCompile>("compileVectorJava") {
+    options.compilerArgs.addAll(listOf("--add-modules", "jdk.incubator.vector"))
+}
+
 tasks.named<Test>("test") {
     // Use JUnit Platform for unit tests.
     useJUnitPlatform()
     maxParallelForks = Runtime.getRuntime().availableProcessors()
 }
 
+val vectorTest by tasks.registering(Test::class) {
+    group = "verification"
+    description = "Runs the NNUE tests with the vectorized kernels."
+    testClassesDirs = sourceSets["test"].output.classesDirs
+    classpath = sourceSets["test"].runtimeClasspath + vector.output
+    useJUnitPlatform()
+    filter {
+        includeTestsMatching("engine.nnue.*")
+    }
+    jvmArgs("--add-modules", "jdk.incubator.vector")
+}
+
+tasks.check {
+    dependsOn(vectorTest)
+}
+
+tasks.register<JavaExec>("perft") {
+    group = "verification"
+    description = "Counts move generation nodes, e.g. ./gradlew perft --args=\"Standard 4 --divide\""
+    classpath = sourceSets["main"].runtimeClasspath + vector.output
+    mainClass = "perft.Perft"
+    jvmArgs("--add-modules", "jdk.incubator.vector")
+}
+
+tasks.register<JavaExec>("search") {
+    group = "verification"
+    description = "Searches a position and prints every iteration, e.g. ./gradlew search --args=\"Standard --time 5000 --nnue shogi.nnue\""
+    classpath = sourceSets["main"].runtimeClasspath + vector.output
+    mainClass = "engine.Search"
+    jvmArgs("--add-modules", "jdk.incubator.vector")
+}
+
 jacoco {
 	toolVersion = "0.8.12"	
 }
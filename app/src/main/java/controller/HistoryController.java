@@ -9,6 +9,7 @@ import model.game.Game;
 import model.game.History;
 import model.Move;
 import model.pieces.Piece;
+import model.pieces.PieceFactory;
 import util.Side;
 import view.HistoryView;
 import view.MoveListItem;
@@ -116,7 +117,7 @@ public class HistoryController {
 
     //Updates Boardview based on a move
     private void forwardMove(Move move){
-        gameController.setBoardViewSquare(move.movedPiece(),move.to());
+        gameController.setBoardViewSquare(move.promoted() ? PieceFactory.promoted(move.movedPiece()) : move.movedPiece(),move.to());
         if(move.capturedPiece() != null){
             Piece piece = move.capturedPiece();
             Side side = (piece.getSide() == Side.SENTE) ? Side.GOTE : Side.SENTE;
@@ -142,7 +143,7 @@ public class HistoryController {
             gameController.changeCountAtPieceStandView(piece.getClass(),piece.getSide(),1);
         }
         else{
-            gameController.setBoardViewSquare(move.movedPiece(),move.from());}
+            gameController.setBoardViewSquare(move.promoted() ? PieceFactory.unpromoted(move.movedPiece()) : move.movedPiece(),move.from());}
     }
 
     public void makeLastMovePromoted() {
@@ -0,0 +1,80 @@
+package engine;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import model.pieces.PieceType;
+import model.variants.Variant;
+import util.JsonLoader;
+
+import java.util.Map;
+
+/**
+ * The tunable numbers of {@link PieceSquareEvaluator} for one variant, as read from JSON.
+ *
+ * The tables of every variant ship in the resource {@code /evaluation.json}, keyed by the name of the variant
+ * (see {@link Variant#serialize()}), and can be tuned by editing that file or by loading a copy of it from the
+ * filesystem with {@link #load(Variant, String)}. Square tables hold one value per square of the board, row by
+ * row from the top left corner, from the point of view of sente; gote reads them rotated by 180 degrees.
+ * Kinds missing from a map count as zero.
+ *
+ * @param values          the value on the board of every kind of piece, unpromoted and promoted
+ * @param hand            the value in hand of every kind of piece
+ * @param squares         the bonus of an unpromoted piece of a kind on each square
+ * @param promotedSquares the bonus of a promoted piece of a kind on each square
+ * @param kingDefender    the bonus per piece of the own side next to the king
+ * @param kingAttacker    the penalty per enemy piece at most two squares away from the king
+ */
+public record EvaluationTables(Map<PieceType, int[]> values, Map<PieceType, Integer> hand,
+                               Map<PieceType, int[]> squares, Map<PieceType, int[]> promotedSquares,
+                               int kingDefender, int kingAttacker) {
+    /**
+     * The resource holding the tables of every variant.
+     */
+    public static final String RESOURCE = "/evaluation.json";
+
+    private static final TypeReference<Map<String, EvaluationTables>> TYPE = new TypeReference<>() {
+    };
+
+    /**
+     * Replaces missing maps by empty ones.
+     */
+    public EvaluationTables {
+        values = values == null ? Map.of() : values;
+        hand = hand == null ? Map.of() : hand;
+        squares = squares == null ? Map.of() : squares;
+        promotedSquares = promotedSquares == null ? Map.of() : promotedSquares;
+    }
+
+    /**
+     * Loads the tables of a variant from {@link #RESOURCE}.
+     *
+     * @param variant the variant
+     * @return the tables of the variant
+     * @throws IllegalArgumentException if the resource cannot be read or has no tables for the variant
+     */
+    public static EvaluationTables load(Variant variant) {
+        return select(JsonLoader.loadResource(RESOURCE, TYPE), variant, RESOURCE);
+    }
+
+    /**
+     * Loads the tables of a variant from a file in the format of {@link #RESOURCE}.
+     *
+     * @param variant the variant
+     * @param path    the path of the file
+     * @return the tables of the variant
+     * @throws IllegalArgumentException if the file cannot be read or has no tables for the variant
+     */
+    public static EvaluationTables load(Variant variant, String path) {
+        return select(JsonLoader.load(path, TYPE), variant, path);
+    }
+
+    private static EvaluationTables select(Map<String, EvaluationTables> tables, Variant variant, String source) {
+        if (tables == null) {
+            throw new IllegalArgumentException("Could not read evaluation tables from " + source);
+        }
+        EvaluationTables variantTables = tables.get(variant.serialize());
+        if (variantTables == null) {
+            throw new IllegalArgumentException("No evaluation tables for " + variant.serialize() + " in " + source);
+        }
+        return variantTables;
+    }
+}
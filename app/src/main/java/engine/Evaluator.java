@@ -0,0 +1,51 @@
+package engine;
+
+import model.game.Board;
+import util.Side;
+
+/**
+ * Scores positions for the search.
+ *
+ * Scores are from the point of view of the side to move, positive when that side stands better, in the
+ * same units as {@link Search#MATE}. An evaluator belongs to one search and is only called from its thread.
+ *
+ * Evaluators that keep their terms up to date move by move are told about the board the search starts on
+ * and about every move made and taken back on it, which they can follow from the packed move alone.
+ */
+public interface Evaluator {
+
+    /**
+     * Scores the position on a board.
+     *
+     * @param board the board, with the players holding the hands set
+     * @param side  the side to move
+     * @return the score for the side to move
+     */
+    int evaluate(Board board, Side side);
+
+    /**
+     * Starts following a board, before any move is made on it.
+     *
+     * @param board the board, with the players holding the hands set
+     */
+    default void reset(Board board) {
+    }
+
+    /**
+     * Follows a move that was just made on the board with {@link Board#makeMove(int)}.
+     *
+     * @param board the board after the move
+     * @param move  the packed move
+     */
+    default void makeMove(Board board, int move) {
+    }
+
+    /**
+     * Follows a move that was just taken back on the board with {@link Board#unmakeMove()}.
+     *
+     * @param board the board before the move
+     * @param move  the packed move
+     */
+    default void unmakeMove(Board board, int move) {
+    }
+}
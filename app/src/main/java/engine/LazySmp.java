@@ -0,0 +1,209 @@
+package engine;
+
+import model.PackedMove;
+import model.game.Position;
+import model.game.RepetitionTracker;
+import model.variants.Variant;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Searches a position on several threads at once with Lazy SMP.
+ *
+ * Every thread runs a complete {@link Search} of the same root position with its own board, killer moves and history,
+ * and the threads only cooperate through the {@link TranspositionTable} they share: results one thread stores cut off
+ * or reorder the search of the others. Half of the helper threads start one ply deeper than the main thread, so that
+ * the threads drift apart and fill the table with different parts of the tree instead of repeating each other.
+ *
+ * The main thread runs on the caller and decides when the search ends; once it returns the helpers are stopped.
+ * The result is that of the thread with the deepest completed iteration, preferring the main thread, with the nodes
+ * of all threads added up. Node limits are split evenly between the threads. The thread count can be changed between
+ * searches with {@link #setThreads(int)}, and the helper threads are released with {@link #shutdown()}.
+ */
+public class LazySmp {
+    private final Variant variant;
+    private final Supplier<Evaluator> evaluators;
+    private final TranspositionTable table;
+    private final List<Search> searches = new ArrayList<>();
+    private ExecutorService pool;
+    private Consumer<SearchResult> listener;
+
+    /**
+     * Constructs a parallel search with piece-square evaluation, the tables being loaded once for all threads.
+     *
+     * @param variant the variant whose rules apply
+     * @param table   the transposition table shared by the threads
+     * @param threads the number of threads, including the calling thread
+     */
+    public LazySmp(Variant variant, TranspositionTable table, int threads) {
+        this(variant, pieceSquareEvaluators(variant), table, threads);
+    }
+
+    /**
+     * Constructs a parallel search.
+     *
+     * @param variant    the variant whose rules apply
+     * @param evaluators creates an evaluator for each thread
+     * @param table      the transposition table shared by the threads
+     * @param threads    the number of threads, including the calling thread
+     */
+    public LazySmp(Variant variant, Supplier<Evaluator> evaluators, TranspositionTable table, int threads) {
+        this.variant = variant;
+        this.evaluators = evaluators;
+        this.table = table;
+        setThreads(threads);
+    }
+
+    private static Supplier<Evaluator> pieceSquareEvaluators(Variant variant) {
+        EvaluationTables tables = EvaluationTables.load(variant);
+        return () -> new PieceSquareEvaluator(variant, tables);
+    }
+
+    /**
+     * Sets the number of threads of the following searches. Must not be called while a search runs.
+     *
+     * @param threads the number of threads, including the calling thread
+     * @throws IllegalArgumentException if the number of threads is not positive
+     */
+    public synchronized void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("A search needs at least one thread: " + threads);
+        }
+        while (searches.size() > threads) {
+            searches.remove(searches.size() - 1);
+        }
+        while (searches.size() < threads) {
+            searches.add(new Search(variant, evaluators.get(), table));
+        }
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+        if (threads > 1) {
+            pool = Executors.newFixedThreadPool(threads - 1, task -> {
+                Thread thread = new Thread(task, "search-helper");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        searches.get(0).setListener(listener == null ? null : this::report);
+    }
+
+    /**
+     * Returns the number of threads a search runs on.
+     *
+     * @return the number of threads
+     */
+    public synchronized int getThreads() {
+        return searches.size();
+    }
+
+    /**
+     * Sets a listener that receives the result of every iteration the main thread completes, with the nodes of
+     * all threads. The listener is called on the thread calling {@link #search(Position, SearchLimits)}.
+     *
+     * @param listener the listener, or null for none
+     */
+    public synchronized void setListener(Consumer<SearchResult> listener) {
+        this.listener = listener;
+        searches.get(0).setListener(listener == null ? null : this::report);
+    }
+
+    /**
+     * Searches a position for the best move of the side to move on every thread, without the positions of the game
+     * leading to it.
+     *
+     * @param position the position to search
+     * @param limits   the limits of the search
+     * @return the result of the deepest completed iteration of any thread
+     * @throws IllegalStateException if a helper thread failed
+     */
+    public SearchResult search(Position position, SearchLimits limits) {
+        return search(position, null, limits);
+    }
+
+    /**
+     * Searches a position of a game for the best move of the side to move on every thread, see
+     * {@link Search#search(Position, RepetitionTracker, SearchLimits)}. The threads share the history.
+     *
+     * @param position the position to search
+     * @param history  the positions of the game, which must not change during the search, or null for none
+     * @param limits   the limits of the search
+     * @return the result of the deepest completed iteration of any thread
+     * @throws IllegalStateException if a helper thread failed
+     */
+    public synchronized SearchResult search(Position position, RepetitionTracker history, SearchLimits limits) {
+        long start = System.nanoTime();
+        table.newSearch();
+        for (Search search : searches) {
+            search.resetStop();
+        }
+        SearchLimits threadLimits = limits.nodes() == SearchLimits.UNLIMITED ? limits
+                : new SearchLimits(limits.depth(), Math.max(1, limits.nodes() / searches.size()), limits.millis());
+
+        List<Future<SearchResult>> helpers = new ArrayList<>();
+        for (int i = 1; i < searches.size(); i++) {
+            Search helper = searches.get(i);
+            int depthOffset = i % 2;
+            helpers.add(pool.submit(() -> helper.run(position, history, threadLimits, depthOffset)));
+        }
+        SearchResult best = searches.get(0).run(position, history, threadLimits, 0);
+        for (int i = 1; i < searches.size(); i++) {
+            searches.get(i).stop();
+        }
+
+        long nodes = best.nodes();
+        for (Future<SearchResult> helper : helpers) {
+            SearchResult result = join(helper);
+            nodes += result.nodes();
+            if (result.depth() > best.depth() && result.bestMove() != PackedMove.NONE) {
+                best = result;
+            }
+        }
+        return new SearchResult(best.bestMove(), best.score(), best.depth(), best.pv(), nodes, System.nanoTime() - start);
+    }
+
+    /**
+     * Stops a running search as soon as possible. May be called from any thread.
+     */
+    public void stop() {
+        // The list is only changed between searches, and the main search stops the helpers once it returns
+        searches.get(0).stop();
+    }
+
+    /**
+     * Stops the helper threads. The search can still be used on the calling thread alone.
+     */
+    public synchronized void shutdown() {
+        setThreads(1);
+    }
+
+    /**
+     * Passes on a result of the main thread with the nodes of every thread.
+     */
+    private void report(SearchResult result) {
+        long nodes = 0;
+        for (Search search : searches) {
+            nodes += search.getNodes();
+        }
+        listener.accept(new SearchResult(result.bestMove(), result.score(), result.depth(), result.pv(), nodes, result.nanos()));
+    }
+
+    private static SearchResult join(Future<SearchResult> helper) {
+        try {
+            return helper.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a search thread", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A search thread failed", e.getCause());
+        }
+    }
+}
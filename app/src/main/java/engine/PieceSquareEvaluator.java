@@ -0,0 +1,252 @@
+package engine;
+
+import model.PackedMove;
+import model.game.Board;
+import model.game.Hand;
+import model.game.MoveTables;
+import model.pieces.Piece;
+import model.pieces.PieceType;
+import model.variants.Variant;
+import util.Side;
+
+import java.util.Map;
+
+/**
+ * Scores positions by material on the board and in hand, piece-square tables and the safety of the kings.
+ *
+ * Material and piece-square terms are kept per side and updated from every packed move made or taken back, which
+ * holds the moved piece, the promotion and the captured piece, so following a move costs a handful of table lookups
+ * and the board is only scanned once in {@link #reset(Board)}. King safety is not kept up to date: it depends on every
+ * piece that enters or leaves the area around a king and on every king move, so it is recomputed from the at most 5x5
+ * squares around each king whenever a position is scored. No term scans the whole board, so a leaf evaluation costs
+ * the same on any board size.
+ *
+ * The numbers come from {@link EvaluationTables} and are copied into flat arrays indexed by kind, promotion and
+ * square when the evaluator is created.
+ */
+public class PieceSquareEvaluator implements Evaluator {
+    private final int rows;
+    private final int columns;
+
+    /**
+     * The board value per kind, indexed by {@link #pieceIndex(PieceType, boolean)}.
+     */
+    private final int[] values = new int[PieceType.count() * 2];
+
+    /**
+     * The value in hand per kind, indexed by {@link PieceType#ordinal()}.
+     */
+    private final int[] handValues = new int[PieceType.count()];
+
+    /**
+     * The bonus per kind and square from sente's point of view, indexed by
+     * {@link #pieceIndex(PieceType, boolean)} and then by square.
+     */
+    private final int[][] squareValues;
+
+    private final int kingDefender;
+    private final int kingAttacker;
+
+    /**
+     * The kinds each hand may hold, with bit {@code ordinal} set for each kind, as captures of other kinds are lost.
+     */
+    private final int[] handKinds = new int[2];
+
+    /**
+     * Material on the board and in hand per side.
+     */
+    private final int[] material = new int[2];
+
+    /**
+     * The sum of the piece-square bonuses per side.
+     */
+    private final int[] placement = new int[2];
+
+    /**
+     * Constructs an evaluator with the tables of a variant from {@link EvaluationTables#RESOURCE}.
+     *
+     * @param variant the variant
+     */
+    public PieceSquareEvaluator(Variant variant) {
+        this(variant, EvaluationTables.load(variant));
+    }
+
+    /**
+     * Constructs an evaluator with tables for a variant.
+     *
+     * @param variant the variant
+     * @param tables  the tables
+     * @throws IllegalArgumentException if a square table does not match the board of the variant
+     */
+    public PieceSquareEvaluator(Variant variant, EvaluationTables tables) {
+        rows = variant.getHeight();
+        columns = variant.getWidth();
+        squareValues = new int[PieceType.count() * 2][rows * columns];
+        for (PieceType type : PieceType.values()) {
+            int[] value = tables.values().get(type);
+            if (value != null) {
+                values[pieceIndex(type, false)] = value[0];
+                values[pieceIndex(type, true)] = value.length > 1 ? value[1] : value[0];
+            }
+            handValues[type.ordinal()] = tables.hand().getOrDefault(type, values[pieceIndex(type, false)]);
+        }
+        copySquares(tables.squares(), false);
+        copySquares(tables.promotedSquares(), true);
+        kingDefender = tables.kingDefender();
+        kingAttacker = tables.kingAttacker();
+    }
+
+    @Override
+    public int evaluate(Board board, Side side) {
+        Side opponent = side.opposite();
+        return material[side.ordinal()] + placement[side.ordinal()] + kingSafety(board, side)
+                - material[opponent.ordinal()] - placement[opponent.ordinal()] - kingSafety(board, opponent);
+    }
+
+    @Override
+    public void reset(Board board) {
+        for (Side side : Side.values()) {
+            int s = side.ordinal();
+            material[s] = 0;
+            placement[s] = 0;
+            handKinds[s] = 0;
+            for (int index = 0; index < board.getPieceCount(side); index++) {
+                int square = board.getPieceSquare(side, index);
+                Piece piece = board.getPieceAt(square);
+                if (piece.getType() != null) {
+                    int pieceIndex = pieceIndex(piece.getType(), MoveTables.isPromoted(piece));
+                    material[s] += values[pieceIndex];
+                    placement[s] += squareValues[pieceIndex][orient(side, square)];
+                }
+            }
+            if (board.getPlayer(side) != null) {
+                Hand hand = board.getPlayer(side).getCapturedPieces();
+                for (int i = 0; i < hand.getKindCount(); i++) {
+                    PieceType type = hand.getKind(i);
+                    handKinds[s] |= 1 << type.ordinal();
+                    material[s] += hand.getCount(type) * handValues[type.ordinal()];
+                }
+            }
+        }
+    }
+
+    @Override
+    public void makeMove(Board board, int move) {
+        follow(move, 1);
+    }
+
+    @Override
+    public void unmakeMove(Board board, int move) {
+        follow(move, -1);
+    }
+
+    /**
+     * Returns the material of a side, on the board and in hand.
+     *
+     * @param side the side
+     * @return the material
+     */
+    public int getMaterial(Side side) {
+        return material[side.ordinal()];
+    }
+
+    /**
+     * Returns the sum of the piece-square bonuses of a side.
+     *
+     * @param side the side
+     * @return the placement score
+     */
+    public int getPlacement(Side side) {
+        return placement[side.ordinal()];
+    }
+
+    /**
+     * Adds the changes of a move to the terms, or subtracts them to take the move back.
+     */
+    private void follow(int move, int sign) {
+        Side side = PackedMove.side(move);
+        int s = side.ordinal();
+        PieceType type = PackedMove.pieceType(move);
+        int to = toSquare(PackedMove.to(move));
+
+        if (PackedMove.isDrop(move)) {
+            int pieceIndex = pieceIndex(type, false);
+            material[s] += sign * (values[pieceIndex] - handValues[type.ordinal()]);
+            placement[s] += sign * squareValues[pieceIndex][orient(side, to)];
+            return;
+        }
+        boolean promoted = PackedMove.isPromotedPiece(move);
+        int before = pieceIndex(type, promoted);
+        int after = pieceIndex(type, promoted || PackedMove.isPromotion(move));
+        material[s] += sign * (values[after] - values[before]);
+        placement[s] += sign * (squareValues[after][orient(side, to)]
+                - squareValues[before][orient(side, toSquare(PackedMove.from(move)))]);
+
+        if (PackedMove.isCapture(move)) {
+            PieceType captured = PackedMove.capturedType(move);
+            int capturedIndex = pieceIndex(captured, PackedMove.isCapturedPromoted(move));
+            int o = side.opposite().ordinal();
+            material[o] -= sign * values[capturedIndex];
+            placement[o] -= sign * squareValues[capturedIndex][orient(side.opposite(), to)];
+            if ((handKinds[s] & 1 << captured.ordinal()) != 0) {
+                material[s] += sign * handValues[captured.ordinal()];
+            }
+        }
+    }
+
+    /**
+     * Rewards own pieces next to the king and punishes enemy pieces closing in on it.
+     * Unlike material and placement this is recomputed on every call, by looking at the squares within two of the king.
+     */
+    private int kingSafety(Board board, Side side) {
+        int king = board.getKingSquare(side);
+        if (king < 0) {
+            return 0;
+        }
+        int kingRow = king / columns;
+        int kingCol = king % columns;
+        int safety = 0;
+        for (int row = Math.max(0, kingRow - 2); row <= Math.min(rows - 1, kingRow + 2); row++) {
+            for (int col = Math.max(0, kingCol - 2); col <= Math.min(columns - 1, kingCol + 2); col++) {
+                Piece piece = board.getPieceAt(row * columns + col);
+                if (piece == null) {
+                    continue;
+                }
+                if (piece.getSide() != side) {
+                    safety -= kingAttacker;
+                } else if (Math.abs(row - kingRow) <= 1 && Math.abs(col - kingCol) <= 1 && row * columns + col != king) {
+                    safety += kingDefender;
+                }
+            }
+        }
+        return safety;
+    }
+
+    private void copySquares(Map<PieceType, int[]> tables, boolean promoted) {
+        for (Map.Entry<PieceType, int[]> entry : tables.entrySet()) {
+            if (entry.getValue().length != rows * columns) {
+                throw new IllegalArgumentException("The square table of " + entry.getKey() + " has "
+                        + entry.getValue().length + " values for " + rows * columns + " squares");
+            }
+            System.arraycopy(entry.getValue(), 0, squareValues[pieceIndex(entry.getKey(), promoted)], 0, rows * columns);
+        }
+    }
+
+    /**
+     * Converts a square of a packed move to a square of the board.
+     */
+    private int toSquare(int packedSquare) {
+        return PackedMove.row(packedSquare) * columns + PackedMove.col(packedSquare);
+    }
+
+    /**
+     * Turns a square into the square of the tables, which are written for sente.
+     */
+    private int orient(Side side, int square) {
+        return side == Side.SENTE ? square : rows * columns - 1 - square;
+    }
+
+    private static int pieceIndex(PieceType type, boolean promoted) {
+        return type.ordinal() * 2 + (promoted ? 1 : 0);
+    }
+}
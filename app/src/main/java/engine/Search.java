@@ -0,0 +1,698 @@
+package engine;
+
+import engine.nnue.Network;
+import engine.nnue.NnueEvaluator;
+import model.MoveBuffer;
+import model.PackedMove;
+import model.Sfen;
+import model.game.Board;
+import model.game.Position;
+import model.game.RepetitionTracker;
+import model.pieces.PieceType;
+import model.variants.ChuShogi;
+import model.variants.Mini;
+import model.variants.MoveGenerator;
+import model.variants.Standard;
+import model.variants.Variant;
+import util.Side;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Finds the best move of a position with a principal variation alpha-beta search.
+ *
+ * The search deepens iteratively, one ply per iteration, until it reaches a limit of {@link SearchLimits} or is
+ * stopped with {@link #stop()}, and returns the result of the last completed iteration. Every iteration searches the
+ * principal variation of the previous one first and the remaining moves with a null window, re-searching a move
+ * with the full window only when it turns out better. Moves are further ordered by captures (most valuable victim
+ * first), two killer moves per ply and a history of quiet moves that caused cutoffs. Leaves are resolved by a
+ * quiescence search of captures, in which a side in check searches all its evasions instead of standing pat. A side
+ * in check is searched one ply deeper.
+ *
+ * A position that occurred before, on the current line or in the game leading to the root, scores as a draw, unless
+ * one side gave check with every move since: like perpetual check in a game, that loses for the checking side. The
+ * positions of the game are passed to the search as a {@link RepetitionTracker}.
+ *
+ * Results are kept in a {@link TranspositionTable}, which provides a move to try first in positions reached again
+ * through another move order and cuts off the null window searches whose result it already holds. Mate scores are
+ * stored relative to the position rather than to the root.
+ *
+ * Moves come from {@link MoveGenerator} and are made with {@link Board#makeMove(int)} on a board created from the
+ * {@link Position}, so the search works for every {@link Variant} and never touches the board of a running game.
+ * A search instance is used by one thread at a time; only {@link #stop()} may be called from another thread.
+ */
+public class Search {
+    /**
+     * The score of a side that mates on the next move. A mate in {@code n} plies scores {@code MATE - n}.
+     */
+    public static final int MATE = 32000;
+
+    /**
+     * The deepest ply the search reaches, including check extensions and the quiescence search.
+     */
+    public static final int MAX_PLY = 128;
+
+    private static final int INFINITE = MATE + 1;
+
+    /**
+     * How many nodes pass between two looks at the clock.
+     */
+    private static final int CLOCK_INTERVAL = 1024;
+
+    /**
+     * The value of each kind of piece for ordering captures, indexed by {@link PieceType#ordinal()}.
+     */
+    private static final int[] ORDER_VALUES = {20, 10, 9, 6, 5, 4, 3, 1, 4};
+
+    /**
+     * The size of the transposition table of a search that is not given one.
+     */
+    public static final int DEFAULT_TABLE_MEGABYTES = 16;
+
+    private static final int PV_ORDER = 1 << 30;
+    private static final int TABLE_ORDER = PV_ORDER - 1;
+    private static final int CAPTURE_ORDER = 1 << 29;
+    private static final int KILLER_ORDER = 1 << 28;
+
+    private final MoveGenerator generator;
+    private final Evaluator evaluator;
+    private final TranspositionTable table;
+    private final AtomicBoolean stopped = new AtomicBoolean();
+
+    private final MoveBuffer[] buffers = new MoveBuffer[MAX_PLY];
+    private final int[][] orders = new int[MAX_PLY][];
+
+    /**
+     * The keys of the positions of the game before the root, then of the root and the current line from
+     * {@link #rootIndex} on, and whether the side to move is in check in each.
+     */
+    private long[] keys = new long[MAX_PLY + 1];
+    private boolean[] checks = new boolean[MAX_PLY + 1];
+    private int rootIndex;
+    private RepetitionTracker gameHistory;
+
+    /**
+     * The principal variation of every ply, row {@code ply} holding the moves from {@code ply} to {@code pvLengths[ply]}.
+     */
+    private final int[][] pv = new int[MAX_PLY + 1][MAX_PLY + 1];
+    private final int[] pvLengths = new int[MAX_PLY + 1];
+    private int[] previousPv = new int[0];
+    private boolean followPv;
+
+    private final int[][] killers = new int[MAX_PLY][2];
+
+    /**
+     * How often each quiet move caused a cutoff, weighted by depth, indexed by {@link #historyIndex(int)}.
+     */
+    private final int[] history = new int[2 * PieceType.count() * 2 * 256];
+
+    private Board board;
+    private SearchLimits limits;
+    private long start;
+    private long deadline;
+    private long nodes;
+    private Consumer<SearchResult> listener;
+
+    /**
+     * Constructs a search with piece-square evaluation and a transposition table of its own.
+     *
+     * @param variant the variant whose rules apply
+     */
+    public Search(Variant variant) {
+        this(variant, new PieceSquareEvaluator(variant), new TranspositionTable(DEFAULT_TABLE_MEGABYTES));
+    }
+
+    /**
+     * Constructs a search with an evaluator and a transposition table, which may be shared with other searches.
+     *
+     * @param variant   the variant whose rules apply
+     * @param evaluator the evaluator scoring the leaves
+     * @param table     the transposition table
+     */
+    public Search(Variant variant, Evaluator evaluator, TranspositionTable table) {
+        this.generator = new MoveGenerator(variant);
+        this.evaluator = evaluator;
+        this.table = table;
+        for (int ply = 0; ply < MAX_PLY; ply++) {
+            buffers[ply] = new MoveBuffer();
+            orders[ply] = new int[MoveBuffer.DEFAULT_CAPACITY];
+        }
+    }
+
+    /**
+     * Sets a listener that receives the result of every completed iteration, for example to show the analysis
+     * while the search goes on. The listener is called on the searching thread.
+     *
+     * @param listener the listener, or null for none
+     */
+    public void setListener(Consumer<SearchResult> listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Stops a running search as soon as possible. May be called from any thread.
+     */
+    public void stop() {
+        stopped.set(true);
+    }
+
+    /**
+     * Clears the stop flag before a search is run with {@link #run(Position, RepetitionTracker, SearchLimits, int)}.
+     */
+    void resetStop() {
+        stopped.set(false);
+    }
+
+    /**
+     * Searches a position for the best move of the side to move, without the positions of the game leading to it.
+     *
+     * @param position the position to search
+     * @param limits   the limits of the search
+     * @return the result of the deepest completed iteration
+     */
+    public SearchResult search(Position position, SearchLimits limits) {
+        return search(position, null, limits);
+    }
+
+    /**
+     * Searches a position of a game for the best move of the side to move. Lines returning to a position of the game
+     * are scored as repetitions.
+     *
+     * @param position the position to search
+     * @param history  the positions of the game, see {@link model.game.Game#getRepetitionHistory()}, which may end
+     *                 with the searched position and must not change during the search, or null for none
+     * @param limits   the limits of the search
+     * @return the result of the deepest completed iteration
+     */
+    public SearchResult search(Position position, RepetitionTracker history, SearchLimits limits) {
+        stopped.set(false);
+        table.newSearch();
+        return run(position, history, limits, 0);
+    }
+
+    /**
+     * Runs the iterations of a search that was prepared by the caller: the stop flag is not cleared, so that a
+     * search stopped before it started ends at once, and the table does not start a new search.
+     *
+     * @param position    the position to search
+     * @param gameHistory the positions of the game, or null for none
+     * @param limits      the limits of the search
+     * @param depthOffset the number of plies the first iteration searches beyond 1
+     * @return the result of the deepest completed iteration
+     */
+    SearchResult run(Position position, RepetitionTracker gameHistory, SearchLimits limits, int depthOffset) {
+        this.limits = limits;
+        board = position.toBoard();
+        evaluator.reset(board);
+        start = System.nanoTime();
+        deadline = limits.millis() == SearchLimits.UNLIMITED ? Long.MAX_VALUE : start + limits.millis() * 1_000_000;
+        nodes = 0;
+        previousPv = new int[0];
+        for (int[] killer : killers) {
+            Arrays.fill(killer, PackedMove.NONE);
+        }
+        for (int i = 0; i < history.length; i++) {
+            history[i] /= 2; // Old cutoffs still say something, but less than new ones
+        }
+
+        Side side = position.getTurn();
+        long rootKey = board.getPositionKey(side);
+        this.gameHistory = gameHistory;
+        rootIndex = gameHistory == null ? 0 : gameHistory.size();
+        if (rootIndex > 0 && gameHistory.getKey(rootIndex - 1) == rootKey) {
+            rootIndex--; // The game ends with the root itself
+        }
+        if (keys.length < rootIndex + MAX_PLY + 1) {
+            keys = new long[rootIndex + MAX_PLY + 1];
+            checks = new boolean[keys.length];
+        }
+        for (int i = 0; i < rootIndex; i++) {
+            keys[i] = gameHistory.getKey(i);
+            checks[i] = gameHistory.isInCheck(i);
+        }
+        keys[rootIndex] = rootKey;
+        MoveBuffer rootMoves = new MoveBuffer();
+        generator.generateLegalMoves(board, side, board.getPlayer(side), rootMoves);
+        if (rootMoves.isEmpty()) {
+            return new SearchResult(PackedMove.NONE, -MATE, 0, new int[0], 0, System.nanoTime() - start);
+        }
+
+        SearchResult result = new SearchResult(rootMoves.get(0), 0, 0, new int[]{rootMoves.get(0)}, 0, 0);
+        for (int depth = Math.min(1 + depthOffset, limits.depth()); depth <= limits.depth(); depth++) {
+            followPv = true;
+            int score = alphaBeta(depth, 0, -INFINITE, INFINITE, side);
+            if (stopped.get()) {
+                break;
+            }
+            previousPv = Arrays.copyOf(pv[0], pvLengths[0]);
+            result = new SearchResult(previousPv[0], score, depth, previousPv, nodes, System.nanoTime() - start);
+            if (listener != null) {
+                listener.accept(result);
+            }
+            if (result.isMate() && MATE - Math.abs(score) <= depth) {
+                break; // Deeper iterations cannot find a shorter mate
+            }
+        }
+        return new SearchResult(result.bestMove(), result.score(), result.depth(), result.pv(), nodes,
+                System.nanoTime() - start);
+    }
+
+    /**
+     * Returns the transposition table of the search.
+     *
+     * @return the transposition table
+     */
+    public TranspositionTable getTranspositionTable() {
+        return table;
+    }
+
+    /**
+     * Returns the number of nodes searched so far by the current or last search. While the search runs on another
+     * thread the count is read without synchronization and may be slightly behind.
+     *
+     * @return the number of nodes
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Searches a position from the command line and prints every iteration.
+     * <p>
+     * Usage: {@code Search <Standard|Mini|ChuShogi> [--depth <n>] [--nodes <n>] [--time <ms>] [--hash <mb>] [--threads <n>] [--nnue <file>] [sfen]}.
+     * Without a SFEN the start position of the variant is searched, and without limits the search runs to depth 6.
+     * With {@code --threads} the search runs on several threads with {@link LazySmp}, and with {@code --nnue} the
+     * positions are scored by the {@link NnueEvaluator} with the network of the file.
+     *
+     * @param args the command line arguments
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: Search <Standard|Mini|ChuShogi> [--depth <n>] [--nodes <n>] [--time <ms>] [--hash <mb>] [--threads <n>] [--nnue <file>] [sfen]");
+            System.exit(1);
+        }
+        Variant variant = switch (args[0]) {
+            case "Standard" -> new Standard();
+            case "Mini" -> new Mini();
+            case "ChuShogi" -> new ChuShogi();
+            default -> throw new IllegalArgumentException("Unknown variant: " + args[0]);
+        };
+        int depth = 0;
+        long nodes = SearchLimits.UNLIMITED;
+        long millis = SearchLimits.UNLIMITED;
+        int megabytes = DEFAULT_TABLE_MEGABYTES;
+        int threads = 1;
+        String nnue = null;
+        List<String> sfenParts = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--depth" -> depth = Integer.parseInt(args[++i]);
+                case "--nodes" -> nodes = Long.parseLong(args[++i]);
+                case "--time" -> millis = Long.parseLong(args[++i]);
+                case "--hash" -> megabytes = Integer.parseInt(args[++i]);
+                case "--threads" -> threads = Integer.parseInt(args[++i]);
+                case "--nnue" -> nnue = args[++i];
+                default -> sfenParts.add(args[i]);
+            }
+        }
+        if (depth == 0) {
+            boolean unlimited = nodes == SearchLimits.UNLIMITED && millis == SearchLimits.UNLIMITED;
+            depth = unlimited ? 6 : SearchLimits.MAX_DEPTH;
+        }
+        Sfen sfen = sfenParts.isEmpty() ? variant.getStartSfen() : new Sfen(String.join(" ", sfenParts));
+
+        Position position;
+        try {
+            position = Position.of(variant, sfen);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unsupported position: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+        int columns = position.getColumns();
+        TranspositionTable table = new TranspositionTable(megabytes);
+        LazySmp search;
+        if (nnue == null) {
+            search = new LazySmp(variant, table, threads);
+        } else {
+            try {
+                Network network = Network.load(Path.of(nnue));
+                search = new LazySmp(variant, () -> new NnueEvaluator(variant, network), table, threads);
+                System.out.println("info string nnue " + nnue + " kernels "
+                        + new NnueEvaluator(variant, network).getKernelName());
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Unusable network: " + e.getMessage());
+                System.exit(1);
+                return;
+            }
+        }
+        search.setListener(result -> System.out.println(format(result, columns)));
+        SearchResult result = search.search(position, new SearchLimits(depth, nodes, millis));
+        search.shutdown();
+        System.out.println("info string threads " + threads + " depth " + result.depth() + " nodes " + result.nodes()
+                + " nps " + result.nodesPerSecond());
+        System.out.println("info string hashfull " + table.getUsagePermille() + " hits " + table.getHits()
+                + " misses " + table.getMisses() + " collisions " + table.getCollisions());
+        System.out.println("bestmove " + (result.bestMove() == PackedMove.NONE ? "resign" : PackedMove.toUsi(result.bestMove(), columns)));
+    }
+
+    private static String format(SearchResult result, int columns) {
+        String score = result.isMate()
+                ? "mate " + (result.score() > 0 ? MATE - result.score() : -(MATE + result.score()))
+                : "cp " + result.score();
+        return "info depth " + result.depth() + " score " + score + " nodes " + result.nodes()
+                + " nps " + result.nodesPerSecond() + " time " + result.nanos() / 1_000_000
+                + " pv " + result.getPvAsUsi(columns);
+    }
+
+    private int alphaBeta(int depth, int ply, int alpha, int beta, Side side) {
+        pvLengths[ply] = ply;
+        int index = rootIndex + ply;
+        if (ply > 0 && shouldStop()) {
+            return 0;
+        }
+        boolean inCheck = isInCheck(side);
+        checks[index] = inCheck;
+        if (ply > 0) {
+            int repeated = findRepetition(index);
+            if (repeated >= 0) {
+                return repetitionScore(repeated, index, ply);
+            }
+        }
+        if (inCheck && ply < MAX_PLY / 2) {
+            depth++;
+        }
+        if (depth <= 0 || ply >= MAX_PLY - 1) {
+            return quiescence(ply, alpha, beta, side);
+        }
+        nodes++;
+
+        int tableMove = PackedMove.NONE;
+        long entry = table.probe(keys[index]);
+        if (entry != 0) {
+            tableMove = TranspositionTable.getMove(entry);
+            boolean nullWindow = beta - alpha == 1;
+            if (nullWindow && TranspositionTable.getDepth(entry) >= depth) {
+                int score = fromTable(TranspositionTable.getScore(entry), ply);
+                int bound = TranspositionTable.getBound(entry);
+                if (bound == TranspositionTable.EXACT
+                        || (bound == TranspositionTable.LOWER && score >= beta)
+                        || (bound == TranspositionTable.UPPER && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+
+        MoveBuffer moves = buffers[ply];
+        generator.generateLegalMoves(board, side, board.getPlayer(side), moves);
+        if (moves.isEmpty()) {
+            return -MATE + ply; // Shogi has no stalemate, a side without moves loses
+        }
+        boolean onPv = followPv;
+        followPv = false;
+        int pvMove = onPv && ply < previousPv.length ? previousPv[ply] : PackedMove.NONE;
+        scoreMoves(moves, ply, pvMove, tableMove);
+
+        int originalAlpha = alpha;
+        int bestMove = PackedMove.NONE;
+        int best = -INFINITE;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = nextMove(moves, ply, i);
+            followPv = onPv && move == pvMove;
+            make(move);
+            keys[index + 1] = board.getPositionKey(side.opposite());
+            int score;
+            if (i == 0) {
+                score = -alphaBeta(depth - 1, ply + 1, -beta, -alpha, side.opposite());
+            } else {
+                score = -alphaBeta(depth - 1, ply + 1, -alpha - 1, -alpha, side.opposite());
+                if (score > alpha && score < beta) {
+                    score = -alphaBeta(depth - 1, ply + 1, -beta, -alpha, side.opposite());
+                }
+            }
+            unmake(move);
+            followPv = false;
+            if (stopped.get()) {
+                return 0;
+            }
+
+            if (score > best) {
+                best = score;
+                if (score > alpha) {
+                    alpha = score;
+                    bestMove = move;
+                    updatePv(ply, move);
+                    if (score >= beta) {
+                        if (!PackedMove.isCapture(move)) {
+                            rememberCutoff(move, ply, depth);
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+        int bound = best >= beta ? TranspositionTable.LOWER
+                : best > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER;
+        table.store(keys[index], bestMove, toTable(best, ply), depth, bound);
+        return best;
+    }
+
+    private int quiescence(int ply, int alpha, int beta, Side side) {
+        pvLengths[ply] = ply;
+        if (shouldStop()) {
+            return 0;
+        }
+        nodes++;
+        MoveBuffer moves = buffers[ply];
+        int best;
+        int count;
+        if (isInCheck(side)) {
+            // A side in check may not stand pat, every evasion is searched, drops included
+            generator.generateLegalMoves(board, side, board.getPlayer(side), moves);
+            if (moves.isEmpty()) {
+                return -MATE + ply;
+            }
+            if (ply >= MAX_PLY - 1) {
+                return evaluator.evaluate(board, side);
+            }
+            best = -INFINITE;
+            count = moves.size();
+        } else {
+            int standPat = evaluator.evaluate(board, side);
+            if (standPat >= beta || ply >= MAX_PLY - 1) {
+                return standPat;
+            }
+            alpha = Math.max(alpha, standPat);
+            best = standPat;
+
+            generator.generateLegalMoves(board, side, null, moves); // Drops are never captures
+            count = 0;
+            for (int i = 0; i < moves.size(); i++) {
+                if (PackedMove.isCapture(moves.get(i))) {
+                    moves.set(count++, moves.get(i));
+                }
+            }
+        }
+        int[] order = orderBuffer(ply, count);
+        for (int i = 0; i < count; i++) {
+            int move = moves.get(i);
+            order[i] = PackedMove.isCapture(move) ? captureOrder(move) : 0;
+        }
+
+        for (int i = 0; i < count; i++) {
+            int move = nextMove(moves, ply, i, count);
+            make(move);
+            int score = -quiescence(ply + 1, -beta, -alpha, side.opposite());
+            unmake(move);
+            if (stopped.get()) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+                if (score > alpha) {
+                    alpha = score;
+                    updatePv(ply, move);
+                    if (score >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    private void make(int move) {
+        board.makeMove(move);
+        evaluator.makeMove(board, move);
+    }
+
+    private void unmake(int move) {
+        board.unmakeMove();
+        evaluator.unmakeMove(board, move);
+    }
+
+    /**
+     * Checks the limits and raises the stop flag once one is reached.
+     */
+    private boolean shouldStop() {
+        if (stopped.get()) {
+            return true;
+        }
+        if (nodes >= limits.nodes() || (nodes % CLOCK_INTERVAL == 0 && System.nanoTime() >= deadline)) {
+            stopped.set(true);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Finds the last earlier occurrence of the position at an index of {@link #keys}, on the current line or in the
+     * game before the root. The game is only scanned if the position occurs in it at all.
+     *
+     * @return the index of the occurrence, or -1 if the position is new
+     */
+    private int findRepetition(int index) {
+        long key = keys[index];
+        int end = gameHistory != null && gameHistory.getCount(key) > 0 ? 0 : rootIndex;
+        // Positions with the same side to move alternate, and no position repeats after two moves
+        for (int i = index - 4; i >= end; i -= 2) {
+            if (keys[i] == key) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Scores a repetition for the side to move at an index of {@link #keys}: a draw, or a mate at the ply for or
+     * against the side to move if one side gave check with every one of its moves since the earlier occurrence.
+     */
+    private int repetitionScore(int repeated, int index, int ply) {
+        // A side gives check with every move if the opponent is in check in every position it moves in
+        boolean opponentChecks = true;
+        boolean sideChecks = true;
+        for (int i = repeated + 1; i <= index; i++) {
+            if ((index - i) % 2 == 0) {
+                opponentChecks &= checks[i];
+            } else {
+                sideChecks &= checks[i];
+            }
+        }
+        if (opponentChecks == sideChecks) {
+            return 0;
+        }
+        return opponentChecks ? MATE - ply : -MATE + ply;
+    }
+
+    private boolean isInCheck(Side side) {
+        int king = board.getKingSquare(side);
+        return king >= 0 && board.isSquareAttacked(king, side.opposite());
+    }
+
+    private void scoreMoves(MoveBuffer moves, int ply, int pvMove, int tableMove) {
+        int[] order = orderBuffer(ply, moves.size());
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            if (move == pvMove) {
+                order[i] = PV_ORDER;
+            } else if (move == tableMove) {
+                order[i] = TABLE_ORDER;
+            } else if (PackedMove.isCapture(move)) {
+                order[i] = captureOrder(move);
+            } else if (move == killers[ply][0]) {
+                order[i] = KILLER_ORDER + 1;
+            } else if (move == killers[ply][1]) {
+                order[i] = KILLER_ORDER;
+            } else {
+                order[i] = history[historyIndex(move)];
+            }
+        }
+    }
+
+    /**
+     * Converts a mate score from the distance to the root to the distance to the position, for the table.
+     */
+    private static int toTable(int score, int ply) {
+        if (score >= MATE - MAX_PLY) {
+            return score + ply;
+        }
+        return score <= -MATE + MAX_PLY ? score - ply : score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        if (score >= MATE - MAX_PLY) {
+            return score - ply;
+        }
+        return score <= -MATE + MAX_PLY ? score + ply : score;
+    }
+
+    private int[] orderBuffer(int ply, int size) {
+        if (orders[ply].length < size) {
+            orders[ply] = new int[size * 2];
+        }
+        return orders[ply];
+    }
+
+    private static int captureOrder(int move) {
+        return CAPTURE_ORDER + ORDER_VALUES[PackedMove.capturedType(move).ordinal()] * 32
+                - ORDER_VALUES[PackedMove.pieceType(move).ordinal()];
+    }
+
+    private int nextMove(MoveBuffer moves, int ply, int index) {
+        return nextMove(moves, ply, index, moves.size());
+    }
+
+    /**
+     * Swaps the best ordered of the remaining moves to an index and returns it. Selecting one move at a time is
+     * cheaper than sorting, as most nodes are cut off after a few moves.
+     */
+    private int nextMove(MoveBuffer moves, int ply, int index, int size) {
+        int[] order = orders[ply];
+        int best = index;
+        for (int i = index + 1; i < size; i++) {
+            if (order[i] > order[best]) {
+                best = i;
+            }
+        }
+        int move = moves.get(best);
+        if (best != index) {
+            moves.set(best, moves.get(index));
+            moves.set(index, move);
+            int swap = order[best];
+            order[best] = order[index];
+            order[index] = swap;
+        }
+        return move;
+    }
+
+    private void updatePv(int ply, int move) {
+        pv[ply][ply] = move;
+        int length = pvLengths[ply + 1];
+        System.arraycopy(pv[ply + 1], ply + 1, pv[ply], ply + 1, length - ply - 1);
+        pvLengths[ply] = Math.max(length, ply + 1);
+    }
+
+    private void rememberCutoff(int move, int ply, int depth) {
+        if (killers[ply][0] != move) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+        }
+        int index = historyIndex(move);
+        history[index] = Math.min(history[index] + depth * depth, KILLER_ORDER - 1);
+    }
+
+    /**
+     * Indexes the history by the side, kind and promotion state of the moving piece and the target square.
+     */
+    private static int historyIndex(int move) {
+        int piece = (PackedMove.side(move).ordinal() * PieceType.count() + PackedMove.pieceType(move).ordinal()) * 2
+                + (PackedMove.isPromotedPiece(move) ? 1 : 0);
+        return piece * 256 + PackedMove.to(move);
+    }
+}
@@ -0,0 +1,64 @@
+package engine;
+
+/**
+ * The limits of a search. The search stops at whichever limit it reaches first.
+ *
+ * @param depth  the deepest iteration to search, from 1 to {@link #MAX_DEPTH}
+ * @param nodes  the number of nodes after which to stop, or {@link #UNLIMITED}
+ * @param millis the time in milliseconds after which to stop, or {@link #UNLIMITED}
+ */
+public record SearchLimits(int depth, long nodes, long millis) {
+    /**
+     * The deepest iteration a search can reach.
+     */
+    public static final int MAX_DEPTH = 64;
+
+    /**
+     * The value of a node or time limit that does not limit the search.
+     */
+    public static final long UNLIMITED = Long.MAX_VALUE;
+
+    /**
+     * Validates the limits.
+     *
+     * @throws IllegalArgumentException if a limit is out of range
+     */
+    public SearchLimits {
+        if (depth < 1 || depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Depth must be between 1 and " + MAX_DEPTH + ": " + depth);
+        }
+        if (nodes < 1 || millis < 1) {
+            throw new IllegalArgumentException("Node and time limits must be positive: " + nodes + ", " + millis);
+        }
+    }
+
+    /**
+     * Limits a search to a depth.
+     *
+     * @param depth the deepest iteration to search
+     * @return the limits
+     */
+    public static SearchLimits depth(int depth) {
+        return new SearchLimits(depth, UNLIMITED, UNLIMITED);
+    }
+
+    /**
+     * Limits a search to a number of nodes.
+     *
+     * @param nodes the number of nodes
+     * @return the limits
+     */
+    public static SearchLimits nodes(long nodes) {
+        return new SearchLimits(MAX_DEPTH, nodes, UNLIMITED);
+    }
+
+    /**
+     * Limits a search to a time.
+     *
+     * @param millis the time in milliseconds
+     * @return the limits
+     */
+    public static SearchLimits time(long millis) {
+        return new SearchLimits(MAX_DEPTH, UNLIMITED, millis);
+    }
+}
@@ -0,0 +1,50 @@
+package engine;
+
+import model.PackedMove;
+
+import java.util.StringJoiner;
+
+/**
+ * The outcome of a search, or of one iteration of it.
+ *
+ * @param bestMove the best move found as a packed move, or {@link PackedMove#NONE} if the side to move has no move
+ * @param score    the score of the best move for the side to move, see {@link Search#MATE} for mate scores
+ * @param depth    the depth of the last completed iteration
+ * @param pv       the principal variation, starting with the best move. The array must not be modified.
+ * @param nodes    the number of nodes searched
+ * @param nanos    the time the search took in nanoseconds
+ */
+public record SearchResult(int bestMove, int score, int depth, int[] pv, long nodes, long nanos) {
+
+    /**
+     * Returns the number of nodes searched per second.
+     *
+     * @return the nodes per second, or 0 if the search took no measurable time
+     */
+    public long nodesPerSecond() {
+        return nanos == 0 ? 0 : nodes * 1_000_000_000L / nanos;
+    }
+
+    /**
+     * Checks whether the score is a forced mate for either side.
+     *
+     * @return {@code true} if the score is a mate score
+     */
+    public boolean isMate() {
+        return Math.abs(score) >= Search.MATE - Search.MAX_PLY;
+    }
+
+    /**
+     * Returns the principal variation in USI notation, moves separated by spaces.
+     *
+     * @param columns the number of columns of the board
+     * @return the principal variation
+     */
+    public String getPvAsUsi(int columns) {
+        StringJoiner joiner = new StringJoiner(" ");
+        for (int move : pv) {
+            joiner.add(PackedMove.toUsi(move, columns));
+        }
+        return joiner.toString();
+    }
+}
@@ -0,0 +1,257 @@
+package engine;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed-size table of search results keyed by the Zobrist key of a position, shared by any number of search threads.
+ *
+ * Entries live in a single {@code long[]}, two words per entry, so the table costs the garbage collector nothing
+ * however large it is. The second word packs the result:
+ *
+ * <pre>
+ * bits  0-27  best move as a packed move, see {@link model.PackedMove}, or 0 if there is none
+ * bits 28-43  score plus 32768
+ * bits 44-51  depth of the search
+ * bits 52-53  bound, one of {@link #EXACT}, {@link #LOWER} and {@link #UPPER}
+ * bits 54-61  generation of the search that stored the entry
+ * </pre>
+ *
+ * The first word is the key XOR the second word. Threads read and write entries without locks: a reader takes the
+ * data word, XORs it into the key word and accepts the entry only if that gives back its own key. An entry torn by
+ * two threads writing at once fails this check like an entry of another position, so a racing write can lose a result
+ * but never hand a thread the result of another position.
+ *
+ * An entry is replaced by a result for another position unless it is from the current search and deeper by more than
+ * {@link #REPLACE_MARGIN} plies, and by a new result for the same position unless that is shallower and not exact.
+ */
+public class TranspositionTable {
+    /**
+     * The score is exact.
+     */
+    public static final int EXACT = 1;
+
+    /**
+     * The score is a lower bound, the search failed high.
+     */
+    public static final int LOWER = 2;
+
+    /**
+     * The score is an upper bound, the search failed low.
+     */
+    public static final int UPPER = 3;
+
+    /**
+     * The largest table, limited by the length of a Java array.
+     */
+    public static final int MAX_MEGABYTES = 8192;
+
+    private static final int REPLACE_MARGIN = 2;
+    private static final int ENTRY_BYTES = 16;
+
+    private static final long MOVE_MASK = (1L << 28) - 1;
+    private static final int SCORE_SHIFT = 28;
+    private static final int DEPTH_SHIFT = 44;
+    private static final int BOUND_SHIFT = 52;
+    private static final int GENERATION_SHIFT = 54;
+
+    private final long[] table;
+    private final int mask;
+    private volatile int generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder collisions = new LongAdder();
+
+    /**
+     * Constructs an empty table of at most a number of megabytes, rounded down to a power of two entries.
+     *
+     * @param megabytes the size of the table, from 1 to {@link #MAX_MEGABYTES}
+     * @throws IllegalArgumentException if the size is out of range
+     */
+    public TranspositionTable(int megabytes) {
+        if (megabytes < 1 || megabytes > MAX_MEGABYTES) {
+            throw new IllegalArgumentException("Table size must be between 1 and " + MAX_MEGABYTES + " MB: " + megabytes);
+        }
+        long entries = Long.highestOneBit((long) megabytes * 1024 * 1024 / ENTRY_BYTES);
+        entries = Math.min(entries, 1L << 29); // Two words per entry must fit in one array
+        table = new long[(int) entries * 2];
+        mask = (int) entries - 1;
+    }
+
+    /**
+     * Looks up a position.
+     *
+     * @param key the Zobrist key of the position
+     * @return the packed entry to read with the static accessors, or 0 if the position is not in the table
+     */
+    public long probe(long key) {
+        int index = index(key);
+        long data = table[index + 1];
+        long stored = table[index] ^ data;
+        if (data != 0 && stored == key) {
+            hits.increment();
+            return data;
+        }
+        if (data == 0) {
+            misses.increment();
+        } else {
+            collisions.increment();
+        }
+        return 0;
+    }
+
+    /**
+     * Stores the result of a search of a position.
+     *
+     * @param key   the Zobrist key of the position
+     * @param move  the best move, or 0 if none is known
+     * @param score the score, between -32768 and 32767
+     * @param depth the depth of the search, from 0 to 255
+     * @param bound the bound of the score, one of {@link #EXACT}, {@link #LOWER} and {@link #UPPER}
+     */
+    public void store(long key, int move, int score, int depth, int bound) {
+        int index = index(key);
+        long old = table[index + 1];
+        int current = generation;
+        if (old != 0) {
+            boolean samePosition = (table[index] ^ old) == key;
+            int oldDepth = getDepth(old);
+            if (samePosition) {
+                if (bound != EXACT && depth < oldDepth && getGeneration(old) == current) {
+                    return;
+                }
+                if (move == 0) {
+                    move = getMove(old); // Keep the move of an earlier search of the position
+                }
+            } else if (getGeneration(old) == current && oldDepth > depth + REPLACE_MARGIN) {
+                return;
+            }
+        }
+        long data = (move & MOVE_MASK)
+                | (long) (score + 32768) << SCORE_SHIFT
+                | (long) depth << DEPTH_SHIFT
+                | (long) bound << BOUND_SHIFT
+                | (long) current << GENERATION_SHIFT;
+        table[index] = key ^ data;
+        table[index + 1] = data;
+    }
+
+    /**
+     * Starts a new search, so that results of earlier searches are replaced first.
+     */
+    public void newSearch() {
+        generation = (generation + 1) & 0xFF;
+    }
+
+    /**
+     * Empties the table and resets the counters. Must not be called while a search uses the table.
+     */
+    public void clear() {
+        Arrays.fill(table, 0);
+        generation = 0;
+        hits.reset();
+        misses.reset();
+        collisions.reset();
+    }
+
+    /**
+     * Returns the number of entries the table holds.
+     *
+     * @return the capacity in entries
+     */
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Estimates how full the table is from a sample of its first entries.
+     *
+     * @return the share of used entries in permille
+     */
+    public int getUsagePermille() {
+        int sample = Math.min(1000, getCapacity());
+        int used = 0;
+        for (int i = 0; i < sample; i++) {
+            if (table[i * 2 + 1] != 0) {
+                used++;
+            }
+        }
+        return used * 1000 / sample;
+    }
+
+    /**
+     * Returns the number of probes that found their position.
+     *
+     * @return the number of hits
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of probes that found an empty entry.
+     *
+     * @return the number of misses
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of probes that found an entry of another position.
+     *
+     * @return the number of collisions
+     */
+    public long getCollisions() {
+        return collisions.sum();
+    }
+
+    /**
+     * Returns the best move of an entry.
+     *
+     * @param entry the entry returned by {@link #probe(long)}
+     * @return the packed move, or 0 if none is known
+     */
+    public static int getMove(long entry) {
+        return (int) (entry & MOVE_MASK);
+    }
+
+    /**
+     * Returns the score of an entry.
+     *
+     * @param entry the entry returned by {@link #probe(long)}
+     * @return the score
+     */
+    public static int getScore(long entry) {
+        return (int) (entry >>> SCORE_SHIFT & 0xFFFF) - 32768;
+    }
+
+    /**
+     * Returns the depth of an entry.
+     *
+     * @param entry the entry returned by {@link #probe(long)}
+     * @return the depth
+     */
+    public static int getDepth(long entry) {
+        return (int) (entry >>> DEPTH_SHIFT & 0xFF);
+    }
+
+    /**
+     * Returns the bound of an entry.
+     *
+     * @param entry the entry returned by {@link #probe(long)}
+     * @return one of {@link #EXACT}, {@link #LOWER} and {@link #UPPER}
+     */
+    public static int getBound(long entry) {
+        return (int) (entry >>> BOUND_SHIFT & 0x3);
+    }
+
+    private static int getGeneration(long entry) {
+        return (int) (entry >>> GENERATION_SHIFT & 0xFF);
+    }
+
+    private int index(long key) {
+        return ((int) (key ^ key >>> 32) & mask) * 2;
+    }
+}
@@ -0,0 +1,97 @@
+package engine.nnue;
+
+import model.pieces.PieceType;
+import util.Side;
+
+/**
+ * Numbers the inputs of a {@link Network}, HalfKP features adapted to pieces in hand.
+ *
+ * Each perspective sees the position relative to its own king: a feature is the square of that king combined with
+ * one piece other than a king, either a piece of a side, kind and promotion on a square, or the n-th piece of a side
+ * and kind in hand. A hand holding three pawns thus has the features of its first, second and third pawn, so that a
+ * capture or a drop changes a single hand feature. Counts above {@link #MAX_HAND} have no feature of their own.
+ *
+ * Gote sees the board rotated by 180 degrees and the sides swapped, so the same weights serve both perspectives.
+ * Squares are numbered row by row from the top left corner like those of the board.
+ */
+public final class Features {
+    /**
+     * The number of pieces of a kind in hand that have features.
+     */
+    public static final int MAX_HAND = 18;
+
+    private static final int KINDS = PieceType.count();
+
+    private Features() {
+    }
+
+    /**
+     * Returns the number of features of a board size.
+     *
+     * @param rows    the number of rows
+     * @param columns the number of columns
+     * @return the number of features
+     */
+    public static int count(int rows, int columns) {
+        int squares = rows * columns;
+        return squares * perKing(squares);
+    }
+
+    /**
+     * Returns the number of features that share a king square.
+     *
+     * @param squares the number of squares of the board
+     * @return the number of features per king square
+     */
+    static int perKing(int squares) {
+        return 2 * KINDS * 2 * squares + 2 * KINDS * MAX_HAND;
+    }
+
+    /**
+     * Returns the first feature of a king square.
+     *
+     * @param squares     the number of squares of the board
+     * @param perspective the side whose king it is
+     * @param king        the square of the king, or -1 without a king
+     * @return the feature of the first piece seen from the king square
+     */
+    static int king(int squares, Side perspective, int king) {
+        return king < 0 ? 0 : orient(squares, perspective, king) * perKing(squares);
+    }
+
+    /**
+     * Returns the feature of a piece on the board, relative to a king square.
+     *
+     * @param squares     the number of squares of the board
+     * @param perspective the side that sees the piece
+     * @param side        the side of the piece
+     * @param type        the kind of the piece
+     * @param promoted    whether the piece is promoted
+     * @param square      the square of the piece
+     * @return the feature, to be added to {@link #king(int, Side, int)}
+     */
+    static int board(int squares, Side perspective, Side side, PieceType type, boolean promoted, int square) {
+        int relative = side == perspective ? 0 : 1;
+        int kind = (relative * KINDS + type.ordinal()) * 2 + (promoted ? 1 : 0);
+        return kind * squares + orient(squares, perspective, square);
+    }
+
+    /**
+     * Returns the feature of the n-th piece of a kind in hand, relative to a king square.
+     *
+     * @param squares     the number of squares of the board
+     * @param perspective the side that sees the piece
+     * @param side        the side holding the piece
+     * @param type        the kind of the piece
+     * @param nth         the number of the piece, from 1 to {@link #MAX_HAND}
+     * @return the feature, to be added to {@link #king(int, Side, int)}
+     */
+    static int hand(int squares, Side perspective, Side side, PieceType type, int nth) {
+        int relative = side == perspective ? 0 : 1;
+        return 2 * KINDS * 2 * squares + (relative * KINDS + type.ordinal()) * MAX_HAND + nth - 1;
+    }
+
+    private static int orient(int squares, Side perspective, int square) {
+        return perspective == Side.SENTE ? square : squares - 1 - square;
+    }
+}
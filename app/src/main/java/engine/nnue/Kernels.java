@@ -0,0 +1,67 @@
+package engine.nnue;
+
+/**
+ * The arithmetic of the network on arrays of 16-bit values, in a scalar and a vectorized version.
+ *
+ * Both versions give the same results bit for bit: accumulator updates wrap around like Java {@code short}
+ * arithmetic, and dot products cannot overflow within the limits {@link Network} checks when it loads weights.
+ * {@link #create()} picks the vectorized version when the JDK Vector API is available, which needs the classes of
+ * the {@code vector} source set on the class path and the JVM to be started with
+ * {@code --add-modules jdk.incubator.vector}, as the perft and search tasks do, and the scalar loops otherwise.
+ */
+interface Kernels {
+
+    /**
+     * Adds a row of weights to an accumulator.
+     *
+     * @param accumulator the accumulator to change
+     * @param weights     the weights
+     * @param offset      the index of the first weight of the row
+     */
+    void add(short[] accumulator, short[] weights, int offset);
+
+    /**
+     * Subtracts a row of weights from an accumulator.
+     *
+     * @param accumulator the accumulator to change
+     * @param weights     the weights
+     * @param offset      the index of the first weight of the row
+     */
+    void subtract(short[] accumulator, short[] weights, int offset);
+
+    /**
+     * Returns the dot product of an accumulator clipped to {@code [0, clip]} with a row of weights.
+     *
+     * @param accumulator the accumulator
+     * @param clip        the largest activation
+     * @param weights     the weights
+     * @param offset      the index of the first weight of the row
+     * @return the dot product
+     */
+    long dot(short[] accumulator, int clip, short[] weights, int offset);
+
+    /**
+     * Returns a short name of the implementation, for reports.
+     *
+     * @return the name
+     */
+    String getName();
+
+    /**
+     * Returns the vectorized kernels if the Vector API is available, and the scalar ones otherwise.
+     * The name of the scalar kernels tells why the vectorized ones could not be used.
+     *
+     * @return the fastest available kernels
+     */
+    static Kernels create() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return new ScalarKernels("scalar, jdk.incubator.vector not added");
+        }
+        try {
+            // Loaded by name, so that the class is never touched without the module
+            return (Kernels) Class.forName("engine.nnue.VectorKernels").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return new ScalarKernels("scalar, vector kernels unavailable: " + e);
+        }
+    }
+}
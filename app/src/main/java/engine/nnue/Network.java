@@ -0,0 +1,248 @@
+package engine.nnue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The quantized weights of an NNUE network for one board size, read from a binary file.
+ *
+ * The network has HalfKP-style inputs (see {@link Features}), one hidden layer per perspective of {@code hidden}
+ * 16-bit values, clipped to {@code [0, clip]}, and a linear output over both hidden layers, the side to move first.
+ * The output divided by {@code divisor} is the score in the units of the search.
+ *
+ * The file is little-endian: a header of seven 32-bit integers (the magic number {@code "SNUE"}, the version, the
+ * rows and columns of the board, {@code hidden}, {@code clip} and {@code divisor}), then the 16-bit feature biases,
+ * the 16-bit feature weights, one row of {@code hidden} weights per feature, the 16-bit output weights and the
+ * 32-bit output bias. {@code clip * hidden} may not exceed 65536, so that no sum of the output layer overflows.
+ */
+public final class Network {
+    /**
+     * The first four bytes of a network file, {@code "SNUE"} in ASCII.
+     */
+    public static final int MAGIC = 0x45554E53;
+
+    /**
+     * The version of the file format.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The largest accepted size of the hidden layer.
+     */
+    public static final int MAX_HIDDEN = 1024;
+
+    private static final int HEADER_BYTES = 7 * Integer.BYTES;
+    private static final int CHUNK_BYTES = 1 << 20;
+
+    private final int rows;
+    private final int columns;
+    private final int hidden;
+    private final int clip;
+    private final int divisor;
+    private final short[] featureBiases;
+    private final short[] featureWeights;
+    private final short[] outputWeights;
+    private final int outputBias;
+
+    /**
+     * Constructs a network from its weights, which are used without copying.
+     *
+     * @throws IllegalArgumentException if a size or an array does not fit the others
+     */
+    Network(int rows, int columns, int hidden, int clip, int divisor,
+            short[] featureBiases, short[] featureWeights, short[] outputWeights, int outputBias) {
+        if (rows < 1 || columns < 1 || rows > 16 || columns > 16) {
+            throw new IllegalArgumentException("Unsupported board of " + rows + "x" + columns);
+        }
+        if (hidden < 1 || hidden > MAX_HIDDEN) {
+            throw new IllegalArgumentException("The hidden layer must have 1 to " + MAX_HIDDEN + " values: " + hidden);
+        }
+        if (clip < 1 || clip > Short.MAX_VALUE || clip * hidden > 65536) {
+            throw new IllegalArgumentException("Clipping at " + clip + " overflows a hidden layer of " + hidden);
+        }
+        if (divisor < 1) {
+            throw new IllegalArgumentException("The output divisor must be positive: " + divisor);
+        }
+        long weights = (long) Features.count(rows, columns) * hidden;
+        if (featureBiases.length != hidden || featureWeights.length != weights || outputWeights.length != 2 * hidden) {
+            throw new IllegalArgumentException("The weights do not match a network of " + hidden + " hidden values");
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.hidden = hidden;
+        this.clip = clip;
+        this.divisor = divisor;
+        this.featureBiases = featureBiases;
+        this.featureWeights = featureWeights;
+        this.outputWeights = outputWeights;
+        this.outputBias = outputBias;
+    }
+
+    /**
+     * Loads a network from a file.
+     *
+     * @param file the file
+     * @return the network
+     * @throws IOException              if the file cannot be read
+     * @throws IllegalArgumentException if the file is not a network in the supported format
+     */
+    public static Network load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = read(channel, HEADER_BYTES);
+            if (header.getInt() != MAGIC) {
+                throw new IllegalArgumentException(file + " is not an NNUE network");
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IllegalArgumentException(file + " has version " + version + " instead of " + VERSION);
+            }
+            int rows = header.getInt();
+            int columns = header.getInt();
+            int hidden = header.getInt();
+            int clip = header.getInt();
+            int divisor = header.getInt();
+            if (rows < 1 || columns < 1 || rows > 16 || columns > 16 || hidden < 1 || hidden > MAX_HIDDEN) {
+                throw new IllegalArgumentException(file + " has an unsupported size");
+            }
+            long weights = (long) Features.count(rows, columns) * hidden;
+            long expected = HEADER_BYTES + Short.BYTES * (hidden + weights + 2L * hidden) + Integer.BYTES;
+            if (weights > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException(file + " has more weights than fit in an array");
+            }
+            if (channel.size() != expected) {
+                throw new IllegalArgumentException(file + " has " + channel.size() + " bytes instead of " + expected);
+            }
+            short[] featureBiases = readShorts(channel, hidden);
+            short[] featureWeights = readShorts(channel, (int) weights);
+            short[] outputWeights = readShorts(channel, 2 * hidden);
+            int outputBias = read(channel, Integer.BYTES).getInt();
+            return new Network(rows, columns, hidden, clip, divisor,
+                    featureBiases, featureWeights, outputWeights, outputBias);
+        }
+    }
+
+    /**
+     * Writes the network to a file in the format {@link #load(Path)} reads.
+     *
+     * @param file the file, replaced if it exists
+     * @throws IOException if the file cannot be written
+     */
+    public void save(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(rows).putInt(columns)
+                    .putInt(hidden).putInt(clip).putInt(divisor);
+            write(channel, header);
+            writeShorts(channel, featureBiases);
+            writeShorts(channel, featureWeights);
+            writeShorts(channel, outputWeights);
+            write(channel, ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).putInt(outputBias));
+        }
+    }
+
+    /**
+     * Returns the number of rows of the board the network is made for.
+     *
+     * @return the rows
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Returns the number of columns of the board the network is made for.
+     *
+     * @return the columns
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Returns the size of the hidden layer of each perspective.
+     *
+     * @return the size of the hidden layer
+     */
+    public int getHidden() {
+        return hidden;
+    }
+
+    /**
+     * Returns the largest value a hidden activation is clipped to.
+     *
+     * @return the clipping bound
+     */
+    public int getClip() {
+        return clip;
+    }
+
+    /**
+     * Returns the number the output is divided by to get a score.
+     *
+     * @return the divisor
+     */
+    public int getDivisor() {
+        return divisor;
+    }
+
+    short[] getFeatureBiases() {
+        return featureBiases;
+    }
+
+    short[] getFeatureWeights() {
+        return featureWeights;
+    }
+
+    short[] getOutputWeights() {
+        return outputWeights;
+    }
+
+    int getOutputBias() {
+        return outputBias;
+    }
+
+    private static ByteBuffer read(FileChannel channel, int bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IllegalArgumentException("The network file ends early");
+            }
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Reads 16-bit values a chunk at a time, so that the buffer stays small next to the weights.
+     */
+    private static short[] readShorts(FileChannel channel, int count) throws IOException {
+        short[] values = new short[count];
+        for (int done = 0; done < count; ) {
+            int chunk = Math.min(count - done, CHUNK_BYTES / Short.BYTES);
+            read(channel, chunk * Short.BYTES).asShortBuffer().get(values, done, chunk);
+            done += chunk;
+        }
+        return values;
+    }
+
+    private static void writeShorts(FileChannel channel, short[] values) throws IOException {
+        for (int done = 0; done < values.length; ) {
+            int chunk = Math.min(values.length - done, CHUNK_BYTES / Short.BYTES);
+            ByteBuffer buffer = ByteBuffer.allocate(chunk * Short.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.asShortBuffer().put(values, done, chunk);
+            write(channel, buffer);
+            done += chunk;
+        }
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.position(0);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
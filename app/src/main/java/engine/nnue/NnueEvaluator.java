@@ -0,0 +1,239 @@
+package engine.nnue;
+
+import engine.Evaluator;
+import engine.Search;
+import model.PackedMove;
+import model.game.Board;
+import model.game.Hand;
+import model.game.MoveTables;
+import model.game.Player;
+import model.pieces.Piece;
+import model.pieces.PieceType;
+import model.variants.Variant;
+import util.Side;
+
+import java.util.Arrays;
+
+/**
+ * Scores positions with an NNUE {@link Network}, keeping its first layer up to date move by move.
+ *
+ * The first layer of each perspective, the accumulator, is the sum of the feature weight rows of the pieces that
+ * perspective sees. A move changes only a few features, so the accumulator of the next ply is a copy of the current
+ * one with at most three rows subtracted or added per perspective: the moved piece leaves its square and reaches
+ * another, a captured piece leaves the board and a piece joins the hand, or a piece leaves the hand for the board.
+ * Only a king move changes every feature of its own perspective, which is then summed again from the board. Taking a
+ * move back returns to the accumulators of the previous ply without any arithmetic. A leaf evaluation is the output
+ * layer over the two accumulators, two clipped dot products.
+ *
+ * The rows are added with the vector instructions of the CPU through the JDK Vector API when it is available, see
+ * {@link Kernels#create()}, and with plain loops otherwise. {@link #getKernelName()} tells which.
+ */
+public class NnueEvaluator implements Evaluator {
+    /**
+     * Keeps scores clear of the mate scores of the search.
+     */
+    private static final int LIMIT = Search.MATE - 2 * Search.MAX_PLY;
+
+    private final Network network;
+    private final Kernels kernels;
+    private final int columns;
+    private final int squares;
+    private final int hidden;
+    private final short[] weights;
+
+    /**
+     * The accumulators per ply since {@link #reset(Board)} and per perspective.
+     */
+    private short[][][] accumulators;
+
+    /**
+     * The first feature of the king square of each perspective per ply.
+     */
+    private int[][] kings;
+    private int ply;
+
+    /**
+     * Constructs an evaluator for a variant. The network can be shared by the evaluators of several threads.
+     *
+     * @param variant the variant
+     * @param network the network
+     * @throws IllegalArgumentException if the network is made for another board size
+     */
+    public NnueEvaluator(Variant variant, Network network) {
+        this(variant, network, Kernels.create());
+    }
+
+    NnueEvaluator(Variant variant, Network network, Kernels kernels) {
+        if (network.getRows() != variant.getHeight() || network.getColumns() != variant.getWidth()) {
+            throw new IllegalArgumentException("The network is made for a board of " + network.getRows() + "x"
+                    + network.getColumns() + ", not " + variant.getHeight() + "x" + variant.getWidth());
+        }
+        this.network = network;
+        this.kernels = kernels;
+        columns = variant.getWidth();
+        squares = variant.getHeight() * columns;
+        hidden = network.getHidden();
+        weights = network.getFeatureWeights();
+        accumulators = new short[Search.MAX_PLY + 1][2][hidden];
+        kings = new int[Search.MAX_PLY + 1][2];
+    }
+
+    @Override
+    public int evaluate(Board board, Side side) {
+        short[][] accumulator = accumulators[ply];
+        short[] output = network.getOutputWeights();
+        long sum = network.getOutputBias()
+                + kernels.dot(accumulator[side.ordinal()], network.getClip(), output, 0)
+                + kernels.dot(accumulator[side.opposite().ordinal()], network.getClip(), output, hidden);
+        return (int) Math.max(-LIMIT, Math.min(LIMIT, sum / network.getDivisor()));
+    }
+
+    @Override
+    public void reset(Board board) {
+        ply = 0;
+        for (Side perspective : Side.values()) {
+            refresh(board, perspective);
+        }
+    }
+
+    @Override
+    public void makeMove(Board board, int move) {
+        if (ply + 1 == accumulators.length) {
+            grow();
+        }
+        for (Side perspective : Side.values()) {
+            int p = perspective.ordinal();
+            System.arraycopy(accumulators[ply][p], 0, accumulators[ply + 1][p], 0, hidden);
+            kings[ply + 1][p] = kings[ply][p];
+        }
+        ply++;
+
+        Side side = PackedMove.side(move);
+        PieceType type = PackedMove.pieceType(move);
+        for (Side perspective : Side.values()) {
+            if (perspective == side && type == PieceType.KING && !PackedMove.isDrop(move)) {
+                refresh(board, perspective);
+            } else {
+                follow(board, perspective, move);
+            }
+        }
+    }
+
+    @Override
+    public void unmakeMove(Board board, int move) {
+        ply--;
+    }
+
+    /**
+     * Returns the name of the arithmetic in use: the width of the vectors, or {@code "scalar"} followed by the reason
+     * the Vector API could not be used when it was asked for.
+     *
+     * @return the name of the kernels
+     */
+    public String getKernelName() {
+        return kernels.getName();
+    }
+
+    /**
+     * Applies the feature changes of a move to the accumulator of one perspective.
+     */
+    private void follow(Board board, Side perspective, int move) {
+        short[] accumulator = accumulators[ply][perspective.ordinal()];
+        int king = kings[ply][perspective.ordinal()];
+        Side side = PackedMove.side(move);
+        PieceType type = PackedMove.pieceType(move);
+        int to = toSquare(PackedMove.to(move));
+
+        if (PackedMove.isDrop(move)) {
+            // The hand already lost the piece, so the dropped piece was one more than it holds now
+            Player player = board.getPlayer(side);
+            int nth = player == null ? 0 : player.getCapturedPieces().getCount(type) + 1;
+            if (nth > 0 && nth <= Features.MAX_HAND) {
+                subtract(accumulator, king + Features.hand(squares, perspective, side, type, nth));
+            }
+            add(accumulator, king + Features.board(squares, perspective, side, type, false, to));
+            return;
+        }
+        if (type != PieceType.KING) {
+            boolean promoted = PackedMove.isPromotedPiece(move);
+            int from = toSquare(PackedMove.from(move));
+            subtract(accumulator, king + Features.board(squares, perspective, side, type, promoted, from));
+            add(accumulator, king + Features.board(squares, perspective, side, type,
+                    promoted || PackedMove.isPromotion(move), to));
+        }
+        if (PackedMove.isCapture(move)) {
+            PieceType captured = PackedMove.capturedType(move);
+            if (captured != PieceType.KING) {
+                subtract(accumulator, king + Features.board(squares, perspective, side.opposite(), captured,
+                        PackedMove.isCapturedPromoted(move), to));
+            }
+            // The hand already holds the captured piece, if it may hold its kind
+            Player player = board.getPlayer(side);
+            if (player != null && player.getCapturedPieces().accepts(captured)) {
+                int nth = player.getCapturedPieces().getCount(captured);
+                if (nth <= Features.MAX_HAND) {
+                    add(accumulator, king + Features.hand(squares, perspective, side, captured, nth));
+                }
+            }
+        }
+    }
+
+    /**
+     * Sums the accumulator of one perspective from the pieces on the board and in hand.
+     */
+    private void refresh(Board board, Side perspective) {
+        int p = perspective.ordinal();
+        short[] accumulator = accumulators[ply][p];
+        System.arraycopy(network.getFeatureBiases(), 0, accumulator, 0, hidden);
+        int king = Features.king(squares, perspective, board.getKingSquare(perspective));
+        kings[ply][p] = king;
+        for (Side side : Side.values()) {
+            for (int index = 0; index < board.getPieceCount(side); index++) {
+                int square = board.getPieceSquare(side, index);
+                Piece piece = board.getPieceAt(square);
+                PieceType type = piece.getType();
+                if (type != null && type != PieceType.KING) {
+                    add(accumulator, king + Features.board(squares, perspective, side, type,
+                            MoveTables.isPromoted(piece), square));
+                }
+            }
+            if (board.getPlayer(side) != null) {
+                Hand hand = board.getPlayer(side).getCapturedPieces();
+                for (int i = 0; i < hand.getKindCount(); i++) {
+                    PieceType type = hand.getKind(i);
+                    for (int nth = 1; nth <= Math.min(hand.getCount(type), Features.MAX_HAND); nth++) {
+                        add(accumulator, king + Features.hand(squares, perspective, side, type, nth));
+                    }
+                }
+            }
+        }
+    }
+
+    private void add(short[] accumulator, int feature) {
+        kernels.add(accumulator, weights, feature * hidden);
+    }
+
+    private void subtract(short[] accumulator, int feature) {
+        kernels.subtract(accumulator, weights, feature * hidden);
+    }
+
+    /**
+     * Makes room for more plies, for games followed outside a search, which stays within {@link Search#MAX_PLY}.
+     */
+    private void grow() {
+        int length = accumulators.length;
+        accumulators = Arrays.copyOf(accumulators, length * 2);
+        kings = Arrays.copyOf(kings, length * 2);
+        for (int i = length; i < accumulators.length; i++) {
+            accumulators[i] = new short[2][hidden];
+            kings[i] = new int[2];
+        }
+    }
+
+    /**
+     * Converts a square of a packed move to a square of the board.
+     */
+    private int toSquare(int packedSquare) {
+        return PackedMove.row(packedSquare) * columns + PackedMove.col(packedSquare);
+    }
+}
@@ -0,0 +1,53 @@
+package engine.nnue;
+
+/**
+ * Plain loops over the arrays, for JVMs without the Vector API. The JIT compiler vectorizes some of them on its own.
+ */
+final class ScalarKernels implements Kernels {
+    private final String name;
+
+    /**
+     * Constructs the scalar kernels.
+     */
+    ScalarKernels() {
+        this("scalar");
+    }
+
+    /**
+     * Constructs the scalar kernels under a name that also tells why they are used.
+     *
+     * @param name the name reported by {@link #getName()}
+     */
+    ScalarKernels(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public void add(short[] accumulator, short[] weights, int offset) {
+        for (int i = 0; i < accumulator.length; i++) {
+            accumulator[i] += weights[offset + i];
+        }
+    }
+
+    @Override
+    public void subtract(short[] accumulator, short[] weights, int offset) {
+        for (int i = 0; i < accumulator.length; i++) {
+            accumulator[i] -= weights[offset + i];
+        }
+    }
+
+    @Override
+    public long dot(short[] accumulator, int clip, short[] weights, int offset) {
+        long sum = 0;
+        for (int i = 0; i < accumulator.length; i++) {
+            int activation = Math.min(Math.max(accumulator[i], 0), clip);
+            sum += activation * weights[offset + i];
+        }
+        return sum;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+}
@@ -61,7 +61,7 @@ public record Move(Pos from, Pos to, Piece movedPiece, Piece capturedPiece, bool
      */
     public String toString() {
         String abbr = movedPiece.getSfenAbbreviation();
-        abbr = promoted ? abbr.substring(1) : abbr; // prevents moves where piece was promoted from displaying piece as promoted before move was made
+        abbr = promoted && abbr.startsWith("+") ? abbr.substring(1) : abbr; // prevents moves where piece was promoted from displaying piece as promoted before move was made
 
         char moveType;
         if (from == null)
@@ -0,0 +1,107 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * A reusable list of packed moves, see {@link PackedMove}.
+ *
+ * Move generators append to a buffer supplied by the caller instead of returning new lists,
+ * so a buffer kept per search ply lets move generation run without producing garbage.
+ */
+public class MoveBuffer {
+    /**
+     * Enough room for the number of legal moves in any reachable standard shogi position.
+     */
+    public static final int DEFAULT_CAPACITY = 600;
+
+    private int[] moves;
+    private int size;
+
+    /**
+     * Constructs a buffer with the default capacity.
+     */
+    public MoveBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a buffer with the given initial capacity.
+     *
+     * @param capacity the initial capacity of the buffer.
+     */
+    public MoveBuffer(int capacity) {
+        moves = new int[capacity];
+    }
+
+    /**
+     * Appends a move to the buffer, growing it if it is full.
+     *
+     * @param move the packed move to append.
+     */
+    public void add(int move) {
+        if (size == moves.length) {
+            moves = Arrays.copyOf(moves, moves.length * 2);
+        }
+        moves[size++] = move;
+    }
+
+    /**
+     * Returns the move at the given index.
+     *
+     * @param index the index of the move.
+     * @return the packed move.
+     */
+    public int get(int index) {
+        return moves[index];
+    }
+
+    /**
+     * Replaces the move at the given index.
+     *
+     * @param index the index of the move.
+     * @param move  the packed move to store.
+     */
+    public void set(int index, int move) {
+        moves[index] = move;
+    }
+
+    /**
+     * Returns the number of moves in the buffer.
+     *
+     * @return the number of moves.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the buffer holds no moves.
+     *
+     * @return {@code true} if the buffer is empty.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Checks whether the buffer holds a given move.
+     *
+     * @param move the packed move to look for.
+     * @return {@code true} if the buffer contains the move.
+     */
+    public boolean contains(int move) {
+        for (int i = 0; i < size; i++) {
+            if (moves[i] == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes every move from the buffer while keeping its storage.
+     */
+    public void clear() {
+        size = 0;
+    }
+}
@@ -0,0 +1,303 @@
+package model;
+
+import model.pieces.Piece;
+import model.pieces.PieceFactory;
+import model.pieces.PieceType;
+import model.pieces.Promotable;
+import util.Pos;
+import util.Side;
+
+/**
+ * Utility methods for moves packed into a single {@code int}.
+ *
+ * Packed moves are used where {@link Move} records would be too expensive, such as move generation
+ * or long move histories. Squares are stored as {@code row << 4 | col}, which keeps the encoding
+ * independent of the board size for boards of up to 16x16 squares. A packed move holds everything a
+ * {@link Move} does, so the two convert into each other without loss, see {@link #fromMove(Move)} and
+ * {@link #toMove(int)}. The captured piece always belongs to the opponent of the moving side.
+ *
+ * <pre>
+ * bits  0-7   target square
+ * bits  8-15  origin square, or {@link #DROP} for a piece dropped from the hand
+ * bits 16-19  kind of the moved or dropped piece ({@link PieceType#ordinal()})
+ * bit  20     set if the piece promotes
+ * bit  21     set if the moved piece was already promoted
+ * bit  22     set if the moving side is gote
+ * bits 23-26  kind of the captured piece plus one, or 0 if nothing is captured
+ * bit  27     set if the captured piece was promoted
+ * </pre>
+ */
+public final class PackedMove {
+    /**
+     * The origin value marking a drop from the hand.
+     */
+    public static final int DROP = 0xFF;
+
+    /**
+     * A value that is never a valid move.
+     */
+    public static final int NONE = 0;
+
+    private static final int FROM_SHIFT = 8;
+    private static final int TYPE_SHIFT = 16;
+    private static final int PROMOTE_BIT = 1 << 20;
+    private static final int PROMOTED_PIECE_BIT = 1 << 21;
+    private static final int GOTE_BIT = 1 << 22;
+    private static final int CAPTURE_SHIFT = 23;
+    private static final int CAPTURED_PROMOTED_BIT = 1 << 27;
+
+    private PackedMove() {
+    }
+
+    /**
+     * Encodes a board position as a packed square.
+     *
+     * @param row the row of the square.
+     * @param col the column of the square.
+     * @return the packed square.
+     */
+    public static int square(int row, int col) {
+        return row << 4 | col;
+    }
+
+    /**
+     * Encodes a board position as a packed square.
+     *
+     * @param pos the position of the square.
+     * @return the packed square.
+     */
+    public static int square(Pos pos) {
+        return square(pos.row(), pos.col());
+    }
+
+    /**
+     * Creates a packed board move.
+     *
+     * @param from     the packed origin square.
+     * @param to       the packed target square.
+     * @param moved    the moving piece.
+     * @param captured the piece standing on the target square, or null if the square is empty.
+     * @param promote  whether the piece promotes.
+     * @return the packed move.
+     */
+    public static int move(int from, int to, Piece moved, Piece captured, boolean promote) {
+        int move = to | from << FROM_SHIFT | pieceBits(moved) | (promote ? PROMOTE_BIT : 0);
+        if (captured != null) {
+            move |= (captured.getType().ordinal() + 1) << CAPTURE_SHIFT | (isPromoted(captured) ? CAPTURED_PROMOTED_BIT : 0);
+        }
+        return move;
+    }
+
+    /**
+     * Creates a packed drop.
+     *
+     * @param piece the dropped piece.
+     * @param to    the packed target square.
+     * @return the packed move.
+     */
+    public static int drop(Piece piece, int to) {
+        return to | DROP << FROM_SHIFT | pieceBits(piece);
+    }
+
+    /**
+     * Packs a move record.
+     *
+     * @param move the move to pack.
+     * @return the packed move.
+     * @throws IllegalArgumentException if the move involves a piece that is not one of the known kinds.
+     */
+    public static int fromMove(Move move) {
+        if (move.movedPiece() == null || move.movedPiece().getType() == null
+                || (move.capturedPiece() != null && move.capturedPiece().getType() == null)) {
+            throw new IllegalArgumentException("Cannot pack a move involving an unknown piece");
+        }
+        int to = square(move.to());
+        if (move.fromPlayerHand()) {
+            return drop(move.movedPiece(), to);
+        }
+        return move(square(move.from()), to, move.movedPiece(), move.capturedPiece(), move.promoted());
+    }
+
+    /**
+     * Unpacks a move into a move record holding the shared pieces in the packed state.
+     *
+     * @param move the packed move.
+     * @return the move record.
+     */
+    public static Move toMove(int move) {
+        Pos from = isDrop(move) ? null : new Pos(row(from(move)), col(from(move)));
+        Pos to = new Pos(row(to(move)), col(to(move)));
+        Piece moved = PieceFactory.get(pieceType(move), side(move), isPromotedPiece(move));
+        PieceType capturedType = capturedType(move);
+        Piece captured = capturedType == null ? null : PieceFactory.get(capturedType, side(move).opposite(), isCapturedPromoted(move));
+        return new Move(from, to, moved, captured, isPromotion(move));
+    }
+
+    /**
+     * Returns the packed target square of a move.
+     *
+     * @param move the packed move.
+     * @return the packed target square.
+     */
+    public static int to(int move) {
+        return move & 0xFF;
+    }
+
+    /**
+     * Returns the packed origin square of a move.
+     *
+     * @param move the packed move.
+     * @return the packed origin square, or {@link #DROP} for drops.
+     */
+    public static int from(int move) {
+        return (move >>> FROM_SHIFT) & 0xFF;
+    }
+
+    /**
+     * Returns the row of a packed square.
+     *
+     * @param square the packed square.
+     * @return the row of the square.
+     */
+    public static int row(int square) {
+        return square >>> 4;
+    }
+
+    /**
+     * Returns the column of a packed square.
+     *
+     * @param square the packed square.
+     * @return the column of the square.
+     */
+    public static int col(int square) {
+        return square & 0xF;
+    }
+
+    /**
+     * Returns the kind of the moved or dropped piece.
+     *
+     * @param move the packed move.
+     * @return the kind of the piece.
+     */
+    public static PieceType pieceType(int move) {
+        return PieceType.fromOrdinal((move >>> TYPE_SHIFT) & 0xF);
+    }
+
+    /**
+     * Checks whether a move drops a piece from the hand.
+     *
+     * @param move the packed move.
+     * @return {@code true} if the move is a drop.
+     */
+    public static boolean isDrop(int move) {
+        return from(move) == DROP;
+    }
+
+    /**
+     * Checks whether the moving piece promotes.
+     *
+     * @param move the packed move.
+     * @return {@code true} if the move promotes the piece.
+     */
+    public static boolean isPromotion(int move) {
+        return (move & PROMOTE_BIT) != 0;
+    }
+
+    /**
+     * Checks whether the moved piece was promoted before the move.
+     *
+     * @param move the packed move.
+     * @return {@code true} if the moved piece was already promoted.
+     */
+    public static boolean isPromotedPiece(int move) {
+        return (move & PROMOTED_PIECE_BIT) != 0;
+    }
+
+    /**
+     * Returns the side making a move.
+     *
+     * @param move the packed move.
+     * @return the moving side.
+     */
+    public static Side side(int move) {
+        return (move & GOTE_BIT) != 0 ? Side.GOTE : Side.SENTE;
+    }
+
+    /**
+     * Checks whether a move captures a piece.
+     *
+     * @param move the packed move.
+     * @return {@code true} if the move is a capture.
+     */
+    public static boolean isCapture(int move) {
+        return ((move >>> CAPTURE_SHIFT) & 0xF) != 0;
+    }
+
+    /**
+     * Returns the kind of the captured piece.
+     *
+     * @param move the packed move.
+     * @return the kind of the captured piece, or null if the move is not a capture.
+     */
+    public static PieceType capturedType(int move) {
+        int captured = (move >>> CAPTURE_SHIFT) & 0xF;
+        return captured == 0 ? null : PieceType.fromOrdinal(captured - 1);
+    }
+
+    /**
+     * Checks whether the captured piece was promoted.
+     *
+     * @param move the packed move.
+     * @return {@code true} if the captured piece was promoted.
+     */
+    public static boolean isCapturedPromoted(int move) {
+        return (move & CAPTURED_PROMOTED_BIT) != 0;
+    }
+
+    /**
+     * Returns a move in USI notation, as used by engines and published perft results.
+     * Files are numbered from the right starting at 1 and ranks are lettered from the top starting at 'a',
+     * so the standard opening pawn move is "7g7f" and a pawn drop on the center is "P*5e".
+     *
+     * @param move    the packed move.
+     * @param columns the number of columns of the board.
+     * @return the move in USI notation.
+     */
+    public static String toUsi(int move, int columns) {
+        StringBuilder usi = new StringBuilder(5);
+        if (isDrop(move)) {
+            usi.append(Character.toUpperCase(pieceType(move).getSfenLetter())).append('*');
+        } else {
+            appendUsiSquare(usi, from(move), columns);
+        }
+        appendUsiSquare(usi, to(move), columns);
+        if (isPromotion(move)) {
+            usi.append('+');
+        }
+        return usi.toString();
+    }
+
+    /**
+     * Returns a readable form of a packed move in the notation used by {@link Move#toString()}.
+     *
+     * @param move the packed move.
+     * @return the move as text.
+     */
+    public static String toString(int move) {
+        return toMove(move).toString();
+    }
+
+    private static int pieceBits(Piece piece) {
+        return piece.getType().ordinal() << TYPE_SHIFT
+                | (isPromoted(piece) ? PROMOTED_PIECE_BIT : 0)
+                | (piece.getSide() == Side.GOTE ? GOTE_BIT : 0);
+    }
+
+    private static boolean isPromoted(Piece piece) {
+        return piece instanceof Promotable promotable && promotable.getIsPromoted();
+    }
+
+    private static void appendUsiSquare(StringBuilder usi, int square, int columns) {
+        usi.append(columns - col(square)).append((char) ('a' + row(square)));
+    }
+}
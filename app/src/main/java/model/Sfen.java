@@ -179,7 +179,12 @@ public class Sfen {
             for (int i = 0; i < rows[row].length(); i++) {
                 char ch = rows[row].charAt(i);
                 if (Character.isDigit(ch)) {
-                    col += Character.getNumericValue(ch);
+                    // Runs of empty squares may take several digits on boards wider than nine squares
+                    int empty = Character.getNumericValue(ch);
+                    while (i + 1 < rows[row].length() && Character.isDigit(rows[row].charAt(i + 1))) {
+                        empty = empty * 10 + Character.getNumericValue(rows[row].charAt(++i));
+                    }
+                    col += empty;
                 } else if (ch == '+') {
                     char nextCh = rows[row].charAt(++i);
                     handler.accept("+" + nextCh, new Pos(row, col));
@@ -209,6 +214,10 @@ public class Sfen {
             if (Character.isDigit(ch)) {
                 count = Character.getNumericValue(ch);
                 char nextCh = capturedPieces.charAt(++i);
+                while (Character.isDigit(nextCh)) {
+                    count = count * 10 + Character.getNumericValue(nextCh);
+                    nextCh = capturedPieces.charAt(++i);
+                }
                 ch = nextCh;
             }
             handler.accept(ch, count);
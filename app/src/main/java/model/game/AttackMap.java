@@ -0,0 +1,167 @@
+package model.game;
+
+import model.pieces.Piece;
+import model.pieces.PieceType;
+import util.Side;
+
+import java.util.Arrays;
+
+/**
+ * The number of pieces of each side attacking every square of a board, kept up to date as the board changes.
+ *
+ * A board maintains its map once it is enabled with {@link Board#enableAttackMap()}. Every change of a square
+ * removes the attacks of the piece that stood there and adds those of the new piece, and if the square became
+ * empty or occupied, lengthens or shortens the rays of the sliding pieces that run through it. Only the squares
+ * reached by those pieces are touched, so making and unmaking a move costs a few rays instead of a scan of the
+ * board, and the attack queries below are constant time.
+ *
+ * Attacks are counted on the board as it is: a piece attacks the squares it could move to plus the squares of its
+ * own pieces it defends, and a slider stops at the first piece in its way, including a king.
+ */
+public class AttackMap {
+    /**
+     * The number of attackers per square, indexed by side ordinal and then by square.
+     */
+    private final int[][] counts;
+
+    /**
+     * The sum of the counts of each side, indexed by side ordinal.
+     */
+    private final int[] totals = new int[2];
+
+    AttackMap(int squares) {
+        counts = new int[2][squares];
+    }
+
+    /**
+     * Returns the number of pieces of a side attacking a square.
+     *
+     * @param by     the attacking side
+     * @param square the square
+     * @return the number of attackers
+     */
+    public int getAttackerCount(Side by, int square) {
+        return counts[by.ordinal()][square];
+    }
+
+    /**
+     * Checks whether a square is attacked by a side.
+     *
+     * @param by     the attacking side
+     * @param square the square
+     * @return {@code true} if at least one piece of the side attacks the square
+     */
+    public boolean isAttacked(Side by, int square) {
+        return counts[by.ordinal()][square] > 0;
+    }
+
+    /**
+     * Returns the number of attacks of all pieces of a side, counting a square once per attacker.
+     * This is the mobility of the side including the squares of its own pieces it defends.
+     *
+     * @param side the side
+     * @return the total number of attacks
+     */
+    public int getTotalAttacks(Side side) {
+        return totals[side.ordinal()];
+    }
+
+    /**
+     * Forgets every attack, for a board that is emptied.
+     */
+    void clear() {
+        Arrays.fill(counts[0], 0);
+        Arrays.fill(counts[1], 0);
+        Arrays.fill(totals, 0);
+    }
+
+    /**
+     * Counts the attacks of every piece on the board from scratch.
+     *
+     * @param board the board
+     */
+    void rebuild(Board board) {
+        clear();
+        for (int square = 0; square < board.getSquareCount(); square++) {
+            Piece piece = board.getPieceAt(square);
+            if (piece != null) {
+                addAttacks(board, piece, square, 1);
+            }
+        }
+    }
+
+    /**
+     * Updates the map after a square of the board changed. Must be called once the board itself is updated.
+     *
+     * @param board    the board
+     * @param square   the square that changed
+     * @param previous the piece that stood on the square, or null
+     * @param piece    the piece that stands on the square now, or null
+     */
+    void update(Board board, int square, Piece previous, Piece piece) {
+        if (previous != null) {
+            addAttacks(board, previous, square, -1);
+        }
+        if ((previous == null) != (piece == null)) {
+            updateRaysThrough(board, square, piece == null ? 1 : -1);
+        }
+        if (piece != null) {
+            addAttacks(board, piece, square, 1);
+        }
+    }
+
+    /**
+     * Adds or removes the attacks of a piece. The rays of the piece do not depend on whether its own square is occupied.
+     */
+    private void addAttacks(Board board, Piece piece, int square, int delta) {
+        PieceType type = piece.getType();
+        if (type == null) {
+            return;
+        }
+        Side side = piece.getSide();
+        int[] sideCounts = counts[side.ordinal()];
+        MoveTables tables = board.getMoveTables();
+        boolean promoted = MoveTables.isPromoted(piece);
+        int[] steps = tables.getSteps(side, type, promoted, square);
+        for (int target : steps) {
+            sideCounts[target] += delta;
+        }
+        int total = steps.length;
+        for (int direction : tables.getSlides(side, type, promoted)) {
+            int[] ray = board.getRay(square, direction);
+            int reach = board.getSlideReach(square, direction);
+            for (int i = 0; i < reach; i++) {
+                sideCounts[ray[i]] += delta;
+            }
+            total += reach;
+        }
+        totals[side.ordinal()] += delta * total;
+    }
+
+    /**
+     * Extends (delta 1) or cuts (delta -1) the rays of the sliders aimed at a square that was vacated or occupied.
+     * The part of such a ray beyond the square runs from the square to the next piece, whatever the square holds.
+     */
+    private void updateRaysThrough(Board board, int square, int delta) {
+        MoveTables tables = board.getMoveTables();
+        for (int direction = 0; direction < SliderAttacks.DIRECTIONS; direction++) {
+            int slider = board.getFirstBlocker(square, direction);
+            if (slider < 0) {
+                continue;
+            }
+            Piece piece = board.getPieceAt(slider);
+            int towards = SliderAttacks.opposite(direction);
+            if (piece.getType() == null
+                    || !tables.slidesIn(piece.getSide(), piece.getType(), MoveTables.isPromoted(piece), towards)) {
+                continue;
+            }
+            int[] sideCounts = counts[piece.getSide().ordinal()];
+            int[] ray = board.getRay(square, towards);
+            int reach = board.getSlideReach(square, towards);
+            for (int i = 0; i < reach; i++) {
+                sideCounts[ray[i]] += delta;
+            }
+            totals[piece.getSide().ordinal()] += delta * reach;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package model.game;
+
+/**
+ * A mutable set of board squares stored as a fixed number of 64-bit words.
+ *
+ * Squares are numbered row by row starting at the top left corner, so square {@code row * columns + col}
+ * corresponds to the position {@code (row, col)}. Square {@code n} is bit {@code n % 64} of word {@code n / 64}.
+ * Bitboards are created through {@link #create(int)}, which picks the narrowest layout for the number of
+ * squares: a single word for boards up to 8x8 such as 5x5 minishogi, two words for 9x9 and three words
+ * for 12x12 chu shogi, each with its words in plain fields. Larger boards use an array of words.
+ *
+ * Operations combining two bitboards require both to have the same number of squares.
+ */
+public abstract class Bitboard {
+    /**
+     * The number of squares of the set.
+     */
+    protected final int size;
+
+    /**
+     * Constructs an empty bitboard.
+     *
+     * @param size the number of squares.
+     */
+    protected Bitboard(int size) {
+        this.size = size;
+    }
+
+    /**
+     * Creates an empty bitboard with the layout for a number of squares.
+     *
+     * @param squares the number of squares, usually {@code width * height} of the board.
+     * @return a new empty bitboard.
+     * @throws IllegalArgumentException if the number of squares is not positive.
+     */
+    public static Bitboard create(int squares) {
+        if (squares <= 0) {
+            throw new IllegalArgumentException("Bitboards need at least one square: " + squares);
+        }
+        if (squares <= 64) {
+            return new Bitboard64(squares);
+        }
+        if (squares <= 128) {
+            return new Bitboard128(squares);
+        }
+        if (squares <= 192) {
+            return new Bitboard192(squares);
+        }
+        return new BitboardN(squares);
+    }
+
+    /**
+     * Returns the number of squares the set ranges over.
+     *
+     * @return the number of squares.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds a square to the set.
+     *
+     * @param square the square to add.
+     */
+    public abstract void set(int square);
+
+    /**
+     * Removes a square from the set.
+     *
+     * @param square the square to remove.
+     */
+    public abstract void clear(int square);
+
+    /**
+     * Removes every square from the set.
+     */
+    public abstract void clearAll();
+
+    /**
+     * Checks whether a square is in the set.
+     *
+     * @param square the square to check.
+     * @return {@code true} if the square is in the set, otherwise {@code false}.
+     */
+    public abstract boolean test(int square);
+
+    /**
+     * Checks whether the set contains no squares.
+     *
+     * @return {@code true} if the set is empty, otherwise {@code false}.
+     */
+    public abstract boolean isEmpty();
+
+    /**
+     * Returns the number of squares in the set.
+     *
+     * @return the number of squares in the set.
+     */
+    public abstract int popCount();
+
+    /**
+     * Checks whether this set shares at least one square with another set.
+     *
+     * @param other the other set.
+     * @return {@code true} if the sets intersect, otherwise {@code false}.
+     */
+    public abstract boolean intersects(Bitboard other);
+
+    /**
+     * Returns the lowest square in the set that is greater than or equal to the given square.
+     * Iterating with {@code for (int sq = bb.nextSetBit(0); sq >= 0; sq = bb.nextSetBit(sq + 1))}
+     * visits every square without allocating.
+     *
+     * @param from the square to start searching from.
+     * @return the next square in the set, or -1 if there is none.
+     */
+    public abstract int nextSetBit(int from);
+
+    /**
+     * Returns an independent copy of this set.
+     *
+     * @return a copy of this bitboard.
+     */
+    public abstract Bitboard copy();
+
+    /**
+     * Returns a word of the set.
+     *
+     * @param index the index of the word, square {@code 64 * index} being its lowest bit.
+     * @return the word, 0 beyond the last word.
+     */
+    public abstract long getWord(int index);
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof Bitboard other) || other.size != size) {
+            return false;
+        }
+        for (int i = 0; i * 64 < size; i++) {
+            if (getWord(i) != other.getWord(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = size;
+        for (int i = 0; i * 64 < size; i++) {
+            hash = hash * 31 + Long.hashCode(getWord(i));
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,101 @@
+package model.game;
+
+/**
+ * A bitboard of 65 to 128 squares in two words, used for the 9x9 board of standard shogi.
+ */
+final class Bitboard128 extends Bitboard {
+    /**
+     * Bits for squares 0-63.
+     */
+    private long lo;
+
+    /**
+     * Bits for squares 64-127.
+     */
+    private long hi;
+
+    Bitboard128(int size) {
+        super(size);
+    }
+
+    @Override
+    public void set(int square) {
+        if (square < 64) {
+            lo |= 1L << square;
+        } else {
+            hi |= 1L << (square - 64);
+        }
+    }
+
+    @Override
+    public void clear(int square) {
+        if (square < 64) {
+            lo &= ~(1L << square);
+        } else {
+            hi &= ~(1L << (square - 64));
+        }
+    }
+
+    @Override
+    public void clearAll() {
+        lo = 0;
+        hi = 0;
+    }
+
+    @Override
+    public boolean test(int square) {
+        if (square < 64) {
+            return (lo & (1L << square)) != 0;
+        }
+        return (hi & (1L << (square - 64))) != 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return (lo | hi) == 0;
+    }
+
+    @Override
+    public int popCount() {
+        return Long.bitCount(lo) + Long.bitCount(hi);
+    }
+
+    @Override
+    public boolean intersects(Bitboard other) {
+        Bitboard128 o = (Bitboard128) other;
+        return ((lo & o.lo) | (hi & o.hi)) != 0;
+    }
+
+    @Override
+    public int nextSetBit(int from) {
+        if (from < 64) {
+            long word = lo & (-1L << from);
+            if (word != 0) {
+                return Long.numberOfTrailingZeros(word);
+            }
+            from = 64;
+        }
+        if (from >= size) {
+            return -1;
+        }
+        long word = hi & (-1L << (from - 64));
+        return word != 0 ? 64 + Long.numberOfTrailingZeros(word) : -1;
+    }
+
+    @Override
+    public Bitboard copy() {
+        Bitboard128 copy = new Bitboard128(size);
+        copy.lo = lo;
+        copy.hi = hi;
+        return copy;
+    }
+
+    @Override
+    public long getWord(int index) {
+        return switch (index) {
+            case 0 -> lo;
+            case 1 -> hi;
+            default -> 0;
+        };
+    }
+}
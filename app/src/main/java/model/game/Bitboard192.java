@@ -0,0 +1,92 @@
+package model.game;
+
+/**
+ * A bitboard of 129 to 192 squares in three words, used for the 12x12 board of chu shogi.
+ */
+final class Bitboard192 extends Bitboard {
+    /**
+     * Bits for squares 0-63, 64-127 and 128-191.
+     */
+    private long w0, w1, w2;
+
+    Bitboard192(int size) {
+        super(size);
+    }
+
+    @Override
+    public void set(int square) {
+        switch (square >>> 6) {
+            case 0 -> w0 |= 1L << square;
+            case 1 -> w1 |= 1L << square;
+            default -> w2 |= 1L << square;
+        }
+    }
+
+    @Override
+    public void clear(int square) {
+        switch (square >>> 6) {
+            case 0 -> w0 &= ~(1L << square);
+            case 1 -> w1 &= ~(1L << square);
+            default -> w2 &= ~(1L << square);
+        }
+    }
+
+    @Override
+    public void clearAll() {
+        w0 = 0;
+        w1 = 0;
+        w2 = 0;
+    }
+
+    @Override
+    public boolean test(int square) {
+        return (getWord(square >>> 6) & (1L << square)) != 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return (w0 | w1 | w2) == 0;
+    }
+
+    @Override
+    public int popCount() {
+        return Long.bitCount(w0) + Long.bitCount(w1) + Long.bitCount(w2);
+    }
+
+    @Override
+    public boolean intersects(Bitboard other) {
+        Bitboard192 o = (Bitboard192) other;
+        return ((w0 & o.w0) | (w1 & o.w1) | (w2 & o.w2)) != 0;
+    }
+
+    @Override
+    public int nextSetBit(int from) {
+        for (int index = from >>> 6; index < 3 && from < size; index++) {
+            long word = getWord(index) & (-1L << from);
+            if (word != 0) {
+                return index * 64 + Long.numberOfTrailingZeros(word);
+            }
+            from = (index + 1) * 64;
+        }
+        return -1;
+    }
+
+    @Override
+    public Bitboard copy() {
+        Bitboard192 copy = new Bitboard192(size);
+        copy.w0 = w0;
+        copy.w1 = w1;
+        copy.w2 = w2;
+        return copy;
+    }
+
+    @Override
+    public long getWord(int index) {
+        return switch (index) {
+            case 0 -> w0;
+            case 1 -> w1;
+            case 2 -> w2;
+            default -> 0;
+        };
+    }
+}
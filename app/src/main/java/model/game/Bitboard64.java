@@ -0,0 +1,68 @@
+package model.game;
+
+/**
+ * A bitboard of up to 64 squares in a single word, used for small boards such as 5x5 minishogi.
+ */
+final class Bitboard64 extends Bitboard {
+    private long bits;
+
+    Bitboard64(int size) {
+        super(size);
+    }
+
+    @Override
+    public void set(int square) {
+        bits |= 1L << square;
+    }
+
+    @Override
+    public void clear(int square) {
+        bits &= ~(1L << square);
+    }
+
+    @Override
+    public void clearAll() {
+        bits = 0;
+    }
+
+    @Override
+    public boolean test(int square) {
+        return (bits & (1L << square)) != 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return bits == 0;
+    }
+
+    @Override
+    public int popCount() {
+        return Long.bitCount(bits);
+    }
+
+    @Override
+    public boolean intersects(Bitboard other) {
+        return (bits & ((Bitboard64) other).bits) != 0;
+    }
+
+    @Override
+    public int nextSetBit(int from) {
+        if (from >= size) {
+            return -1;
+        }
+        long word = bits & (-1L << from);
+        return word != 0 ? Long.numberOfTrailingZeros(word) : -1;
+    }
+
+    @Override
+    public Bitboard copy() {
+        Bitboard64 copy = new Bitboard64(size);
+        copy.bits = bits;
+        return copy;
+    }
+
+    @Override
+    public long getWord(int index) {
+        return index == 0 ? bits : 0;
+    }
+}
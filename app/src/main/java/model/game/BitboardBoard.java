@@ -0,0 +1,130 @@
+package model.game;
+
+import model.Sfen;
+import model.pieces.Piece;
+import model.pieces.PieceType;
+import util.Pos;
+import util.Side;
+
+/**
+ * A board that, in addition to the piece grid, keeps a bitboard of the squares of every piece kind
+ * per side. The bitboards are updated on every change to the board, which turns the piece lookups
+ * of the rule set, finding a piece or checking a file for a kind, into a few bit operations instead
+ * of a scan of the grid. Kings are found through the king squares the board already tracks.
+ */
+public class BitboardBoard extends Board {
+    /**
+     * The squares of each piece kind per side, indexed by side ordinal and then by {@link PieceType#ordinal()}.
+     */
+    private final Bitboard[][] pieces = new Bitboard[2][PieceType.count()];
+
+    /**
+     * The squares of each column.
+     */
+    private final Bitboard[] columnMasks;
+
+    /**
+     * Constructs a bitboard backed board with the specified dimensions.
+     * The layout of the bitboards is chosen by the number of squares, see {@link Bitboard#create(int)}.
+     *
+     * @param width  the width of the board
+     * @param height the height of the board
+     */
+    public BitboardBoard(int width, int height) {
+        super(width, height);
+        int squares = getSquareCount();
+        for (int side = 0; side < 2; side++) {
+            for (int type = 0; type < PieceType.count(); type++) {
+                pieces[side][type] = Bitboard.create(squares);
+            }
+        }
+        columnMasks = new Bitboard[width];
+        for (int col = 0; col < width; col++) {
+            columnMasks[col] = Bitboard.create(squares);
+        }
+        for (int square = 0; square < getSquareCount(); square++) {
+            columnMasks[toPos(square).col()].set(square);
+        }
+    }
+
+    /**
+     * Sets a piece at a specific position on the board and updates the bitboards.
+     *
+     * @param pos   the position on the board
+     * @param piece the piece to place at the specified position
+     */
+    @Override
+    public void setAtPosition(Pos pos, Piece piece) {
+        int square = toSquare(pos);
+        Piece previous = getPieceAt(pos);
+        if (previous != null) {
+            updateBits(square, previous, false);
+        }
+        super.setAtPosition(pos, piece);
+        if (piece != null) {
+            updateBits(square, piece, true);
+        }
+    }
+
+    /**
+     * Sets the board state based on the provided SFEN string.
+     *
+     * @param sfen the SFEN string representing the board state
+     */
+    @Override
+    public void setSfen(Sfen sfen) {
+        for (int side = 0; side < 2; side++) {
+            for (Bitboard bitboard : pieces[side]) {
+                bitboard.clearAll();
+            }
+        }
+        super.setSfen(sfen);
+    }
+
+    /**
+     * Finds the position of a specific piece on the board, with the same results as {@link Board#getPiecePos}.
+     *
+     * @param side      the side to which the piece belongs
+     * @param pieceType the class of the piece to find
+     * @return the position of the specified piece, or null if not found
+     */
+    @Override
+    public Pos getPiecePos(Side side, Class<? extends Piece> pieceType) {
+        PieceType type = PieceType.of(pieceType);
+        if (type == null || type == PieceType.KING) {
+            return super.getPiecePos(side, pieceType);
+        }
+        int sq = pieces[side.ordinal()][type.ordinal()].nextSetBit(0);
+        return sq >= 0 ? toPos(sq) : null;
+    }
+
+    /**
+     * Checks if a specific type of piece belonging to a specified side exists in a given column on the board.
+     *
+     * @param side The side (SENTE or GOTE) to which the piece belongs.
+     * @param pieceType The class type of the piece to search for.
+     * @param col The column index to search in (0-based).
+     * @return {@code true} if a piece of the specified type and side exists in the given column, otherwise {@code false}.
+     */
+    @Override
+    public boolean ifPieceInColum(Side side, Class<? extends Piece> pieceType, int col) {
+        PieceType type = PieceType.of(pieceType);
+        if (type == null) {
+            return super.ifPieceInColum(side, pieceType, col);
+        }
+        return pieces[side.ordinal()][type.ordinal()].intersects(columnMasks[col]);
+    }
+
+    private void updateBits(int square, Piece piece, boolean add) {
+        int side = piece.getSide().ordinal();
+        PieceType type = piece.getType();
+        if (type == null) {
+            return;
+        }
+        if (add) {
+            pieces[side][type.ordinal()].set(square);
+        } else {
+            pieces[side][type.ordinal()].clear(square);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package model.game;
+
+import java.util.Arrays;
+
+/**
+ * A bitboard of any number of squares in an array of words, used for boards larger than 12x12.
+ */
+final class BitboardN extends Bitboard {
+    private final long[] words;
+
+    BitboardN(int size) {
+        super(size);
+        words = new long[(size + 63) >>> 6];
+    }
+
+    @Override
+    public void set(int square) {
+        words[square >>> 6] |= 1L << square;
+    }
+
+    @Override
+    public void clear(int square) {
+        words[square >>> 6] &= ~(1L << square);
+    }
+
+    @Override
+    public void clearAll() {
+        Arrays.fill(words, 0);
+    }
+
+    @Override
+    public boolean test(int square) {
+        return (words[square >>> 6] & (1L << square)) != 0;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int popCount() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    @Override
+    public boolean intersects(Bitboard other) {
+        long[] o = ((BitboardN) other).words;
+        for (int i = 0; i < words.length; i++) {
+            if ((words[i] & o[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int nextSetBit(int from) {
+        for (int index = from >>> 6; index < words.length && from < size; index++) {
+            long word = words[index] & (-1L << from);
+            if (word != 0) {
+                return index * 64 + Long.numberOfTrailingZeros(word);
+            }
+            from = (index + 1) * 64;
+        }
+        return -1;
+    }
+
+    @Override
+    public Bitboard copy() {
+        BitboardN copy = new BitboardN(size);
+        System.arraycopy(words, 0, copy.words, 0, words.length);
+        return copy;
+    }
+
+    @Override
+    public long getWord(int index) {
+        return index < words.length ? words[index] : 0;
+    }
+}
@@ -1,13 +1,17 @@
 package model.game;
 
 import model.Move;
+import model.PackedMove;
 import model.Sfen;
+import model.pieces.King;
 import model.pieces.Piece;
 import model.pieces.PieceFactory;
+import model.pieces.PieceType;
 import util.Pos;
 import util.Side;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
  * Represents a game board for managing and interacting with pieces during a game.
@@ -18,6 +22,105 @@ public class Board {
      */
     private Piece[][] grid;
 
+    /**
+     * The number of rows in the grid.
+     */
+    private final int rows;
+
+    /**
+     * The number of columns in the grid.
+     */
+    private final int columns;
+
+    /**
+     * Shared position objects for every square, indexed by square.
+     */
+    private final Pos[] positions;
+
+    /**
+     * The ray tables for the geometry of this board.
+     */
+    private final SliderAttacks sliderAttacks;
+
+    /**
+     * The movement tables for the geometry of this board.
+     */
+    private final MoveTables moveTables;
+
+    /**
+     * One occupancy word per rank, file and diagonal of the board, see {@link SliderAttacks}.
+     */
+    private final int[] lineOccupancy;
+
+    /**
+     * The Zobrist key of the pieces on the board, see {@link Zobrist}.
+     */
+    private long hash;
+
+    /**
+     * The number of unpromoted pawns of each side per column, indexed by side ordinal times columns plus column.
+     */
+    private final int[] pawnCounts;
+
+    /**
+     * The columns holding an unpromoted pawn of each side as a bit mask, indexed by side ordinal.
+     */
+    private final long[] pawnFiles = new long[2];
+
+    /**
+     * The key each square currently contributes to {@link #hash}.
+     * Kept per square so that a piece promoted in place can be rehashed by setting it again.
+     */
+    private final long[] squareKeys;
+
+    /**
+     * The square of the king of each side, indexed by side ordinal, or -1 without a king.
+     */
+    private final int[] kingSquares = {-1, -1};
+
+    /**
+     * The squares holding a piece of each side in no particular order, indexed by side ordinal.
+     * Only the first {@link #pieceCounts} entries of each list are in use.
+     */
+    private final int[][] pieceSquares;
+
+    /**
+     * The number of pieces of each side on the board, indexed by side ordinal.
+     */
+    private final int[] pieceCounts = new int[2];
+
+    /**
+     * The index of each occupied square in the piece list of its side, indexed by square.
+     */
+    private final int[] pieceListIndex;
+
+    /**
+     * The attack counts of both sides, or null if the board does not maintain them.
+     */
+    private AttackMap attackMap;
+
+    /**
+     * The players whose hands are updated by {@link #makeMove(int)}, indexed by side ordinal.
+     */
+    private final Player[] players = new Player[2];
+
+    /**
+     * The undo stack of {@link #makeMove(int)}: the packed move, the piece that moved and the piece it captured.
+     */
+    private int[] undoMoves = new int[UNDO_CAPACITY];
+    private Piece[] undoMovedPieces = new Piece[UNDO_CAPACITY];
+    private Piece[] undoCapturedPieces = new Piece[UNDO_CAPACITY];
+
+    /**
+     * The number of moves made with {@link #makeMove(int)} that have not been taken back.
+     */
+    private int ply;
+
+    /**
+     * The initial size of the undo stack, enough for any search without growing it.
+     */
+    private static final int UNDO_CAPACITY = 256;
+
     /**
      * Constructs a board with the specified dimensions.
      *
@@ -26,6 +129,19 @@ public class Board {
      */
     public Board(int width, int height) {
         grid = new Piece[height][width];
+        rows = height;
+        columns = width;
+        positions = new Pos[rows * columns];
+        for (int square = 0; square < positions.length; square++) {
+            positions[square] = new Pos(square / columns, square % columns);
+        }
+        sliderAttacks = SliderAttacks.forGeometry(rows, columns);
+        moveTables = MoveTables.forGeometry(rows, columns);
+        lineOccupancy = new int[sliderAttacks.getLineCount()];
+        squareKeys = new long[rows * columns];
+        pawnCounts = new int[2 * columns];
+        pieceSquares = new int[2][rows * columns];
+        pieceListIndex = new int[rows * columns];
     }
 
     /**
@@ -59,6 +175,126 @@ public class Board {
     }
 
 
+    /**
+     * Sets the players whose hands are updated when moves are made with {@link #makeMove(int)}.
+     * Without players, captures and drops only change the board.
+     *
+     * @param sente the sente player
+     * @param gote  the gote player
+     */
+    public void setPlayers(Player sente, Player gote) {
+        players[Side.SENTE.ordinal()] = sente;
+        players[Side.GOTE.ordinal()] = gote;
+    }
+
+    /**
+     * Returns the player of a side set with {@link #setPlayers(Player, Player)}.
+     *
+     * @param side the side of the player
+     * @return the player, or null if no players are set
+     */
+    public Player getPlayer(Side side) {
+        return players[side.ordinal()];
+    }
+
+    /**
+     * Makes a packed move on the board, see {@link PackedMove}.
+     * The move is pushed on an undo stack and can be taken back with {@link #unmakeMove()}.
+     * Captured pieces go to the hand of the moving player and dropped pieces are taken from it.
+     * The move is not checked for legality and runs in constant time without allocating.
+     *
+     * @param move the packed move to make
+     */
+    public void makeMove(int move) {
+        if (ply == undoMoves.length) {
+            undoMoves = Arrays.copyOf(undoMoves, ply * 2);
+            undoMovedPieces = Arrays.copyOf(undoMovedPieces, ply * 2);
+            undoCapturedPieces = Arrays.copyOf(undoCapturedPieces, ply * 2);
+        }
+        Side side = PackedMove.side(move);
+        PieceType type = PackedMove.pieceType(move);
+        Pos to = positions[squareOf(PackedMove.to(move))];
+        Player player = players[side.ordinal()];
+
+        if (PackedMove.isDrop(move)) {
+            setAtPosition(to, PieceFactory.get(type, side, false));
+            if (player != null) {
+                player.getCapturedPieces().add(type, -1);
+            }
+            undoMovedPieces[ply] = null;
+            undoCapturedPieces[ply] = null;
+        } else {
+            Pos from = positions[squareOf(PackedMove.from(move))];
+            Piece moved = getPieceAt(from);
+            Piece captured = getPieceAt(to);
+            if (captured != null && player != null) {
+                player.getCapturedPieces().add(captured.getType(), 1);
+            }
+            setAtPosition(from, null);
+            setAtPosition(to, PackedMove.isPromotion(move) ? PieceFactory.promoted(moved) : moved);
+            undoMovedPieces[ply] = moved;
+            undoCapturedPieces[ply] = captured;
+        }
+        undoMoves[ply++] = move;
+    }
+
+    /**
+     * Takes back the last move made with {@link #makeMove(int)}, restoring the pieces, their promotion
+     * state, the hands and the hash in constant time.
+     *
+     * @throws IllegalStateException if there is no move to take back
+     */
+    public void unmakeMove() {
+        if (ply == 0) {
+            throw new IllegalStateException("No move to unmake");
+        }
+        int move = undoMoves[--ply];
+        Pos to = positions[squareOf(PackedMove.to(move))];
+        Player player = players[PackedMove.side(move).ordinal()];
+
+        if (PackedMove.isDrop(move)) {
+            setAtPosition(to, null);
+            if (player != null) {
+                player.getCapturedPieces().add(PackedMove.pieceType(move), 1);
+            }
+        } else {
+            Piece captured = undoCapturedPieces[ply];
+            setAtPosition(positions[squareOf(PackedMove.from(move))], undoMovedPieces[ply]);
+            setAtPosition(to, captured);
+            if (captured != null && player != null) {
+                player.getCapturedPieces().add(captured.getType(), -1);
+            }
+        }
+        undoMovedPieces[ply] = null;
+        undoCapturedPieces[ply] = null;
+    }
+
+    /**
+     * Returns the number of moves made with {@link #makeMove(int)} that have not been taken back.
+     *
+     * @return the depth of the undo stack
+     */
+    public int getPly() {
+        return ply;
+    }
+
+    /**
+     * Returns the Zobrist key of the whole position: the board, the hands of the players set with
+     * {@link #setPlayers(Player, Player)} and the side to move.
+     *
+     * @param turn the side to move
+     * @return the Zobrist key of the position
+     */
+    public long getPositionKey(Side turn) {
+        long key = hash;
+        for (Player player : players) {
+            if (player != null) {
+                key ^= player.getHandHash();
+            }
+        }
+        return turn == Side.GOTE ? key ^ Zobrist.sideToMove() : key;
+    }
+
     /**
      * Sets a piece at a specific position on the board.
      *
@@ -66,7 +302,22 @@ public class Board {
      * @param piece the piece to place at the specified position
      */
     public void setAtPosition(Pos pos, Piece piece){
+        int square = toSquare(pos);
+        if ((grid[pos.row()][pos.col()] == null) != (piece == null)) {
+            sliderAttacks.toggle(lineOccupancy, square);
+        }
+        long key = Zobrist.piece(piece, square);
+        hash ^= squareKeys[square] ^ key;
+        squareKeys[square] = key;
+        countPawn(grid[pos.row()][pos.col()], pos.col(), -1);
+        countPawn(piece, pos.col(), 1);
+        Piece previous = grid[pos.row()][pos.col()];
+        untrack(previous, square);
+        track(piece, square);
         grid[pos.row()][pos.col()] = piece;
+        if (attackMap != null) {
+            attackMap.update(this, square, previous, piece);
+        }
     }
 
     /**
@@ -76,6 +327,19 @@ public class Board {
      */
     public void setSfen(Sfen sfen) {
         grid = new Piece[grid.length][grid[0].length];
+        Arrays.fill(lineOccupancy, 0);
+        Arrays.fill(squareKeys, 0);
+        Arrays.fill(pawnCounts, 0);
+        Arrays.fill(pawnFiles, 0);
+        Arrays.fill(kingSquares, -1);
+        Arrays.fill(pieceCounts, 0);
+        if (attackMap != null) {
+            attackMap.clear();
+        }
+        hash = 0;
+        ply = 0;
+        Arrays.fill(undoMovedPieces, null);
+        Arrays.fill(undoCapturedPieces, null);
         initializeBoard(sfen);
     }
 
@@ -136,20 +400,244 @@ public class Board {
         return grid[pos.row()][pos.col()];
     }
 
+    /**
+     * Returns the Zobrist key of the pieces on the board.
+     * The key is updated incrementally whenever a square changes and does not include hands or the side to move.
+     *
+     * @return the Zobrist key of the board
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Retrieves the piece on a square of the board.
+     *
+     * @param square the square index to query, see {@link #toSquare(Pos)}
+     * @return the piece on the square, or null if the square is empty
+     */
+    public Piece getPieceAt(int square) {
+        return getPieceAt(positions[square]);
+    }
+
+    /**
+     * Converts a position to its square index. Squares are numbered row by row from the top left corner.
+     *
+     * @param pos the position to convert
+     * @return the square index of the position
+     */
+    public int toSquare(Pos pos) {
+        return pos.row() * columns + pos.col();
+    }
+
+    /**
+     * Converts a square index to its position. The returned position is shared and allocation free.
+     *
+     * @param square the square index to convert
+     * @return the position of the square
+     */
+    public Pos toPos(int square) {
+        return positions[square];
+    }
+
+    /**
+     * Returns the number of squares on the board.
+     *
+     * @return the number of squares
+     */
+    public int getSquareCount() {
+        return positions.length;
+    }
+
+    /**
+     * Returns the precomputed movement tables for the geometry of this board.
+     *
+     * @return the movement tables of the board
+     */
+    public MoveTables getMoveTables() {
+        return moveTables;
+    }
+
+    /**
+     * Returns the squares along a ray from a square to the edge of the board, nearest first.
+     * The returned array is shared and must not be modified.
+     *
+     * @param square    the starting square
+     * @param direction the direction of the ray, one of the {@link SliderAttacks} constants
+     * @return the squares of the ray
+     */
+    public int[] getRay(int square, int direction) {
+        return sliderAttacks.getRay(square, direction);
+    }
+
+    /**
+     * Returns how many squares of a ray a sliding piece on the given square reaches,
+     * counting the first occupied square. Runs in constant time using the line occupancy tables.
+     *
+     * @param square    the starting square
+     * @param direction the direction of the ray, one of the {@link SliderAttacks} constants
+     * @return the number of reachable squares along the ray
+     */
+    public int getSlideReach(int square, int direction) {
+        return sliderAttacks.reach(lineOccupancy, square, direction);
+    }
+
+    /**
+     * Returns the first occupied square along a ray.
+     *
+     * @param square    the starting square
+     * @param direction the direction of the ray, one of the {@link SliderAttacks} constants
+     * @return the first occupied square, or -1 if the ray is unobstructed
+     */
+    public int getFirstBlocker(int square, int direction) {
+        return sliderAttacks.firstBlocker(lineOccupancy, square, direction);
+    }
+
+    /**
+     * Checks whether any piece of a side attacks a square.
+     * Pieces standing on the square do not matter, so this also tells whether a piece there is defended.
+     *
+     * @param square the square index to check
+     * @param by     the attacking side
+     * @return {@code true} if a piece of the side attacks the square
+     */
+    public boolean isSquareAttacked(int square, Side by) {
+        return isSquareAttacked(square, by, -1);
+    }
+
+    /**
+     * Checks whether any piece of a side attacks a square, treating one other square as empty.
+     * Rather than enumerating the moves of every piece, this looks outward from the square: the
+     * neighbouring and knight squares for stepping pieces and the first piece along each of the eight
+     * rays for sliding pieces. Ignoring a square lets a king test the squares it might step to while it
+     * still stands in the line of a slider. A board maintaining an {@link AttackMap} answers from the map instead.
+     *
+     * @param square        the square index to check
+     * @param by            the attacking side
+     * @param ignoredSquare a square to treat as empty, or -1 to use the board as it is
+     * @return {@code true} if a piece of the side attacks the square
+     */
+    public boolean isSquareAttacked(int square, Side by, int ignoredSquare) {
+        if (attackMap != null && (ignoredSquare < 0 || getPieceAt(ignoredSquare) == null || getPieceAt(ignoredSquare).getSide() != by)) {
+            if (attackMap.isAttacked(by, square)) {
+                return true;
+            }
+            if (ignoredSquare < 0) {
+                return false;
+            }
+            // Only a slider behind the ignored square can reach the square through it
+            for (int direction = 0; direction < SliderAttacks.DIRECTIONS; direction++) {
+                if (getFirstBlocker(square, direction) == ignoredSquare) {
+                    int slider = getFirstBlocker(ignoredSquare, direction);
+                    Piece piece = slider < 0 ? null : getPieceAt(slider);
+                    return piece != null && piece.getSide() == by && piece.getType() != null
+                            && moveTables.slidesIn(by, piece.getType(), MoveTables.isPromoted(piece), SliderAttacks.opposite(direction));
+                }
+            }
+            return false;
+        }
+        if (isStepAttacked(square, by, moveTables.getSteps(Side.SENTE, PieceType.KING, false, square))
+                // A knight of the attacking side reaches the square from where a defending knight would jump to
+                || isStepAttacked(square, by, moveTables.getSteps(by.opposite(), PieceType.KNIGHT, false, square))) {
+            return true;
+        }
+        for (int direction = 0; direction < SliderAttacks.DIRECTIONS; direction++) {
+            int blocker = getFirstBlocker(square, direction);
+            if (blocker >= 0 && blocker == ignoredSquare) {
+                blocker = getFirstBlocker(blocker, direction);
+            }
+            if (blocker < 0) {
+                continue;
+            }
+            Piece piece = getPieceAt(blocker);
+            if (piece.getSide() == by && piece.getType() != null
+                    && moveTables.slidesIn(by, piece.getType(), MoveTables.isPromoted(piece), SliderAttacks.opposite(direction))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Makes the board maintain the attack counts of both sides from now on, building them from the
+     * pieces on the board. Every later change to the board updates them incrementally, see {@link AttackMap}.
+     *
+     * @return the attack map of the board
+     */
+    public AttackMap enableAttackMap() {
+        if (attackMap == null) {
+            attackMap = new AttackMap(getSquareCount());
+            attackMap.rebuild(this);
+        }
+        return attackMap;
+    }
+
+    /**
+     * Returns the attack counts of both sides, if the board maintains them.
+     *
+     * @return the attack map, or null unless {@link #enableAttackMap()} was called
+     */
+    public AttackMap getAttackMap() {
+        return attackMap;
+    }
+
+    /**
+     * Checks whether the piece on a square is attacked by the opponent and not defended by its own side.
+     * Uses the attack map when the board maintains one and otherwise searches outward from the square.
+     *
+     * @param square the square index to check
+     * @return {@code true} if a piece stands on the square and hangs
+     */
+    public boolean isHanging(int square) {
+        Piece piece = getPieceAt(square);
+        if (piece == null) {
+            return false;
+        }
+        Side side = piece.getSide();
+        if (attackMap != null) {
+            return attackMap.isAttacked(side.opposite(), square) && !attackMap.isAttacked(side, square);
+        }
+        return isSquareAttacked(square, side.opposite()) && !isSquareAttacked(square, side);
+    }
+
+    /**
+     * Collects the squares of the pieces of a side that attack a square, the same pieces
+     * {@link #isSquareAttacked(int, Side)} looks for.
+     *
+     * @param square    the square index to check
+     * @param by        the attacking side
+     * @param attackers an array receiving the squares of the attackers, large enough for 18 entries
+     * @return the number of attackers written to the array
+     */
+    public int getAttackers(int square, Side by, int[] attackers) {
+        int count = collectStepAttackers(square, by, moveTables.getSteps(Side.SENTE, PieceType.KING, false, square), attackers, 0);
+        count = collectStepAttackers(square, by, moveTables.getSteps(by.opposite(), PieceType.KNIGHT, false, square), attackers, count);
+        for (int direction = 0; direction < SliderAttacks.DIRECTIONS; direction++) {
+            int blocker = getFirstBlocker(square, direction);
+            if (blocker < 0) {
+                continue;
+            }
+            Piece piece = getPieceAt(blocker);
+            if (piece.getSide() == by && piece.getType() != null
+                    && moveTables.slidesIn(by, piece.getType(), MoveTables.isPromoted(piece), SliderAttacks.opposite(direction))
+                    && !contains(attackers, count, blocker)) {
+                attackers[count++] = blocker;
+            }
+        }
+        return count;
+    }
+
     /**
      * Gets all pieces currently on the board.
      *
      * @return a list of all pieces on the board
      */
     public ArrayList<Piece> getEveryPiece() {
-        Piece piece;
-        ArrayList<Piece> pieces = new ArrayList<>();
-        for (int i = 0; i < getWidth(); i++) {
-            for (int j = 0; j < getHeight(); j++) {
-                piece = getPieceAt(new Pos(i, j));
-                if (piece != null) {
-                    pieces.add(piece);
-                }
+        ArrayList<Piece> pieces = new ArrayList<>(pieceCounts[0] + pieceCounts[1]);
+        for (int square = 0; square < positions.length; square++) {
+            Piece piece = getPieceAt(square);
+            if (piece != null) {
+                pieces.add(piece);
             }
         }
         return pieces;
@@ -161,39 +649,73 @@ public class Board {
      * @return a list of positions of all pieces on the board
      */
     public ArrayList<Pos> getEveryPiecePos() {
-        Piece piece;
-        ArrayList<Pos> positions = new ArrayList<>();
-        for (int i = 0; i < getWidth(); i++) {
-            for (int j = 0; j < getHeight(); j++) {
-                piece = getPieceAt(new Pos(i, j));
-                if (piece != null) {
-                    positions.add(new Pos(i, j));
-                }
+        ArrayList<Pos> piecePositions = new ArrayList<>(pieceCounts[0] + pieceCounts[1]);
+        for (int square = 0; square < positions.length; square++) {
+            if (getPieceAt(square) != null) {
+                piecePositions.add(positions[square]);
             }
         }
-        return positions;
+        return piecePositions;
     }
 
     /**
-     * Finds the position of a specific piece on the board.
+     * Finds the position of a specific piece on the board. Kings are looked up like {@link #getKingSquare(Side)},
+     * other kinds return the first piece in row-major order.
      *
      * @param side      the side to which the piece belongs
      * @param pieceType the class of the piece to find
      * @return the position of the specified piece, or null if not found
      */
-    public Pos getPiecePos(Side side, Class pieceType) {
-        Piece piece;
-        for (int i = 0; i < getWidth(); i++) {
-            for (int j = 0; j < getHeight(); j++) {
-                piece = getPieceAt(new Pos(i, j));
-                if (piece != null) {
-                    if (piece.getClass() == pieceType && piece.getSide() == side) {
-                        return new Pos(i, j);
-                    }
-                }
+    public Pos getPiecePos(Side side, Class<? extends Piece> pieceType) {
+        if (pieceType == King.class) {
+            int king = kingSquares[side.ordinal()];
+            return king >= 0 ? positions[king] : null;
+        }
+        // Search only the pieces of the side, in row-major order like a scan of the grid
+        int found = -1;
+        for (int i = 0; i < pieceCounts[side.ordinal()]; i++) {
+            int square = pieceSquares[side.ordinal()][i];
+            if ((found < 0 || square < found) && grid[square / columns][square % columns].getClass() == pieceType) {
+                found = square;
             }
         }
-        return null;
+        return found >= 0 ? positions[found] : null;
+    }
+
+    /**
+     * Returns the square of the king of a side. The square is tracked on every change to the board.
+     * If a side has more than one king, the one placed last is returned.
+     *
+     * @param side the side whose king to find
+     * @return the square of the king, or -1 if the side has no king on the board
+     */
+    public int getKingSquare(Side side) {
+        return kingSquares[side.ordinal()];
+    }
+
+    /**
+     * Returns the number of pieces a side has on the board.
+     *
+     * @param side the side whose pieces to count
+     * @return the number of pieces
+     */
+    public int getPieceCount(Side side) {
+        return pieceCounts[side.ordinal()];
+    }
+
+    /**
+     * Returns the square of one of the pieces of a side. Together with {@link #getPieceCount(Side)} this
+     * iterates over the (square, piece) pairs of a side without allocating:
+     * {@code for (int i = 0; i < board.getPieceCount(side); i++) { int square = board.getPieceSquare(side, i); ... }}.
+     * The order of the pieces is unspecified and changes when the board changes, so the board must not be
+     * changed during the iteration.
+     *
+     * @param side  the side whose pieces to iterate over
+     * @param index the index of the piece, below {@link #getPieceCount(Side)}
+     * @return the square of the piece
+     */
+    public int getPieceSquare(Side side, int index) {
+        return pieceSquares[side.ordinal()][index];
     }
 
     /**
@@ -225,7 +747,7 @@ public class Board {
      * @param col The column index to search in (0-based).
      * @return {@code true} if a piece of the specified type and side exists in the given column, otherwise {@code false}.
      */
-    public boolean ifPieceInColum(Side side, Class pieceType, int col) {
+    public boolean ifPieceInColum(Side side, Class<? extends Piece> pieceType, int col) {
         Piece piece;
 
         for (int i = 0; i < getWidth(); i++) {
@@ -238,4 +760,94 @@ public class Board {
         }
         return false;
     }
+
+    /**
+     * Returns the columns holding at least one unpromoted pawn of a side, the columns where that side may not drop a pawn.
+     * Bit {@code col} of the result is set for each such column, so the mask covers boards of up to 64 columns.
+     *
+     * @param side the side whose pawns to look at
+     * @return the mask of columns with an unpromoted pawn
+     */
+    public long getPawnFiles(Side side) {
+        return pawnFiles[side.ordinal()];
+    }
+
+    private void countPawn(Piece piece, int col, int delta) {
+        if (piece == null || piece.getType() != PieceType.PAWN || MoveTables.isPromoted(piece)) {
+            return;
+        }
+        int side = piece.getSide().ordinal();
+        int count = pawnCounts[side * columns + col] += delta;
+        if (count > 0) {
+            pawnFiles[side] |= 1L << col;
+        } else {
+            pawnFiles[side] &= ~(1L << col);
+        }
+    }
+
+    private void track(Piece piece, int square) {
+        if (piece == null) {
+            return;
+        }
+        int side = piece.getSide().ordinal();
+        pieceListIndex[square] = pieceCounts[side];
+        pieceSquares[side][pieceCounts[side]++] = square;
+        if (piece.getType() == PieceType.KING) {
+            kingSquares[side] = square;
+        }
+    }
+
+    private void untrack(Piece piece, int square) {
+        if (piece == null) {
+            return;
+        }
+        int side = piece.getSide().ordinal();
+        // Move the last piece of the list into the freed slot
+        int last = pieceSquares[side][--pieceCounts[side]];
+        pieceSquares[side][pieceListIndex[square]] = last;
+        pieceListIndex[last] = pieceListIndex[square];
+        if (kingSquares[side] == square) {
+            kingSquares[side] = -1;
+            for (int i = 0; i < pieceCounts[side]; i++) {
+                if (grid[pieceSquares[side][i] / columns][pieceSquares[side][i] % columns].getType() == PieceType.KING) {
+                    kingSquares[side] = pieceSquares[side][i];
+                }
+            }
+        }
+    }
+
+    private int squareOf(int packedSquare) {
+        return PackedMove.row(packedSquare) * columns + PackedMove.col(packedSquare);
+    }
+
+    private boolean isStepAttacked(int square, Side by, int[] sources) {
+        for (int source : sources) {
+            Piece piece = getPieceAt(source);
+            if (piece != null && piece.getSide() == by && piece.getType() != null
+                    && moveTables.stepsTo(by, piece.getType(), MoveTables.isPromoted(piece), source, square)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int collectStepAttackers(int square, Side by, int[] sources, int[] attackers, int count) {
+        for (int source : sources) {
+            Piece piece = getPieceAt(source);
+            if (piece != null && piece.getSide() == by && piece.getType() != null
+                    && moveTables.stepsTo(by, piece.getType(), MoveTables.isPromoted(piece), source, square)) {
+                attackers[count++] = source;
+            }
+        }
+        return count;
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
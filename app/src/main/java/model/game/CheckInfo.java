@@ -0,0 +1,342 @@
+package model.game;
+
+import model.pieces.Piece;
+import model.pieces.PieceFactory;
+import model.pieces.PieceType;
+import util.Pos;
+import util.Side;
+
+import java.util.Arrays;
+
+/**
+ * The checks and pins against the king of one side in a position.
+ *
+ * The information is gathered once per position by looking outward from the king, after which the
+ * legality of any move of that side can be decided without playing it: the king may not step onto an
+ * attacked square, a pinned piece may only move along its pin, and while in check every other move has
+ * to capture the checking piece or block its line. An instance keeps scratch arrays sized for one board
+ * and can be reused for any number of positions on boards of that size.
+ */
+public class CheckInfo {
+    private Board board;
+    private Side side;
+    private int kingSquare = -1;
+    private int checkerCount;
+
+    /**
+     * Squares on which a piece other than the king resolves a single check: the checker and the squares between it and the king.
+     */
+    private final boolean[] evasionSquares;
+    private final int[] evasionList;
+    private int evasionCount;
+
+    /**
+     * The direction from the king towards each pinned piece, or -1 for pieces that are not pinned.
+     */
+    private final int[] pinDirections;
+
+    /**
+     * The square of the piece pinning each pinned piece.
+     */
+    private final int[] pinners;
+    private final int[] pinnedList;
+    private int pinnedCount;
+
+    /**
+     * Scratch array for {@link Board#getAttackers(int, Side, int[])}.
+     */
+    private final int[] attackers = new int[2 * SliderAttacks.DIRECTIONS + 2];
+
+    /**
+     * Constructs check information for boards with a number of squares.
+     *
+     * @param squareCount the number of squares of the boards that will be analysed
+     */
+    public CheckInfo(int squareCount) {
+        evasionSquares = new boolean[squareCount];
+        evasionList = new int[squareCount];
+        pinDirections = new int[squareCount];
+        Arrays.fill(pinDirections, -1);
+        pinners = new int[squareCount];
+        pinnedList = new int[SliderAttacks.DIRECTIONS];
+    }
+
+    /**
+     * Analyses the checks and pins against the king of a side.
+     *
+     * @param board the board to analyse
+     * @param side  the side whose king is analysed
+     */
+    public void update(Board board, Side side) {
+        clear();
+        this.board = board;
+        this.side = side;
+        kingSquare = board.getKingSquare(side);
+        if (kingSquare < 0) {
+            return;
+        }
+        MoveTables tables = board.getMoveTables();
+        Side opponent = side.opposite();
+
+        addStepCheckers(board, tables, opponent, tables.getSteps(Side.SENTE, PieceType.KING, false, kingSquare));
+        addStepCheckers(board, tables, opponent, tables.getSteps(side, PieceType.KNIGHT, false, kingSquare));
+
+        for (int direction = 0; direction < SliderAttacks.DIRECTIONS; direction++) {
+            int blocker = board.getFirstBlocker(kingSquare, direction);
+            if (blocker < 0) {
+                continue;
+            }
+            Piece piece = board.getPieceAt(blocker);
+            if (piece.getSide() == opponent) {
+                if (isSliderAlong(tables, piece, direction) && !evasionSquares[blocker]) {
+                    checkerCount++;
+                    addRayEvasions(direction, blocker);
+                }
+            } else {
+                int pinner = board.getFirstBlocker(blocker, direction);
+                if (pinner >= 0 && board.getPieceAt(pinner).getSide() == opponent && isSliderAlong(tables, board.getPieceAt(pinner), direction)) {
+                    pinDirections[blocker] = direction;
+                    pinners[blocker] = pinner;
+                    pinnedList[pinnedCount++] = blocker;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of squares of the boards this instance can analyse.
+     *
+     * @return the number of squares
+     */
+    public int getSquareCount() {
+        return evasionSquares.length;
+    }
+
+    /**
+     * Returns the square of the analysed king.
+     *
+     * @return the king square, or -1 if the side has no king
+     */
+    public int getKingSquare() {
+        return kingSquare;
+    }
+
+    /**
+     * Checks whether the analysed king is in check.
+     *
+     * @return {@code true} if at least one piece gives check
+     */
+    public boolean isInCheck() {
+        return checkerCount > 0;
+    }
+
+    /**
+     * Returns the number of pieces giving check.
+     *
+     * @return the number of checkers
+     */
+    public int getCheckerCount() {
+        return checkerCount;
+    }
+
+    /**
+     * Checks whether a piece is pinned to the analysed king.
+     *
+     * @param square the square of the piece
+     * @return {@code true} if moving the piece off its line would expose the king
+     */
+    public boolean isPinned(int square) {
+        return pinDirections[square] >= 0;
+    }
+
+    /**
+     * Checks whether a move of the analysed side leaves its king safe.
+     * The move itself is assumed to be a move the piece can make.
+     *
+     * @param from the square of the moving piece
+     * @param to   the target square
+     * @return {@code true} if the king is not in check after the move
+     */
+    public boolean isLegal(int from, int to) {
+        if (kingSquare < 0) {
+            return true;
+        }
+        if (from == kingSquare) {
+            // The king must not shield the square it steps to from a slider behind it
+            return !board.isSquareAttacked(to, side.opposite(), kingSquare);
+        }
+        if (checkerCount > 1 || (checkerCount == 1 && !evasionSquares[to])) {
+            return false;
+        }
+        return pinDirections[from] < 0 || isOnPinLine(from, to);
+    }
+
+    /**
+     * Checks whether dropping a piece on a square leaves the king of the analysed side safe.
+     * Drops never expose the king, so they only have to block a single sliding check.
+     *
+     * @param to the square of the drop
+     * @return {@code true} if the king is not in check after the drop
+     */
+    public boolean isDropLegal(int to) {
+        return checkerCount == 0 || (checkerCount == 1 && evasionSquares[to] && board.getPieceAt(to) == null);
+    }
+
+    /**
+     * Returns the number of squares on which a piece other than the king resolves a single check.
+     *
+     * @return the number of evasion squares, 0 if the king is not in check
+     */
+    public int getEvasionSquareCount() {
+        return evasionCount;
+    }
+
+    /**
+     * Returns one of the squares on which a piece other than the king resolves a single check:
+     * the square of the checking piece or a square between it and the king.
+     *
+     * @param index the index of the square, below {@link #getEvasionSquareCount()}
+     * @return the evasion square
+     */
+    public int getEvasionSquare(int index) {
+        return evasionList[index];
+    }
+
+    /**
+     * Checks whether the analysed side has any move that gets its king out of check.
+     * Only king steps, captures of the checking piece and interpositions (by moves or drops) are
+     * considered, and the search stops at the first legal one. A side that is not in check, or has no
+     * king, always has an evasion.
+     *
+     * @param player the player of the analysed side, whose hand provides drops, or null to skip drops
+     * @return {@code true} if the check can be escaped, {@code false} if it is checkmate
+     */
+    public boolean hasEvasion(Player player) {
+        if (kingSquare < 0 || checkerCount == 0) {
+            return true;
+        }
+        MoveTables tables = board.getMoveTables();
+        for (int to : tables.getSteps(side, PieceType.KING, false, kingSquare)) {
+            Piece target = board.getPieceAt(to);
+            if ((target == null || target.getSide() != side) && isLegal(kingSquare, to)) {
+                return true;
+            }
+        }
+        if (checkerCount > 1) {
+            return false;
+        }
+        for (int i = 0; i < evasionCount; i++) {
+            int square = evasionList[i];
+            int count = board.getAttackers(square, side, attackers);
+            for (int j = 0; j < count; j++) {
+                if (attackers[j] != kingSquare && isLegal(attackers[j], square)) {
+                    return true;
+                }
+            }
+            if (player != null && board.getPieceAt(square) == null && canDrop(player, square)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether dropping a pawn on a square would checkmate the opponent, which the rules forbid (uchifuzume).
+     * A pawn only gives check from the square directly in front of the king, so only that square is played out:
+     * the pawn is placed on the board, the check against the opponent's king is analysed and its evasions are
+     * searched as in {@link #hasEvasion(Player)}, after which the square is emptied again. Since the check is a
+     * contact check it can only be escaped by the king or by capturing the pawn, and the opponent's hand is never
+     * needed. This instance is left holding the analysis of the opponent.
+     *
+     * @param board  the board to drop on
+     * @param side   the side dropping the pawn
+     * @param square the empty square the pawn is dropped on
+     * @return {@code true} if the drop gives checkmate
+     */
+    public boolean isPawnDropMate(Board board, Side side, int square) {
+        int opponentKing = board.getKingSquare(side.opposite());
+        if (opponentKing < 0 || board.getPieceAt(square) != null
+                || !board.getMoveTables().stepsTo(side, PieceType.PAWN, false, square, opponentKing)) {
+            return false;
+        }
+        Pos pos = board.toPos(square);
+        board.setAtPosition(pos, PieceFactory.get(PieceType.PAWN, side, false));
+        update(board, side.opposite());
+        boolean mate = isInCheck() && !hasEvasion(null);
+        board.setAtPosition(pos, null);
+        return mate;
+    }
+
+    private boolean canDrop(Player player, int square) {
+        MoveTables tables = board.getMoveTables();
+        Hand hand = player.getCapturedPieces();
+        for (int i = 0; i < hand.getKindCount(); i++) {
+            PieceType type = hand.getKind(i);
+            if (!hand.contains(type) || !tables.hasMoves(side, type, false, square)) {
+                continue;
+            }
+            if (type != PieceType.PAWN || (board.getPawnFiles(side) & 1L << board.toPos(square).col()) == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isOnPinLine(int from, int to) {
+        int[] ray = board.getRay(kingSquare, pinDirections[from]);
+        for (int square : ray) {
+            if (square == to) {
+                return true;
+            }
+            if (square == pinners[from]) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private void addStepCheckers(Board board, MoveTables tables, Side opponent, int[] sources) {
+        for (int source : sources) {
+            Piece piece = board.getPieceAt(source);
+            if (piece != null && piece.getSide() == opponent && piece.getType() != null
+                    && tables.stepsTo(opponent, piece.getType(), MoveTables.isPromoted(piece), source, kingSquare)
+                    && !evasionSquares[source]) {
+                checkerCount++;
+                addEvasion(source);
+            }
+        }
+    }
+
+    private void addRayEvasions(int direction, int checker) {
+        for (int square : board.getRay(kingSquare, direction)) {
+            if (!evasionSquares[square]) {
+                addEvasion(square);
+            }
+            if (square == checker) {
+                return;
+            }
+        }
+    }
+
+    private void addEvasion(int square) {
+        evasionSquares[square] = true;
+        evasionList[evasionCount++] = square;
+    }
+
+    private static boolean isSliderAlong(MoveTables tables, Piece piece, int direction) {
+        return piece.getType() != null
+                && tables.slidesIn(piece.getSide(), piece.getType(), MoveTables.isPromoted(piece), SliderAttacks.opposite(direction));
+    }
+
+    private void clear() {
+        for (int i = 0; i < evasionCount; i++) {
+            evasionSquares[evasionList[i]] = false;
+        }
+        for (int i = 0; i < pinnedCount; i++) {
+            pinDirections[pinnedList[i]] = -1;
+        }
+        evasionCount = 0;
+        pinnedCount = 0;
+        checkerCount = 0;
+    }
+}
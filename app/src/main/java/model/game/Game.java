@@ -2,6 +2,7 @@ package model.game;
 
 import model.*;
 import model.pieces.*;
+import model.variants.MoveGenerator;
 import model.variants.RuleSet;
 import model.variants.Variant;
 import util.Pos;
@@ -87,11 +88,37 @@ public class Game {
      */
     private History history;
 
+    /**
+     * The positions reached in the game, kept alongside the history to detect sennichite.
+     */
+    private final RepetitionTracker repetitions = new RepetitionTracker();
+
+    /**
+     * Whether the last move may still be promoted, in which case its position is not final and a repetition is
+     * only announced once the promotion is decided.
+     */
+    private boolean promotionPending;
+
+    /**
+     * An immutable snapshot of the current position, replaced after every change so that other threads can read it.
+     */
+    private volatile Position position;
+
     /**
      * The rule set governing the game's mechanics and move validation.
      */
     private RuleSet ruleSet;
 
+    /**
+     * The side-to-move part of the position key, toggled on every change of turn.
+     */
+    private long turnKey;
+
+    /**
+     * The move generator used to list drops, created on first use.
+     */
+    private MoveGenerator moveGenerator;
+
 
     /**
      * Constructs a new game with the specified variant and time settings.
@@ -104,8 +131,9 @@ public class Game {
         this.variant = variant;
         this.ruleSet = variant.getRuleSet();
 
-        this.board = new Board(variant.getWidth(), variant.getHeight());
+        this.board = variant.createBoard();
         this.board.initializeBoard(variant.getStartSfen());
+        this.board.enableAttackMap();
 
         this.history = new History();
 
@@ -114,6 +142,8 @@ public class Game {
 
         this.gotePlayer = new Player(Side.GOTE);
         this.gotePlayer.intializeHand(variant.getHand());
+        this.board.setPlayers(sentePlayer, gotePlayer);
+        recordPosition();
 
         if (time != 0) {
             setClocks(time);
@@ -133,8 +163,9 @@ public class Game {
         this.variant = saveFile.getVariant();
         this.ruleSet = variant.getRuleSet();
 
-        this.board = new Board(variant.getWidth(), variant.getHeight());
+        this.board = variant.createBoard();
         this.board.initializeBoard(saveFile.getSfen());
+        this.board.enableAttackMap();
 
         this.history = saveFile.getHistory();
 
@@ -142,6 +173,7 @@ public class Game {
         this.sentePlayer.intializeHand(variant.getHand());
         this.gotePlayer = new Player(Side.GOTE);
         this.gotePlayer.intializeHand(variant.getHand());
+        this.board.setPlayers(sentePlayer, gotePlayer);
         saveFile.getSfen().forEachCapturedPiece((abbr, amount) -> {
             Piece piece = PieceFactory.fromSfenAbbreviation(String.valueOf(abbr));
             switch (piece.getSide()) {
@@ -152,6 +184,8 @@ public class Game {
 
         this.moveCount = saveFile.getSfen().getMoveCount();
         this.turn = saveFile.getSfen().getTurn() == 'b' ? Side.SENTE : Side.GOTE;
+        this.turnKey = turn == Side.GOTE ? Zobrist.sideToMove() : 0;
+        recordPosition(); // Repetitions are counted from the saved position on
 
         int senteTime = saveFile.getTime(Side.SENTE);
         int goteTime = saveFile.getTime(Side.GOTE);
@@ -174,7 +208,8 @@ public class Game {
      */
     public Move move(Pos from, Pos to) {
         if (board.getPieceAt(from) == null || !isValidMove(from, to)) { return null; }
-        // boolean isPromotableMove = isPromotableMove(from, to);
+        settlePromotion();
+        boolean promotable = isPromotableMove(from, to);
         Move move = board.move(from, to);
         Piece capturedPiece = move.capturedPiece();
         if (capturedPiece != null) {
@@ -190,6 +225,12 @@ public class Game {
         changeTurn();
         moveCount++;
         history.addMove(move);
+        recordPosition();
+        if (promotable) {
+            promotionPending = true;
+        } else {
+            announceRepetition();
+        }
         boardChanged();
         return move;
     }
@@ -220,18 +261,25 @@ public class Game {
 
     /**
      * Returns all valid positions for placing a piece from a player's captured pieces onto the board.
+     * Drops that would leave the player's King in check are not included.
      *
      * @param piece The piece to be placed.
      * @return A list of valid positions for the specified piece.
      */
     public List<Pos> getValidHandMovePositions(Piece piece) {
         List<Pos> positions = new ArrayList<>();
-        for (int i = 0; i < board.getHeight(); i++) {
-            for (int j = 0; j < board.getWidth(); j++) {
-                Pos pos = new Pos(i, j);
-                if (isValidHandMove(pos, piece))
-                    positions.add(pos);
-            }
+        PieceType type = piece.getType();
+        if (type == null) {
+            return positions;
+        }
+        MoveBuffer drops = new MoveBuffer();
+        if (moveGenerator == null) {
+            moveGenerator = new MoveGenerator(variant);
+        }
+        moveGenerator.generateDrops(board, turn, type, drops);
+        for (int i = 0; i < drops.size(); i++) {
+            int to = PackedMove.to(drops.get(i));
+            positions.add(new Pos(PackedMove.row(to), PackedMove.col(to)));
         }
         return positions;
     }
@@ -371,6 +419,91 @@ public class Game {
         return new Sfen(board.getBoardAsSfen(), turn == Side.SENTE ? 'b' : 'w', getCapturedPiecesAsSfen(), moveCount);
     }
 
+    /**
+     * Returns the 64-bit Zobrist key of the current position, covering the pieces on the board,
+     * their promotion state, both hands and the side to move. Unlike {@link #getSfen()} the key
+     * is maintained incrementally and costs nothing to query.
+     *
+     * @return The Zobrist key of the current position.
+     */
+    public long getPositionHash() {
+        return board.getHash() ^ sentePlayer.getHandHash() ^ gotePlayer.getHandHash() ^ turnKey;
+    }
+
+    /**
+     * Returns an immutable snapshot of the current position. Unlike the board, the snapshot may be read from any
+     * thread, for example by a worker analysing the position while the game goes on.
+     *
+     * @return The current position.
+     */
+    public Position getPosition() {
+        return position;
+    }
+
+    /**
+     * Checks whether the current position has occurred four times, which ends the game by sennichite.
+     *
+     * @return True if the game is over by repetition.
+     */
+    public boolean isSennichite() {
+        return repetitions.isSennichite();
+    }
+
+    /**
+     * Returns the side that gave check with every move of the repetition, which loses the game.
+     *
+     * @return The side giving perpetual check, or null if there is no sennichite or it is a draw.
+     */
+    public Side getPerpetualChecker() {
+        return repetitions.getPerpetualChecker();
+    }
+
+    /**
+     * Returns a copy of the positions recorded for repetitions since the game was started or loaded, the current
+     * position last, for example so that a search can tell repetitions of earlier positions. Must be called by the
+     * thread playing the game.
+     *
+     * @return The recorded positions.
+     */
+    public RepetitionTracker getRepetitionHistory() {
+        return repetitions.copy();
+    }
+
+    /**
+     * Records the current position and whether the side to move is in check.
+     */
+    private void recordPosition() {
+        repetitions.push(getPositionHash(), turn, isInCheck());
+        position = Position.of(this);
+    }
+
+    /**
+     * Checks whether the side to move is in check.
+     */
+    private boolean isInCheck() {
+        int king = board.getKingSquare(turn);
+        return king >= 0 && board.isSquareAttacked(king, turn.opposite());
+    }
+
+    /**
+     * Announces a repetition of the last recorded position, once the move that reached it is final.
+     */
+    private void announceRepetition() {
+        if (repetitions.isSennichite()) {
+            System.out.println(repetitions.getPerpetualChecker() == null ? "Sennichite!" : "Perpetual check!");
+        }
+    }
+
+    /**
+     * Makes a move that could have been promoted final, announcing a repetition it completed.
+     */
+    private void settlePromotion() {
+        if (promotionPending) {
+            promotionPending = false;
+            announceRepetition();
+        }
+    }
+
     /**
      * Sets the clocks for both players to the specified time in seconds.
      * 
@@ -434,17 +567,22 @@ public class Game {
      */
     public void undo() {
         Move lastMove = history.removeLast();
+        repetitions.pop();
+        promotionPending = false;
         changeTurn();
         moveCount--;
         if (lastMove.fromPlayerHand()) {
             (turn == Side.SENTE ? sentePlayer : gotePlayer).addCapturedPiece(lastMove.movedPiece().getClass());
         } else {
             board.move(lastMove.to(), lastMove.from()); // Plays the last move in reverse.
+            // Restores the piece as it was before a promotion
+            board.setAtPosition(lastMove.from(), lastMove.promoted() ? PieceFactory.unpromoted(lastMove.movedPiece()) : lastMove.movedPiece());
         }
         if (lastMove.capturedPiece() != null) {
             (turn == Side.SENTE ? sentePlayer : gotePlayer).removeCapturedPiece(lastMove.capturedPiece().getClass());
         }
         board.setAtPosition(lastMove.to(), lastMove.capturedPiece());
+        position = Position.of(this);
         boardChanged();
     }
 
@@ -469,6 +607,7 @@ public class Game {
             case SENTE -> Side.GOTE;
             case GOTE -> Side.SENTE;
         };
+        turnKey ^= Zobrist.sideToMove();
         if (isClocksInitialized())
             changeActiveClock();
     }
@@ -506,6 +645,7 @@ public class Game {
      */
     public void playHand(Pos pos, Piece piece) {
         if (!isValidHandMove(pos, piece)){ return; }
+        settlePromotion();
         board.setAtPosition(pos, piece);
         switch (piece.getSide()) {
             case GOTE -> gotePlayer.removeCapturedPiece(piece.getClass());
@@ -514,6 +654,8 @@ public class Game {
         changeTurn();
         moveCount++;
         history.addMove(new Move(null, pos, piece, null, false));
+        recordPosition();
+        announceRepetition();
         boardChanged();
     }
 
@@ -552,7 +694,13 @@ public class Game {
         Piece piece = board.getPieceAt(pos);
         Side side = piece.getSide();
         if (piece instanceof Promotable /* && variant.isInPromotionZone(pos, side.opposite()) */) {
-            ((Promotable) piece).promote();
+            board.setAtPosition(pos, PieceFactory.promoted(piece)); // Pieces are shared, so promotion swaps in the promoted piece
+            if (repetitions.size() > 1) {
+                // The promotion is part of the last move
+                repetitions.replaceLast(getPositionHash(), turn, isInCheck());
+                position = Position.of(this);
+            }
+            settlePromotion();
         }
     }
 
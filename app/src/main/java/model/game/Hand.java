@@ -0,0 +1,214 @@
+package model.game;
+
+import model.pieces.Piece;
+import model.pieces.PieceFactory;
+import model.pieces.PieceType;
+import util.Side;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The pieces held in hand by one side, counted per piece kind.
+ *
+ * Counts are kept in an array indexed by {@link PieceType#ordinal()}, so adding, removing and looking up
+ * pieces are constant time operations that do not allocate. Alongside the counts the hand keeps a mask of
+ * the kinds it currently holds, its Zobrist key (see {@link Zobrist}) and its SFEN fragment, which is only
+ * rebuilt when asked for after the hand has changed.
+ */
+public class Hand {
+    private final Side side;
+
+    /**
+     * The number of pieces held, indexed by piece kind ordinal.
+     */
+    private final int[] counts = new int[PieceType.count()];
+
+    /**
+     * The kinds that may be held, in the order of the variant, which is also the SFEN order.
+     */
+    private PieceType[] kinds = new PieceType[0];
+
+    /**
+     * Bit {@code ordinal} is set for every kind that may be held.
+     */
+    private int kindMask;
+
+    /**
+     * Bit {@code ordinal} is set for every kind with a positive count.
+     */
+    private int heldMask;
+
+    /**
+     * The SFEN abbreviation of every kind for this side, indexed by piece kind ordinal.
+     */
+    private final String[] abbreviations = new String[PieceType.count()];
+
+    private long hash;
+
+    /**
+     * The SFEN fragment of the hand, or null if the hand changed since it was last built.
+     */
+    private String sfen = "";
+
+    /**
+     * Constructs an empty hand that cannot hold any piece until its kinds are set.
+     *
+     * @param side the side owning the hand.
+     */
+    public Hand(Side side) {
+        this.side = side;
+        for (int type = 0; type < PieceType.count(); type++) {
+            abbreviations[type] = PieceFactory.get(PieceType.fromOrdinal(type), side, false).getSfenAbbreviation();
+        }
+    }
+
+    /**
+     * Sets the kinds of pieces the hand may hold, setting their counts to zero.
+     * Classes that are not known piece kinds are ignored.
+     *
+     * @param pieceClasses the piece classes in the order of the variant.
+     */
+    public void initialize(List<Class<? extends Piece>> pieceClasses) {
+        for (Class<? extends Piece> pieceClass : pieceClasses) {
+            PieceType type = PieceType.of(pieceClass);
+            if (type == null) {
+                continue;
+            }
+            if ((kindMask & bit(type)) == 0) {
+                kinds = Arrays.copyOf(kinds, kinds.length + 1);
+                kinds[kinds.length - 1] = type;
+                kindMask |= bit(type);
+            }
+            add(type, -counts[type.ordinal()]);
+        }
+    }
+
+    /**
+     * Checks whether the hand may hold a kind of piece.
+     *
+     * @param type the kind of piece.
+     * @return {@code true} if the kind is one of the kinds of the hand.
+     */
+    public boolean accepts(PieceType type) {
+        return type != null && (kindMask & bit(type)) != 0;
+    }
+
+    /**
+     * Returns the number of pieces of a kind in the hand.
+     *
+     * @param type the kind of piece.
+     * @return the number of pieces held.
+     */
+    public int getCount(PieceType type) {
+        return counts[type.ordinal()];
+    }
+
+    /**
+     * Checks whether the hand holds at least one piece of a kind.
+     *
+     * @param type the kind of piece.
+     * @return {@code true} if a piece of the kind can be dropped.
+     */
+    public boolean contains(PieceType type) {
+        return (heldMask & bit(type)) != 0;
+    }
+
+    /**
+     * Returns the kinds with a positive count as a bit mask with bit {@code ordinal} set for each kind.
+     *
+     * @return the mask of held kinds, 0 for an empty hand.
+     */
+    public int getHeldMask() {
+        return heldMask;
+    }
+
+    /**
+     * Returns the number of kinds the hand may hold.
+     *
+     * @return the number of kinds.
+     */
+    public int getKindCount() {
+        return kinds.length;
+    }
+
+    /**
+     * Returns one of the kinds the hand may hold, in the order of the variant.
+     *
+     * @param index the index of the kind, below {@link #getKindCount()}.
+     * @return the kind.
+     */
+    public PieceType getKind(int index) {
+        return kinds[index];
+    }
+
+    /**
+     * Adds a number (positive or negative) of pieces of a kind to the hand.
+     * Kinds the hand may not hold are ignored.
+     *
+     * @param type   the kind of piece.
+     * @param amount the number of pieces to add.
+     */
+    public void add(PieceType type, int amount) {
+        if (!accepts(type) || amount == 0) {
+            return;
+        }
+        int ordinal = type.ordinal();
+        int count = counts[ordinal];
+        hash ^= Zobrist.hand(side, type, count) ^ Zobrist.hand(side, type, count + amount);
+        counts[ordinal] = count + amount;
+        heldMask = counts[ordinal] > 0 ? heldMask | bit(type) : heldMask & ~bit(type);
+        sfen = null;
+    }
+
+    /**
+     * Returns the Zobrist key of the pieces in the hand.
+     *
+     * @return the Zobrist key of the hand.
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Returns the hand in SFEN format, for example "2PN" for two pawns and a knight.
+     *
+     * @return the SFEN fragment of the hand, empty for an empty hand.
+     */
+    public String getSfen() {
+        if (sfen == null) {
+            StringBuilder builder = new StringBuilder();
+            for (PieceType type : kinds) {
+                int count = counts[type.ordinal()];
+                if (count > 1) {
+                    builder.append(count);
+                }
+                if (count > 0) {
+                    builder.append(abbreviations[type.ordinal()]);
+                }
+            }
+            sfen = builder.toString();
+        }
+        return sfen;
+    }
+
+    /**
+     * Returns the counts of every kind the hand may hold, keyed by piece class in the order of the variant.
+     * The map is a copy and does not change with the hand.
+     *
+     * @return the piece counts.
+     */
+    public Map<Class<? extends Piece>, Integer> toMap() {
+        Map<Class<? extends Piece>, Integer> map = new LinkedHashMap<>();
+        for (PieceType type : kinds) {
+            map.put(type.getPieceClass(), counts[type.ordinal()]);
+        }
+        return map;
+    }
+
+    private static int bit(PieceType type) {
+        return 1 << type.ordinal();
+    }
+}
@@ -2,23 +2,32 @@ package model.game;
 
 import com.fasterxml.jackson.annotation.JsonValue;
 import model.Move;
+import model.PackedMove;
 
 import java.util.*;
 
 /**
  * Represents a history of moves in a game, allowing tracking, retrieval,
  * iteration, and modification of the list of moves.
+ * Alongside the move records, every move is kept packed in a primitive array (see {@link PackedMove}).
  */
 public class History {
     // Stack to store the sequence of moves.
     private final Stack<Move> moves = new Stack<>();
 
+    // The same moves packed into ints, with PackedMove.NONE for moves that cannot be packed.
+    private int[] packedMoves = new int[64];
+
     /**
      * Adds a move to the history.
      *
      * @param move the Move to be added to the history
      */
     public void addMove(Move move) {
+        if (moves.size() == packedMoves.length) {
+            packedMoves = Arrays.copyOf(packedMoves, packedMoves.length * 2);
+        }
+        packedMoves[moves.size()] = pack(move);
         moves.push(move);
     }
 
@@ -98,6 +107,27 @@ public class History {
         return moves.peek();
     }
 
+    /**
+     * Returns a move of the history in packed form.
+     *
+     * @param index the index of the move
+     * @return the packed move, or {@link PackedMove#NONE} if the move could not be packed
+     * @throws IndexOutOfBoundsException if the index is outside the history
+     */
+    public int getPackedMove(int index) {
+        Objects.checkIndex(index, moves.size());
+        return packedMoves[index];
+    }
+
+    /**
+     * Returns every move of the history in packed form.
+     *
+     * @return a new array holding the packed moves in order
+     */
+    public int[] getPackedMoves() {
+        return Arrays.copyOf(packedMoves, moves.size());
+    }
+
     /**
      * Serializes the history of moves into a list of moves.
      *
@@ -111,4 +141,12 @@ public class History {
         }
         return new ArrayList<Move>(moves);
     }
-}
\ No newline at end of file
+
+    private static int pack(Move move) {
+        try {
+            return PackedMove.fromMove(move);
+        } catch (IllegalArgumentException e) {
+            return PackedMove.NONE;
+        }
+    }
+}
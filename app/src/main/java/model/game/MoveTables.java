@@ -0,0 +1,194 @@
+package model.game;
+
+import model.pieces.MovementSpec;
+import model.pieces.Piece;
+import model.pieces.PieceType;
+import model.pieces.Promotable;
+import util.Side;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precomputed movement tables for every piece kind, side and promotion state, compiled from the
+ * {@link MovementSpec} of each kind.
+ *
+ * For each square the tables hold the squares a stepping piece reaches, and for sliding pieces the
+ * directions they slide in (the slide itself is resolved against the current occupancy through
+ * {@link Board#getSlideReach(int, int)}). Like {@link SliderAttacks}, the tables only depend on the
+ * dimensions of the board and are shared by every board with the same geometry.
+ */
+public final class MoveTables {
+    private static final ConcurrentHashMap<Integer, MoveTables> CACHE = new ConcurrentHashMap<>();
+
+    private final SliderAttacks sliderAttacks;
+
+    /**
+     * Step targets indexed by {@link #index} and then by square.
+     */
+    private final int[][][] steps;
+
+    /**
+     * Slide directions indexed by {@link #index}.
+     */
+    private final int[][] slides;
+
+    /**
+     * Whether a piece has any move at all from a square on an empty board, indexed by {@link #index} and square.
+     */
+    private final boolean[][] mobile;
+
+    private MoveTables(int rows, int columns) {
+        sliderAttacks = SliderAttacks.forGeometry(rows, columns);
+        int entries = 2 * PieceType.count() * 2;
+        steps = new int[entries][][];
+        slides = new int[entries][];
+        mobile = new boolean[entries][];
+        for (Side side : Side.values()) {
+            for (int type = 0; type < PieceType.count(); type++) {
+                for (int promoted = 0; promoted < 2; promoted++) {
+                    PieceType pieceType = PieceType.fromOrdinal(type);
+                    int index = index(side, pieceType, promoted == 1);
+                    MovementSpec movement = pieceType.getMovement(promoted == 1);
+                    int[] directions = movement.getSlides();
+                    int flip = side == Side.SENTE ? 1 : -1;
+
+                    slides[index] = new int[directions.length];
+                    for (int i = 0; i < directions.length; i++) {
+                        slides[index][i] = side == Side.SENTE ? directions[i] : flipVertically(directions[i]);
+                    }
+
+                    steps[index] = new int[rows * columns][];
+                    mobile[index] = new boolean[rows * columns];
+                    for (int row = 0; row < rows; row++) {
+                        for (int col = 0; col < columns; col++) {
+                            int square = row * columns + col;
+                            int count = 0;
+                            int[] targets = new int[movement.getStepCount()];
+                            for (int i = 0; i < movement.getStepCount(); i++) {
+                                int r = row + movement.getStepRow(i) * flip;
+                                int c = col + movement.getStepColumn(i);
+                                if (r >= 0 && r < rows && c >= 0 && c < columns) {
+                                    targets[count++] = r * columns + c;
+                                }
+                            }
+                            steps[index][square] = Arrays.copyOf(targets, count);
+                            boolean canMove = count > 0;
+                            for (int direction : slides[index]) {
+                                canMove |= sliderAttacks.getRay(square, direction).length > 0;
+                            }
+                            mobile[index][square] = canMove;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the shared tables for a board geometry, building them on first use.
+     *
+     * @param rows    the number of rows of the board.
+     * @param columns the number of columns of the board.
+     * @return the movement tables for the geometry.
+     */
+    public static MoveTables forGeometry(int rows, int columns) {
+        return CACHE.computeIfAbsent(rows << 8 | columns, key -> new MoveTables(rows, columns));
+    }
+
+    /**
+     * Returns the squares a piece reaches with single steps from a square.
+     * The returned array is shared and must not be modified.
+     *
+     * @param side     the side of the piece.
+     * @param type     the kind of the piece.
+     * @param promoted whether the piece is promoted.
+     * @param square   the square of the piece.
+     * @return the step targets.
+     */
+    public int[] getSteps(Side side, PieceType type, boolean promoted, int square) {
+        return steps[index(side, type, promoted)][square];
+    }
+
+    /**
+     * Returns the directions a piece slides in.
+     * The returned array is shared and must not be modified.
+     *
+     * @param side     the side of the piece.
+     * @param type     the kind of the piece.
+     * @param promoted whether the piece is promoted.
+     * @return the slide directions, see {@link SliderAttacks}.
+     */
+    public int[] getSlides(Side side, PieceType type, boolean promoted) {
+        return slides[index(side, type, promoted)];
+    }
+
+    /**
+     * Checks whether a piece reaches a square with a single step.
+     *
+     * @param side     the side of the piece.
+     * @param type     the kind of the piece.
+     * @param promoted whether the piece is promoted.
+     * @param from     the square of the piece.
+     * @param to       the square to reach.
+     * @return {@code true} if one of the steps of the piece lands on the square.
+     */
+    public boolean stepsTo(Side side, PieceType type, boolean promoted, int from, int to) {
+        for (int target : steps[index(side, type, promoted)][from]) {
+            if (target == to) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether a piece slides in a direction.
+     *
+     * @param side      the side of the piece.
+     * @param type      the kind of the piece.
+     * @param promoted  whether the piece is promoted.
+     * @param direction the direction, see {@link SliderAttacks}.
+     * @return {@code true} if the piece slides in the direction.
+     */
+    public boolean slidesIn(Side side, PieceType type, boolean promoted, int direction) {
+        for (int slide : slides[index(side, type, promoted)]) {
+            if (slide == direction) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether a piece would have any move from a square, ignoring other pieces.
+     * Pieces may not be dropped or left unpromoted on squares where this is false.
+     *
+     * @param side     the side of the piece.
+     * @param type     the kind of the piece.
+     * @param promoted whether the piece is promoted.
+     * @param square   the square of the piece.
+     * @return {@code true} if the piece can move from the square.
+     */
+    public boolean hasMoves(Side side, PieceType type, boolean promoted, int square) {
+        return mobile[index(side, type, promoted)][square];
+    }
+
+    /**
+     * Checks whether a piece is promoted.
+     *
+     * @param piece the piece to check.
+     * @return {@code true} if the piece is a promoted promotable piece.
+     */
+    public static boolean isPromoted(Piece piece) {
+        return piece instanceof Promotable promotable && promotable.getIsPromoted();
+    }
+
+    private static int index(Side side, PieceType type, boolean promoted) {
+        return ((side.ordinal() * PieceType.count()) + type.ordinal()) * 2 + (promoted ? 1 : 0);
+    }
+
+    private static int flipVertically(int direction) {
+        return (4 - direction) & 7;
+    }
+}
@@ -1,20 +1,19 @@
 package model.game;
 
 import model.pieces.Piece;
+import model.pieces.PieceType;
 
 import java.util.List;
 import java.util.Map;
-import java.util.LinkedHashMap;
 
 import util.Side;
-import java.lang.reflect.Constructor;
 
 /**
  * Represents a player in the game, maintaining their side and captured pieces.
  */
 public class Player {
     private Side side;
-    private Map<Class<? extends Piece>, Integer> capturedPieces = new LinkedHashMap<>() {};
+    private final Hand capturedPieces;
 
     /**
      * Constructs a new Player instance with the specified side.
@@ -23,6 +22,7 @@ public class Player {
      */
     public Player(Side side) {
         this.side = side;
+        this.capturedPieces = new Hand(side);
     }
 
     /**
@@ -31,31 +31,27 @@ public class Player {
      * @return a string representing the captured pieces in SFEN format.
      */
     public String getHandAsSfen() {
-        StringBuilder sfen = new StringBuilder();
-        capturedPieces.forEach((pieceClass, count) -> {
-            try {
-                Constructor<?> constructor = pieceClass.getConstructor(Side.class);
-                Piece piece = (Piece) constructor.newInstance(side);
-                String abbr = piece.getSfenAbbreviation();
-                if (count > 1) {
-                    sfen.append(count).append(abbr);
-                } else if (count == 1) {
-                    sfen.append(abbr);
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-        });
-        return sfen.toString();
+        return capturedPieces.getSfen();
     }
 
     /**
      * Returns a map representing the captured pieces held in the player's hand.
      *
+     * The map is a copy, use {@link #getCapturedPieces()} where the hand is read often.
+     *
      * @return a map where the key is the class of the captured piece type (e.g., `Pawn.class`),
      *         and the value is the number of captured pieces of that type.
      */
     public Map<Class<? extends Piece>, Integer> getHand() {
+        return capturedPieces.toMap();
+    }
+
+    /**
+     * Returns the pieces held in the player's hand.
+     *
+     * @return the hand of the player.
+     */
+    public Hand getCapturedPieces() {
         return capturedPieces;
     }
 
@@ -66,9 +62,16 @@ public class Player {
      * @param amount     the amount of the piece to add.
      */
     public void addCapturedPiece(Class<? extends Piece> pieceClass, int amount) {
-        if (capturedPieces.get(pieceClass) != null) {
-            capturedPieces.put(pieceClass, capturedPieces.get(pieceClass) + amount);
-        }
+        capturedPieces.add(PieceType.of(pieceClass), amount);
+    }
+
+    /**
+     * Returns the Zobrist key of the pieces in the player's hand.
+     *
+     * @return the Zobrist key of the hand.
+     */
+    public long getHandHash() {
+        return capturedPieces.getHash();
     }
 
     /**
@@ -95,8 +98,6 @@ public class Player {
      * @param hand a list of piece classes to initialize in the player's hand.
      */
     public void intializeHand(List<Class<? extends Piece>> hand) {
-        for (Class<? extends Piece> pieceClass : hand) {
-            capturedPieces.put(pieceClass, 0);
-        }
+        capturedPieces.initialize(hand);
     }
 }
\ No newline at end of file
@@ -0,0 +1,353 @@
+package model.game;
+
+import model.PackedMove;
+import model.Sfen;
+import model.pieces.Piece;
+import model.pieces.PieceFactory;
+import model.pieces.PieceType;
+import model.variants.Variant;
+import util.Side;
+
+import java.util.Arrays;
+
+/**
+ * An immutable snapshot of a game position: the pieces on the board, both hands, the side to move and the move number.
+ *
+ * Unlike {@link Board}, which is changed in place by moves and by {@link Board#testMove}, a position never changes
+ * once it is created, so it can be handed to background threads such as hint or analysis workers without any locking
+ * while the game goes on. Such a worker either follows moves with {@link #apply(int)} or creates a board of its own
+ * with {@link #toBoard()} to search on.
+ *
+ * Applying a move is cheap because positions share their arrays copy-on-write: the board is held as one array per
+ * row, and the new position copies only the outer array and the one or two rows the move changes, plus the hand
+ * counts if they change. Pieces are the shared flyweights of {@link PieceFactory}, which are immutable themselves.
+ * The Zobrist key is updated with the move and equals {@link Game#getPositionHash()} for the same position.
+ */
+public final class Position {
+    private final Variant variant;
+
+    /**
+     * The pieces on the board, one array per row. Rows are shared between positions and never written to.
+     */
+    private final Piece[][] ranks;
+
+    /**
+     * The number of pieces of every kind in hand, indexed by {@code side * PieceType.count() + kind}.
+     */
+    private final int[] hands;
+
+    /**
+     * The kinds of pieces the hands of the variant may hold, with bit {@code ordinal} set for each kind.
+     */
+    private final int handKinds;
+
+    private final Side turn;
+    private final int moveCount;
+    private final long key;
+
+    private Position(Variant variant, Piece[][] ranks, int[] hands, int handKinds, Side turn, int moveCount, long key) {
+        this.variant = variant;
+        this.ranks = ranks;
+        this.hands = hands;
+        this.handKinds = handKinds;
+        this.turn = turn;
+        this.moveCount = moveCount;
+        this.key = key;
+    }
+
+    /**
+     * Takes a snapshot of the current position of a game. Must be called by the thread playing the game.
+     *
+     * @param game the game.
+     * @return the position of the game.
+     */
+    public static Position of(Game game) {
+        return of(game.getVariant(), game.getBoard(), game.getPlayer(Side.SENTE), game.getPlayer(Side.GOTE),
+                game.getTurn(), game.getMoveCount());
+    }
+
+    /**
+     * Creates the position described by a SFEN string.
+     *
+     * @param variant the variant of the position.
+     * @param sfen    the position, including hands and the side to move.
+     * @return the position.
+     * @throws IllegalArgumentException if the position contains pieces that are not supported.
+     */
+    public static Position of(Variant variant, Sfen sfen) {
+        Board board = variant.createBoard();
+        board.initializeBoard(sfen);
+        Player[] players = new Player[2];
+        for (Side side : Side.values()) {
+            players[side.ordinal()] = new Player(side);
+            players[side.ordinal()].intializeHand(variant.getHand());
+        }
+        sfen.forEachCapturedPiece((abbr, amount) -> {
+            Piece piece = PieceFactory.fromSfenAbbreviation(String.valueOf(abbr));
+            players[piece.getSide().ordinal()].addCapturedPiece(piece.getClass(), amount);
+        });
+        Side turn = sfen.getTurn() == 'b' ? Side.SENTE : Side.GOTE;
+        return of(variant, board, players[0], players[1], turn, sfen.getMoveCount());
+    }
+
+    private static Position of(Variant variant, Board board, Player sente, Player gote, Side turn, int moveCount) {
+        int rows = variant.getHeight();
+        int columns = variant.getWidth();
+        Piece[][] ranks = new Piece[rows][columns];
+        for (int square = 0; square < rows * columns; square++) {
+            ranks[square / columns][square % columns] = shared(board.getPieceAt(square));
+        }
+
+        int kinds = PieceType.count();
+        int[] hands = new int[2 * kinds];
+        int handKinds = 0;
+        long key = board.getHash() ^ (turn == Side.GOTE ? Zobrist.sideToMove() : 0);
+        Player[] players = {sente, gote};
+        for (Side side : Side.values()) {
+            Hand hand = players[side.ordinal()].getCapturedPieces();
+            for (int i = 0; i < hand.getKindCount(); i++) {
+                PieceType type = hand.getKind(i);
+                hands[side.ordinal() * kinds + type.ordinal()] = hand.getCount(type);
+                handKinds |= 1 << type.ordinal();
+            }
+            key ^= hand.getHash();
+        }
+        return new Position(variant, ranks, hands, handKinds, turn, moveCount, key);
+    }
+
+    /**
+     * Returns the position after a packed move, see {@link PackedMove}, leaving this position unchanged.
+     * Like {@link Board#makeMove(int)}, captured pieces go to the hand of the moving side and dropped pieces are
+     * taken from it, and the move is not checked for legality.
+     *
+     * @param move the packed move to make.
+     * @return the position after the move.
+     * @throws IllegalArgumentException if the move does not start on a piece.
+     */
+    public Position apply(int move) {
+        Side side = PackedMove.side(move);
+        int toRow = PackedMove.row(PackedMove.to(move));
+        int toCol = PackedMove.col(PackedMove.to(move));
+        Piece[][] nextRanks = ranks.clone();
+        int[] nextHands = hands;
+        long nextKey = key ^ Zobrist.sideToMove();
+
+        if (PackedMove.isDrop(move)) {
+            PieceType type = PackedMove.pieceType(move);
+            Piece piece = PieceFactory.get(type, side, false);
+            if ((handKinds & 1 << type.ordinal()) != 0) {
+                nextHands = hands.clone();
+                nextKey ^= addToHand(nextHands, side, type, -1);
+            }
+            nextKey ^= place(nextRanks, toRow, toCol, piece);
+        } else {
+            int fromRow = PackedMove.row(PackedMove.from(move));
+            int fromCol = PackedMove.col(PackedMove.from(move));
+            Piece moved = ranks[fromRow][fromCol];
+            if (moved == null) {
+                throw new IllegalArgumentException("No piece to move: " + PackedMove.toString(move));
+            }
+            Piece captured = ranks[toRow][toCol];
+            if (captured != null && captured.getType() != null && (handKinds & 1 << captured.getType().ordinal()) != 0) {
+                nextHands = hands.clone();
+                nextKey ^= addToHand(nextHands, side, captured.getType(), 1);
+            }
+            nextKey ^= place(nextRanks, fromRow, fromCol, null);
+            nextKey ^= place(nextRanks, toRow, toCol, PackedMove.isPromotion(move) ? PieceFactory.promoted(moved) : moved);
+        }
+        return new Position(variant, nextRanks, nextHands, handKinds, turn.opposite(), moveCount + 1, nextKey);
+    }
+
+    /**
+     * Creates a board with this position set up, with players holding the hands set with
+     * {@link Board#setPlayers(Player, Player)}. The board belongs to the caller, who may change it freely.
+     *
+     * @return a new board in this position.
+     */
+    public Board toBoard() {
+        Board board = variant.createBoard();
+        for (int row = 0; row < ranks.length; row++) {
+            for (int col = 0; col < ranks[row].length; col++) {
+                if (ranks[row][col] != null) {
+                    board.setAtPosition(board.toPos(row * getColumns() + col), ranks[row][col]);
+                }
+            }
+        }
+        board.setPlayers(createPlayer(Side.SENTE), createPlayer(Side.GOTE));
+        return board;
+    }
+
+    /**
+     * Returns the variant the position belongs to.
+     *
+     * @return the variant.
+     */
+    public Variant getVariant() {
+        return variant;
+    }
+
+    /**
+     * Returns the number of rows of the board.
+     *
+     * @return the number of rows.
+     */
+    public int getRows() {
+        return ranks.length;
+    }
+
+    /**
+     * Returns the number of columns of the board.
+     *
+     * @return the number of columns.
+     */
+    public int getColumns() {
+        return ranks[0].length;
+    }
+
+    /**
+     * Returns the piece on a square.
+     *
+     * @param row the row of the square.
+     * @param col the column of the square.
+     * @return the piece, or null if the square is empty.
+     */
+    public Piece getPieceAt(int row, int col) {
+        return ranks[row][col];
+    }
+
+    /**
+     * Returns the number of pieces of a kind in the hand of a side.
+     *
+     * @param side the side owning the hand.
+     * @param type the kind of piece.
+     * @return the number of pieces held.
+     */
+    public int getHandCount(Side side, PieceType type) {
+        return hands[side.ordinal() * PieceType.count() + type.ordinal()];
+    }
+
+    /**
+     * Returns the side to move.
+     *
+     * @return the side to move.
+     */
+    public Side getTurn() {
+        return turn;
+    }
+
+    /**
+     * Returns the number of the move to be played, counted like {@link Game#getMoveCount()}.
+     *
+     * @return the move number.
+     */
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * Returns the Zobrist key of the position, covering the board, both hands and the side to move.
+     *
+     * @return the Zobrist key.
+     */
+    public long getKey() {
+        return key;
+    }
+
+    /**
+     * Returns the position in SFEN format.
+     *
+     * @return the SFEN of the position.
+     */
+    public Sfen toSfen() {
+        StringBuilder board = new StringBuilder();
+        for (Piece[] rank : ranks) {
+            int empty = 0;
+            for (Piece piece : rank) {
+                if (piece == null) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) {
+                    board.append(empty);
+                    empty = 0;
+                }
+                board.append(piece.getSfenAbbreviation());
+            }
+            if (empty > 0) {
+                board.append(empty);
+            }
+            board.append('/');
+        }
+        board.setLength(board.length() - 1);
+        String hands = createPlayer(Side.SENTE).getHandAsSfen() + createPlayer(Side.GOTE).getHandAsSfen();
+        return new Sfen(board.toString(), turn == Side.SENTE ? 'b' : 'w', hands.isEmpty() ? "-" : hands, moveCount);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Position other)) {
+            return false;
+        }
+        return key == other.key && turn == other.turn && Arrays.equals(hands, other.hands)
+                && Arrays.deepEquals(ranks, other.ranks);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(key);
+    }
+
+    @Override
+    public String toString() {
+        return toSfen().toString();
+    }
+
+    /**
+     * Copies a row of the new board before it is written to and places a piece on it.
+     *
+     * @return the change of the Zobrist key.
+     */
+    private long place(Piece[][] nextRanks, int row, int col, Piece piece) {
+        if (nextRanks[row] == ranks[row]) {
+            nextRanks[row] = ranks[row].clone();
+        }
+        int square = row * getColumns() + col;
+        long change = Zobrist.piece(nextRanks[row][col], square) ^ Zobrist.piece(piece, square);
+        nextRanks[row][col] = piece;
+        return change;
+    }
+
+    /**
+     * Changes a hand count of a copied hand array.
+     *
+     * @return the change of the Zobrist key.
+     */
+    private static long addToHand(int[] hands, Side side, PieceType type, int amount) {
+        int index = side.ordinal() * PieceType.count() + type.ordinal();
+        int count = hands[index];
+        hands[index] = count + amount;
+        return Zobrist.hand(side, type, count) ^ Zobrist.hand(side, type, count + amount);
+    }
+
+    private Player createPlayer(Side side) {
+        Player player = new Player(side);
+        player.intializeHand(variant.getHand());
+        for (int type = 0; type < PieceType.count(); type++) {
+            player.getCapturedPieces().add(PieceType.fromOrdinal(type), hands[side.ordinal() * PieceType.count() + type]);
+        }
+        return player;
+    }
+
+    /**
+     * Replaces a piece by the shared flyweight of its kind, so that the snapshot holds only immutable pieces.
+     */
+    private static Piece shared(Piece piece) {
+        if (piece == null || piece.getType() == null) {
+            return piece;
+        }
+        return PieceFactory.get(piece.getType(), piece.getSide(), MoveTables.isPromoted(piece));
+    }
+}
@@ -0,0 +1,250 @@
+package model.game;
+
+import util.Side;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Tracks the positions of a game to detect sennichite, the same position occurring four times.
+ *
+ * Every position is recorded by its Zobrist key (see {@link Game#getPositionHash()}) in a primitive array
+ * that grows and shrinks with the game, together with the side to move and whether that side is in check.
+ * The number of occurrences of each key is kept in an open addressing table, so recording a position and
+ * taking it back are constant time operations. Only once a position occurs for the fourth time is the
+ * cycle scanned, to find out whether one side gave check with every move of it: such a perpetual check
+ * loses for the checking side, while any other repetition is a draw.
+ */
+public class RepetitionTracker {
+    /**
+     * The number of occurrences after which a repetition ends the game.
+     */
+    public static final int SENNICHITE_COUNT = 4;
+
+    private static final int GOTE_TO_MOVE = 1;
+    private static final int IN_CHECK = 2;
+
+    /**
+     * The keys of the recorded positions in order.
+     */
+    private long[] keys = new long[64];
+
+    /**
+     * Per recorded position, {@link #GOTE_TO_MOVE} and {@link #IN_CHECK} flags.
+     */
+    private byte[] flags = new byte[64];
+    private int size;
+
+    /**
+     * Open addressing table of the distinct keys and how often each occurs, with a count of 0 for keys that
+     * were taken back. Slots holding a key are marked in {@link #tableFilled}, as any key, 0 included, is valid.
+     * The length is a power of two.
+     */
+    private long[] tableKeys = new long[128];
+    private int[] tableCounts = new int[128];
+    private boolean[] tableFilled = new boolean[128];
+    private int tableUsed;
+
+    /**
+     * Records the position after a move.
+     *
+     * @param key     the Zobrist key of the position.
+     * @param toMove  the side to move in the position.
+     * @param inCheck whether the side to move is in check.
+     */
+    public void push(long key, Side toMove, boolean inCheck) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            flags = Arrays.copyOf(flags, size * 2);
+        }
+        keys[size] = key;
+        flags[size] = (byte) ((toMove == Side.GOTE ? GOTE_TO_MOVE : 0) | (inCheck ? IN_CHECK : 0));
+        size++;
+        int index = slot(key); // May grow the table
+        tableCounts[index]++;
+    }
+
+    /**
+     * Takes back the last recorded position.
+     *
+     * @throws IllegalStateException if no position is recorded.
+     */
+    public void pop() {
+        if (size == 0) {
+            throw new IllegalStateException("No position to take back");
+        }
+        int index = slot(keys[--size]);
+        tableCounts[index]--;
+    }
+
+    /**
+     * Replaces the last recorded position, for a move that is changed after it was made such as a promotion.
+     *
+     * @param key     the Zobrist key of the position.
+     * @param toMove  the side to move in the position.
+     * @param inCheck whether the side to move is in check.
+     * @throws IllegalStateException if no position is recorded.
+     */
+    public void replaceLast(long key, Side toMove, boolean inCheck) {
+        pop();
+        push(key, toMove, inCheck);
+    }
+
+    /**
+     * Forgets every recorded position.
+     */
+    public void clear() {
+        size = 0;
+        Arrays.fill(tableKeys, 0);
+        Arrays.fill(tableCounts, 0);
+        Arrays.fill(tableFilled, false);
+        tableUsed = 0;
+    }
+
+    /**
+     * Returns an independent copy of the recorded positions, for example for a search on another thread.
+     *
+     * @return the copy.
+     */
+    public RepetitionTracker copy() {
+        RepetitionTracker copy = new RepetitionTracker();
+        copy.keys = Arrays.copyOf(keys, keys.length);
+        copy.flags = Arrays.copyOf(flags, flags.length);
+        copy.size = size;
+        copy.tableKeys = tableKeys.clone();
+        copy.tableCounts = tableCounts.clone();
+        copy.tableFilled = tableFilled.clone();
+        copy.tableUsed = tableUsed;
+        return copy;
+    }
+
+    /**
+     * Returns the number of recorded positions.
+     *
+     * @return the number of positions.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the key of a recorded position.
+     *
+     * @param index the index of the position, 0 for the first recorded one.
+     * @return the Zobrist key of the position.
+     * @throws IndexOutOfBoundsException if no position is recorded at the index.
+     */
+    public long getKey(int index) {
+        return keys[Objects.checkIndex(index, size)];
+    }
+
+    /**
+     * Returns whether the side to move was in check in a recorded position.
+     *
+     * @param index the index of the position, 0 for the first recorded one.
+     * @return {@code true} if the side to move was in check.
+     * @throws IndexOutOfBoundsException if no position is recorded at the index.
+     */
+    public boolean isInCheck(int index) {
+        return (flags[Objects.checkIndex(index, size)] & IN_CHECK) != 0;
+    }
+
+    /**
+     * Returns how often a position has occurred.
+     *
+     * @param key the Zobrist key of the position.
+     * @return the number of occurrences.
+     */
+    public int getCount(long key) {
+        int mask = tableKeys.length - 1;
+        for (int index = index(key); tableFilled[index]; index = (index + 1) & mask) {
+            if (tableKeys[index] == key) {
+                return tableCounts[index];
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Checks whether the last recorded position has occurred four times.
+     *
+     * @return {@code true} if the game ends by repetition.
+     */
+    public boolean isSennichite() {
+        return size > 0 && getCount(keys[size - 1]) >= SENNICHITE_COUNT;
+    }
+
+    /**
+     * Returns the side that gave check with every one of its moves since the first occurrence of the
+     * repeated position, which loses the game instead of it being a draw.
+     *
+     * @return the side giving perpetual check, or null if the game is not over by repetition or it is a draw.
+     */
+    public Side getPerpetualChecker() {
+        if (!isSennichite()) {
+            return null;
+        }
+        long key = keys[size - 1];
+        int first = size - 1;
+        for (int i = size - 2; i >= 0; i--) {
+            if (keys[i] == key) {
+                first = i;
+            }
+        }
+        // A side gives check with every move if the opponent is in check in every position it moves in
+        boolean senteChecks = true;
+        boolean goteChecks = true;
+        for (int i = first + 1; i < size; i++) {
+            boolean inCheck = (flags[i] & IN_CHECK) != 0;
+            if ((flags[i] & GOTE_TO_MOVE) != 0) {
+                senteChecks &= inCheck;
+            } else {
+                goteChecks &= inCheck;
+            }
+        }
+        if (senteChecks == goteChecks) {
+            return null;
+        }
+        return senteChecks ? Side.SENTE : Side.GOTE;
+    }
+
+    /**
+     * Returns the index of a key in the table, inserting it if it is not there yet.
+     */
+    private int slot(long key) {
+        int mask = tableKeys.length - 1;
+        int index = index(key);
+        while (tableFilled[index]) {
+            if (tableKeys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        if (++tableUsed * 2 > tableKeys.length) {
+            grow();
+            return slot(key);
+        }
+        tableKeys[index] = key;
+        tableFilled[index] = true;
+        return index;
+    }
+
+    private int index(long key) {
+        return (int) (key ^ key >>> 32) & (tableKeys.length - 1);
+    }
+
+    private void grow() {
+        long[] oldKeys = tableKeys;
+        int[] oldCounts = tableCounts;
+        tableKeys = new long[oldKeys.length * 2];
+        tableCounts = new int[oldKeys.length * 2];
+        tableFilled = new boolean[oldKeys.length * 2];
+        tableUsed = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldCounts[i] > 0) {
+                int index = slot(oldKeys[i]);
+                tableCounts[index] = oldCounts[i];
+            }
+        }
+    }
+}
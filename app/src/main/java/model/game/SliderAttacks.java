@@ -0,0 +1,281 @@
+package model.game;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precomputed ray tables used to answer which squares a sliding piece reaches on a board.
+ *
+ * Every rank, file and diagonal of the board is given a line index, and the board keeps one
+ * occupancy word per line in which bit {@code i} marks the i:th square along the line. Given that
+ * word, the distance to the first blocker in any direction is a single bit scan, and the squares
+ * themselves are read from the precomputed ray of the starting square. The tables only depend on
+ * the dimensions of the board and are shared by every board with the same geometry.
+ */
+public final class SliderAttacks {
+    /** Towards row 0. */
+    public static final int NORTH = 0;
+    /** Towards row 0 and the last column. */
+    public static final int NORTH_EAST = 1;
+    /** Towards the last column. */
+    public static final int EAST = 2;
+    /** Towards the last row and the last column. */
+    public static final int SOUTH_EAST = 3;
+    /** Towards the last row. */
+    public static final int SOUTH = 4;
+    /** Towards the last row and column 0. */
+    public static final int SOUTH_WEST = 5;
+    /** Towards column 0. */
+    public static final int WEST = 6;
+    /** Towards row 0 and column 0. */
+    public static final int NORTH_WEST = 7;
+
+    /**
+     * The number of directions.
+     */
+    public static final int DIRECTIONS = 8;
+
+    /**
+     * The longest line supported, limited by the width of an occupancy word.
+     */
+    public static final int MAX_LINE_LENGTH = 31;
+
+    private static final int[] ROW_DELTA = {-1, -1, 0, 1, 1, 1, 0, -1};
+    private static final int[] COL_DELTA = {0, 1, 1, 1, 0, -1, -1, -1};
+
+    private static final ConcurrentHashMap<Integer, SliderAttacks> CACHE = new ConcurrentHashMap<>();
+
+    private final int rows;
+    private final int columns;
+
+    /**
+     * The squares along each ray, ordered from the nearest square outwards, indexed by {@code square * 8 + direction}.
+     */
+    private final int[][] rays;
+
+    /**
+     * The occupancy line each ray lies on, indexed by {@code square * 8 + direction}.
+     */
+    private final int[] rayLine;
+
+    /**
+     * The bit of the starting square within its occupancy line, indexed by {@code square * 8 + direction}.
+     */
+    private final int[] rayBit;
+
+    /**
+     * The lines each square belongs to, indexed by {@code square * 4 + kind} with kinds rank, file, diagonal, anti-diagonal.
+     */
+    private final int[] squareLines;
+
+    /**
+     * The bit of each square within each of its lines, indexed like {@link #squareLines}.
+     */
+    private final int[] squareBits;
+
+    private final int lineCount;
+
+    private SliderAttacks(int rows, int columns) {
+        this.rows = rows;
+        this.columns = columns;
+        int squares = rows * columns;
+        int diagonals = rows + columns - 1;
+        int fileBase = rows;
+        int diagonalBase = fileBase + columns;
+        int antiDiagonalBase = diagonalBase + diagonals;
+        lineCount = antiDiagonalBase + diagonals;
+
+        squareLines = new int[squares * 4];
+        squareBits = new int[squares * 4];
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < columns; col++) {
+                int base = (row * columns + col) * 4;
+                squareLines[base] = row;
+                squareBits[base] = col;
+                squareLines[base + 1] = fileBase + col;
+                squareBits[base + 1] = row;
+                squareLines[base + 2] = diagonalBase + row - col + columns - 1;
+                squareBits[base + 2] = col;
+                squareLines[base + 3] = antiDiagonalBase + row + col;
+                squareBits[base + 3] = col;
+            }
+        }
+
+        rays = new int[squares * DIRECTIONS][];
+        rayLine = new int[squares * DIRECTIONS];
+        rayBit = new int[squares * DIRECTIONS];
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < columns; col++) {
+                int square = row * columns + col;
+                for (int direction = 0; direction < DIRECTIONS; direction++) {
+                    int length = 0;
+                    int r = row + ROW_DELTA[direction];
+                    int c = col + COL_DELTA[direction];
+                    while (r >= 0 && r < rows && c >= 0 && c < columns) {
+                        length++;
+                        r += ROW_DELTA[direction];
+                        c += COL_DELTA[direction];
+                    }
+                    int[] ray = new int[length];
+                    for (int i = 0; i < length; i++) {
+                        ray[i] = (row + ROW_DELTA[direction] * (i + 1)) * columns + col + COL_DELTA[direction] * (i + 1);
+                    }
+                    int index = square * DIRECTIONS + direction;
+                    int kind = lineKind(direction);
+                    rays[index] = ray;
+                    rayLine[index] = squareLines[square * 4 + kind];
+                    rayBit[index] = squareBits[square * 4 + kind];
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the shared tables for a board geometry, building them on first use.
+     *
+     * @param rows    the number of rows of the board.
+     * @param columns the number of columns of the board.
+     * @return the slider tables for the geometry.
+     * @throws IllegalArgumentException if a side of the board is longer than {@link #MAX_LINE_LENGTH}.
+     */
+    public static SliderAttacks forGeometry(int rows, int columns) {
+        if (rows > MAX_LINE_LENGTH || columns > MAX_LINE_LENGTH) {
+            throw new IllegalArgumentException("Board too large for slider tables: " + rows + "x" + columns);
+        }
+        return CACHE.computeIfAbsent(rows << 8 | columns, key -> new SliderAttacks(rows, columns));
+    }
+
+    /**
+     * Returns the number of occupancy lines a board of this geometry has to keep.
+     *
+     * @return the number of lines.
+     */
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Toggles the occupancy of a square in every line it belongs to.
+     * Must be called exactly when a square goes from empty to occupied or the other way around.
+     *
+     * @param lineOccupancy the occupancy words of the board.
+     * @param square        the square whose occupancy changed.
+     */
+    public void toggle(int[] lineOccupancy, int square) {
+        int base = square * 4;
+        for (int kind = 0; kind < 4; kind++) {
+            lineOccupancy[squareLines[base + kind]] ^= 1 << squareBits[base + kind];
+        }
+    }
+
+    /**
+     * Returns the squares along a ray, from the nearest square to the edge of the board.
+     * The returned array is shared and must not be modified.
+     *
+     * @param square    the starting square.
+     * @param direction the direction of the ray.
+     * @return the squares of the ray.
+     */
+    public int[] getRay(int square, int direction) {
+        return rays[square * DIRECTIONS + direction];
+    }
+
+    /**
+     * Returns how many squares of a ray a sliding piece reaches, including the first occupied square.
+     *
+     * @param lineOccupancy the occupancy words of the board.
+     * @param square        the starting square.
+     * @param direction     the direction of the ray.
+     * @return the number of reachable squares of the ray, counting the first blocker.
+     */
+    public int reach(int[] lineOccupancy, int square, int direction) {
+        int index = square * DIRECTIONS + direction;
+        int occupancy = lineOccupancy[rayLine[index]];
+        int bit = rayBit[index];
+        if (isIncreasing(direction)) {
+            occupancy >>>= bit + 1;
+            return occupancy == 0 ? rays[index].length : Integer.numberOfTrailingZeros(occupancy) + 1;
+        }
+        occupancy &= (1 << bit) - 1;
+        return occupancy == 0 ? rays[index].length : bit - (31 - Integer.numberOfLeadingZeros(occupancy));
+    }
+
+    /**
+     * Returns the first occupied square along a ray.
+     *
+     * @param lineOccupancy the occupancy words of the board.
+     * @param square        the starting square.
+     * @param direction     the direction of the ray.
+     * @return the first occupied square, or -1 if the ray reaches the edge unobstructed.
+     */
+    public int firstBlocker(int[] lineOccupancy, int square, int direction) {
+        int[] ray = rays[square * DIRECTIONS + direction];
+        int reach = reach(lineOccupancy, square, direction);
+        if (reach == 0) {
+            return -1;
+        }
+        int last = ray[reach - 1];
+        int base = last * 4 + lineKind(direction);
+        return (lineOccupancy[squareLines[base]] & (1 << squareBits[base])) != 0 ? last : -1;
+    }
+
+    /**
+     * Returns the direction opposite to the given one.
+     *
+     * @param direction the direction.
+     * @return the opposite direction.
+     */
+    public static int opposite(int direction) {
+        return (direction + 4) & 7;
+    }
+
+    /**
+     * Returns the row step of a direction.
+     *
+     * @param direction the direction.
+     * @return -1, 0 or 1.
+     */
+    public static int rowDelta(int direction) {
+        return ROW_DELTA[direction];
+    }
+
+    /**
+     * Returns the column step of a direction.
+     *
+     * @param direction the direction.
+     * @return -1, 0 or 1.
+     */
+    public static int colDelta(int direction) {
+        return COL_DELTA[direction];
+    }
+
+    /**
+     * Returns the number of rows of the geometry.
+     *
+     * @return the number of rows.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Returns the number of columns of the geometry.
+     *
+     * @return the number of columns.
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    private static int lineKind(int direction) {
+        return switch (direction) {
+            case EAST, WEST -> 0;
+            case NORTH, SOUTH -> 1;
+            case SOUTH_EAST, NORTH_WEST -> 2;
+            default -> 3;
+        };
+    }
+
+    private static boolean isIncreasing(int direction) {
+        return direction == SOUTH || direction == EAST || direction == SOUTH_EAST || direction == NORTH_EAST;
+    }
+}
@@ -0,0 +1,107 @@
+package model.game;
+
+import model.pieces.Piece;
+import model.pieces.PieceType;
+import model.pieces.Promotable;
+import util.Side;
+
+import java.util.SplittableRandom;
+
+/**
+ * Random keys for Zobrist hashing of game positions.
+ *
+ * A position key is the XOR of one key per occupied square (depending on the kind, side and promotion
+ * of the piece), one key per piece kind and count in each hand, and the side-to-move key when gote is
+ * to move. Since XOR is its own inverse, every change to a position can be applied to its key in
+ * constant time. The keys are generated from a fixed seed so that keys are stable between runs.
+ */
+public final class Zobrist {
+    /**
+     * The largest number of squares a board may have to be hashed.
+     */
+    public static final int MAX_SQUARES = 31 * 31;
+
+    /**
+     * The number of distinct hand counts per piece kind; larger counts wrap around.
+     */
+    public static final int MAX_HAND_COUNT = 64;
+
+    /**
+     * Piece kinds including a slot for pieces that are not one of the known kinds.
+     */
+    private static final int KINDS = PieceType.count() + 1;
+
+    private static final long[] PIECE_KEYS = new long[2 * KINDS * 2 * MAX_SQUARES];
+    private static final long[] HAND_KEYS = new long[2 * KINDS * MAX_HAND_COUNT];
+    private static final long SIDE_TO_MOVE;
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5F0C_1A2B_3C4D_5E6FL);
+        for (int i = 0; i < PIECE_KEYS.length; i++) {
+            PIECE_KEYS[i] = random.nextLong();
+        }
+        for (int i = 0; i < HAND_KEYS.length; i++) {
+            // An empty hand slot contributes nothing, so freshly initialized hands hash to zero
+            HAND_KEYS[i] = i % MAX_HAND_COUNT == 0 ? 0 : random.nextLong();
+        }
+        SIDE_TO_MOVE = random.nextLong();
+    }
+
+    private Zobrist() {
+    }
+
+    /**
+     * Returns the key of a piece standing on a square.
+     *
+     * @param piece  the piece, or null for an empty square.
+     * @param square the square index of the piece.
+     * @return the key of the piece on the square, or 0 for an empty square.
+     */
+    public static long piece(Piece piece, int square) {
+        if (piece == null) {
+            return 0;
+        }
+        boolean promoted = piece instanceof Promotable promotable && promotable.getIsPromoted();
+        return piece(piece.getSide(), piece.getType(), promoted, square);
+    }
+
+    /**
+     * Returns the key of a piece standing on a square.
+     *
+     * @param side     the side of the piece.
+     * @param type     the kind of the piece, or null for an unknown kind.
+     * @param promoted whether the piece is promoted.
+     * @param square   the square index of the piece.
+     * @return the key of the piece on the square.
+     */
+    public static long piece(Side side, PieceType type, boolean promoted, int square) {
+        int kind = kindIndex(type);
+        return PIECE_KEYS[((side.ordinal() * KINDS + kind) * 2 + (promoted ? 1 : 0)) * MAX_SQUARES + square];
+    }
+
+    /**
+     * Returns the key of a hand holding a number of pieces of one kind.
+     *
+     * @param side  the side owning the hand.
+     * @param type  the kind of the pieces, or null for an unknown kind.
+     * @param count the number of pieces held.
+     * @return the key of the hand slot, 0 when the count is zero.
+     */
+    public static long hand(Side side, PieceType type, int count) {
+        int kind = kindIndex(type);
+        return HAND_KEYS[(side.ordinal() * KINDS + kind) * MAX_HAND_COUNT + Math.floorMod(count, MAX_HAND_COUNT)];
+    }
+
+    /**
+     * Returns the key that is included when gote is to move.
+     *
+     * @return the side-to-move key.
+     */
+    public static long sideToMove() {
+        return SIDE_TO_MOVE;
+    }
+
+    private static int kindIndex(PieceType type) {
+        return type == null ? KINDS - 1 : type.ordinal();
+    }
+}
@@ -0,0 +1,90 @@
+package model.pieces;
+
+import model.game.SliderAttacks;
+
+/**
+ * Declarative description of how a kind of piece moves: the single steps it takes and the directions it
+ * slides in. Specs are written from the point of view of sente, with a row offset of -1 meaning one square
+ * forward, and are compiled into per-square tables for every board geometry by {@link model.game.MoveTables},
+ * which mirrors them for gote.
+ */
+public final class MovementSpec {
+    private static final int[][] DIAGONAL = {{-1, -1}, {-1, 1}, {1, -1}, {1, 1}};
+    private static final int[][] ORTHOGONAL = {{-1, 0}, {0, -1}, {0, 1}, {1, 0}};
+
+    private static final int[] ROOK_SLIDES = {SliderAttacks.NORTH, SliderAttacks.EAST, SliderAttacks.WEST, SliderAttacks.SOUTH};
+    private static final int[] BISHOP_SLIDES = {SliderAttacks.NORTH_WEST, SliderAttacks.NORTH_EAST, SliderAttacks.SOUTH_WEST, SliderAttacks.SOUTH_EAST};
+
+    /**
+     * A piece without any move.
+     */
+    public static final MovementSpec NONE = steps();
+    public static final MovementSpec KING = steps(DIAGONAL[0], ORTHOGONAL[0], DIAGONAL[1], ORTHOGONAL[1], ORTHOGONAL[2], DIAGONAL[2], ORTHOGONAL[3], DIAGONAL[3]);
+    public static final MovementSpec GOLD = steps(DIAGONAL[0], ORTHOGONAL[0], DIAGONAL[1], ORTHOGONAL[1], ORTHOGONAL[2], ORTHOGONAL[3]);
+    public static final MovementSpec SILVER = steps(DIAGONAL[0], ORTHOGONAL[0], DIAGONAL[1], DIAGONAL[2], DIAGONAL[3]);
+    public static final MovementSpec COPPER = steps(DIAGONAL[0], ORTHOGONAL[0], DIAGONAL[1], ORTHOGONAL[3]);
+    public static final MovementSpec KNIGHT = steps(new int[]{-2, -1}, new int[]{-2, 1});
+    public static final MovementSpec PAWN = steps(ORTHOGONAL[0]);
+    public static final MovementSpec LANCE = new MovementSpec(new int[0][], new int[]{SliderAttacks.NORTH});
+    public static final MovementSpec ROOK = new MovementSpec(new int[0][], ROOK_SLIDES);
+    public static final MovementSpec BISHOP = new MovementSpec(new int[0][], BISHOP_SLIDES);
+    public static final MovementSpec DRAGON = new MovementSpec(DIAGONAL, ROOK_SLIDES);
+    public static final MovementSpec HORSE = new MovementSpec(ORTHOGONAL, BISHOP_SLIDES);
+
+    /**
+     * Row and column offsets of the single steps.
+     */
+    private final int[][] steps;
+
+    /**
+     * Slide directions, see {@link SliderAttacks}.
+     */
+    private final int[] slides;
+
+    private MovementSpec(int[][] steps, int[] slides) {
+        this.steps = steps;
+        this.slides = slides;
+    }
+
+    private static MovementSpec steps(int[]... steps) {
+        return new MovementSpec(steps, new int[0]);
+    }
+
+    /**
+     * Returns the number of single steps.
+     *
+     * @return the number of steps.
+     */
+    public int getStepCount() {
+        return steps.length;
+    }
+
+    /**
+     * Returns the row offset of a step, negative for forward.
+     *
+     * @param index the index of the step.
+     * @return the row offset.
+     */
+    public int getStepRow(int index) {
+        return steps[index][0];
+    }
+
+    /**
+     * Returns the column offset of a step.
+     *
+     * @param index the index of the step.
+     * @return the column offset.
+     */
+    public int getStepColumn(int index) {
+        return steps[index][1];
+    }
+
+    /**
+     * Returns the slide directions. The returned array is shared and must not be modified.
+     *
+     * @return the slide directions, see {@link SliderAttacks}.
+     */
+    public int[] getSlides() {
+        return slides;
+    }
+}
@@ -3,6 +3,8 @@ package model.pieces;
 import com.fasterxml.jackson.annotation.JsonValue;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import model.game.Board;
+import model.game.MoveTables;
+import model.game.SliderAttacks;
 import util.Side;
 import util.Pos;
 
@@ -10,14 +12,15 @@ import java.util.ArrayList;
 
 /**
  * Abstract class representing a piece.
- * This class serves as a base for all specific piece types.
+ * This class serves as a base for all specific piece types, which describe how they move
+ * through the {@link MovementSpec} of their {@link PieceType}.
  */
 @JsonDeserialize(using = PieceDeserializer.class)
 public abstract class Piece {
     /**
      * The side of the piece (Sente or Gote)
      */
-    protected Side side;
+    protected final Side side;
 
     /**
      * Constructs a Piece for a given side (SENTE or GOTE).
@@ -37,6 +40,15 @@ public abstract class Piece {
         return side;
     }
 
+    /**
+     * Returns the kind of this piece.
+     *
+     * @return the kind of this piece, or {@code null} if the piece is not one of the known kinds.
+     */
+    public PieceType getType() {
+        return PieceType.of(getClass());
+    }
+
     /**
      * Returns the Shogi SFEN (Shogi Forsyth-Edwards Notation) abbreviation for the piece.
      * The abbreviation is represented by the first letter of the class name (e.g., 'P' for Pawn).
@@ -55,37 +67,97 @@ public abstract class Piece {
 
     /**
      * Returns a list of available moves for this piece, taking into account its position and the current state of the board.
-     * This method must be implemented by subclasses to provide the specific movement rules for each piece type.
+     * The moves are looked up in the movement tables of the board, compiled from the {@link MovementSpec} of the piece kind.
+     * A piece never moves onto a piece of its own side, and slides stop on the first occupied square.
      *
      * @param pos the current position of the piece on the board.
      * @param board the board on which the piece is placed, used for checking the legality of moves.
      * @return a list of positions that the piece can legally move to.
      */
-    public abstract ArrayList<Pos> getAvailableMoves(Pos pos, Board board);
+    public ArrayList<Pos> getAvailableMoves(Pos pos, Board board) {
+        ArrayList<Pos> availableMoves = new ArrayList<>();
+        if (getType() == null || !checkLegalMoveWithinBounds(pos, board)) {
+            return availableMoves;
+        }
+        MoveTables tables = board.getMoveTables();
+        boolean promoted = MoveTables.isPromoted(this);
+        int from = board.toSquare(pos);
+        for (int direction : tables.getSlides(side, getType(), promoted)) {
+            addSlideMoves(from, direction, board, availableMoves);
+        }
+        for (int to : tables.getSteps(side, getType(), promoted, from)) {
+            Piece target = board.getPieceAt(to);
+            if (target == null || target.getSide() != side) {
+                availableMoves.add(board.toPos(to));
+            }
+        }
+        return availableMoves;
+    }
 
     /**
      * Returns a list of available moves for this piece in the backend context, considering its position and the current state of the board.
-     * This method is generally used for move generation before any additional filtering.
-     * It must also be implemented by subclasses to provide the specific movement rules for each piece type.
+     * Unlike {@link #getAvailableMoves(Pos, Board)} the squares of pieces of the same side are included, since they are defended,
+     * and a slide that hits the enemy king continues one square past it, since the king cannot escape there.
      *
      * @param pos the current position of the piece on the board.
      * @param board the board on which the piece is placed, used for checking the legality of moves.
-     * @return a list of positions that the piece can legally move to.
+     * @return a list of positions that the piece attacks.
      */
-    public abstract ArrayList<Pos> getAvailableMovesBackend(Pos pos, Board board);
+    public ArrayList<Pos> getAvailableMovesBackend(Pos pos, Board board) {
+        ArrayList<Pos> availableMoves = new ArrayList<>();
+        if (getType() == null || !checkLegalMoveWithinBounds(pos, board)) {
+            return availableMoves;
+        }
+        MoveTables tables = board.getMoveTables();
+        boolean promoted = MoveTables.isPromoted(this);
+        int from = board.toSquare(pos);
+        for (int direction : tables.getSlides(side, getType(), promoted)) {
+            addSlideMovesBackend(from, direction, board, availableMoves);
+        }
+        for (int to : tables.getSteps(side, getType(), promoted, from)) {
+            availableMoves.add(board.toPos(to));
+        }
+        return availableMoves;
+    }
 
     /**
-     * Returns a list of all positions (moves) that would stop check.
+     * Returns a list of all positions (moves) that would stop check: the squares between this piece and the
+     * enemy king it checks, including the square of the king.
      *
      * @param pos the position of the piece
      * @param kingPos  the position of the opponents king
      * @param board the state of the board
-     * @return a list of positions that stop check..
+     * @return a list of positions that stop check, or null if the piece does not give check.
      */
     public ArrayList<Pos> getForcingCheckMoves(Pos pos, Pos kingPos, Board board){
-        ArrayList<Pos> forcingCheckMoves = new ArrayList<>();
-        forcingCheckMoves.add(kingPos);
-        return forcingCheckMoves;
+        if (getType() == null) {
+            // Without a movement spec only capturing the king is known to stop the check
+            ArrayList<Pos> forcingCheckMoves = new ArrayList<>();
+            forcingCheckMoves.add(kingPos);
+            return forcingCheckMoves;
+        }
+        if (!checkLegalMoveWithinBounds(pos, board)) {
+            return null;
+        }
+        MoveTables tables = board.getMoveTables();
+        boolean promoted = MoveTables.isPromoted(this);
+        int from = board.toSquare(pos);
+        for (int direction : tables.getSlides(side, getType(), promoted)) {
+            ArrayList<Pos> checkRay = getSlideCheckRay(from, direction, board);
+            if (checkRay != null) {
+                return checkRay;
+            }
+        }
+        if (checkLegalMoveWithinBounds(kingPos, board)
+                && tables.stepsTo(side, getType(), promoted, from, board.toSquare(kingPos))) {
+            Piece king = board.getPieceAt(kingPos);
+            if (king != null && king.getSide() != side && king.getType() == PieceType.KING) {
+                ArrayList<Pos> forcingCheckMoves = new ArrayList<>();
+                forcingCheckMoves.add(kingPos);
+                return forcingCheckMoves;
+            }
+        }
+        return null;
     }
 
     /**
@@ -138,4 +210,73 @@ public abstract class Piece {
         return null;
     }
 
+    /**
+     * Adds the squares a sliding piece can move to along one ray, looked up in the precomputed
+     * ray tables of the board. The ray stops before a piece of the same side and on an enemy piece.
+     *
+     * @param from the square the piece slides from.
+     * @param direction the direction of the ray, one of the {@link SliderAttacks} constants.
+     * @param board the board on which the piece is placed.
+     * @param moves the list to add the reachable positions to.
+     */
+    protected void addSlideMoves(int from, int direction, Board board, ArrayList<Pos> moves) {
+        int[] ray = board.getRay(from, direction);
+        int reach = board.getSlideReach(from, direction);
+        for (int i = 0; i < reach; i++) {
+            Piece target = board.getPieceAt(ray[i]);
+            if (target != null && target.getSide() == side) {
+                break;
+            }
+            moves.add(board.toPos(ray[i]));
+        }
+    }
+
+    /**
+     * Adds the squares a sliding piece attacks along one ray for the backend move generation.
+     * Unlike {@link #addSlideMoves}, the first occupied square is always included, and if it holds
+     * the enemy king the square behind the king is included as well, since the king cannot escape there.
+     *
+     * @param from the square the piece slides from.
+     * @param direction the direction of the ray, one of the {@link SliderAttacks} constants.
+     * @param board the board on which the piece is placed.
+     * @param moves the list to add the attacked positions to.
+     */
+    protected void addSlideMovesBackend(int from, int direction, Board board, ArrayList<Pos> moves) {
+        int[] ray = board.getRay(from, direction);
+        int reach = board.getSlideReach(from, direction);
+        for (int i = 0; i < reach; i++) {
+            moves.add(board.toPos(ray[i]));
+        }
+        if (reach > 0 && reach < ray.length) {
+            Piece blocker = board.getPieceAt(ray[reach - 1]);
+            if (blocker != null && blocker.getSide() != side && blocker.getType() == PieceType.KING) {
+                moves.add(board.toPos(ray[reach]));
+            }
+        }
+    }
+
+    /**
+     * Returns the squares along one ray up to and including the enemy king, if the ray gives check.
+     *
+     * @param from the square the piece slides from.
+     * @param direction the direction of the ray, one of the {@link SliderAttacks} constants.
+     * @param board the board on which the piece is placed.
+     * @return the squares between the piece and the king including the king, or null if the ray does not give check.
+     */
+    protected ArrayList<Pos> getSlideCheckRay(int from, int direction, Board board) {
+        int reach = board.getSlideReach(from, direction);
+        if (reach == 0) {
+            return null;
+        }
+        int[] ray = board.getRay(from, direction);
+        Piece blocker = board.getPieceAt(ray[reach - 1]);
+        if (blocker == null || blocker.getSide() == side || blocker.getType() != PieceType.KING) {
+            return null;
+        }
+        ArrayList<Pos> checkRay = new ArrayList<>(reach);
+        for (int i = 0; i < reach; i++) {
+            checkRay.add(board.toPos(ray[i]));
+        }
+        return checkRay;
+    }
 }
@@ -3,62 +3,115 @@ package model.pieces;
 import util.Side;
 
 /**
- * Factory class for creating instances of Shogi pieces based on SFEN (Shogi Forsyth-Edwards Notation) abbreviations
+ * Factory class for obtaining Shogi pieces based on SFEN (Shogi Forsyth-Edwards Notation) abbreviations
  * or piece class types.
+ *
+ * Pieces of the known kinds are flyweights: there is exactly one shared instance per kind, side and
+ * promotion state, created once when the class is loaded. Shared pieces are never modified, so they can
+ * be placed on any number of squares and boards and used from any thread. Promoting a piece means
+ * replacing it with its promoted flyweight, see {@link #promoted(Piece)}.
  */
 public class PieceFactory {
 
     /**
-     * Creates a Shogi piece based on its SFEN abbreviation.
+     * The shared pieces indexed by {@link #index(PieceType, Side, boolean)}.
+     */
+    private static final Piece[] FLYWEIGHTS = new Piece[PieceType.count() * 2 * 2];
+
+    static {
+        for (int type = 0; type < PieceType.count(); type++) {
+            for (Side side : Side.values()) {
+                PieceType pieceType = PieceType.fromOrdinal(type);
+                Piece piece = create(pieceType, side);
+                FLYWEIGHTS[index(pieceType, side, false)] = piece;
+                if (piece instanceof Promotable) {
+                    Promotable promoted = (Promotable) create(pieceType, side);
+                    promoted.promote();
+                    piece = promoted;
+                }
+                // Pieces that cannot promote share one instance for both states
+                FLYWEIGHTS[index(pieceType, side, true)] = piece;
+            }
+        }
+        for (Piece piece : FLYWEIGHTS) {
+            if (piece instanceof Promotable promotable) {
+                promotable.share();
+            }
+        }
+    }
+
+    /**
+     * Returns the shared piece of a kind, side and promotion state.
+     *
+     * @param type the kind of the piece.
+     * @param side the side of the piece (SENTE or GOTE).
+     * @param promoted whether the piece is promoted, ignored for kinds that cannot promote.
+     * @return the shared piece.
+     */
+    public static Piece get(PieceType type, Side side, boolean promoted) {
+        return FLYWEIGHTS[index(type, side, promoted)];
+    }
+
+    /**
+     * Returns the shared promoted version of a piece.
+     *
+     * @param piece the piece to promote.
+     * @return the promoted piece, or the piece itself if it cannot promote.
+     */
+    public static Piece promoted(Piece piece) {
+        PieceType type = piece.getType();
+        return type == null || !(piece instanceof Promotable) ? piece : get(type, piece.getSide(), true);
+    }
+
+    /**
+     * Returns the shared unpromoted version of a piece, as it returns to the hand when captured.
+     *
+     * @param piece the piece to demote.
+     * @return the unpromoted piece.
+     */
+    public static Piece unpromoted(Piece piece) {
+        PieceType type = piece.getType();
+        return type == null ? piece : get(type, piece.getSide(), false);
+    }
+
+    /**
+     * Returns the Shogi piece matching its SFEN abbreviation.
      *
      * @param sfen the SFEN abbreviation representing a piece.
-     * @return the corresponding `Piece` object.
+     * @return the corresponding shared `Piece` object.
      * @throws IllegalArgumentException if the SFEN abbreviation is invalid or unrecognized.
      */
     public static Piece fromSfenAbbreviation(String sfen) {
         // Determine if the piece is promoted by checking the first character
         boolean isPromoted = sfen.startsWith("+");
 
-        // Extract the letter representing the piece type (convert to lowercase)
+        // The last character is the letter representing the piece type
         char letter = sfen.charAt(sfen.length() - 1);
 
         // Determine the side of the piece based on the case of the letter
         Side side = Character.isUpperCase(letter) ? Side.SENTE : Side.GOTE;
-        letter = Character.toLowerCase(letter);
-
-        // Create the piece based on the letter and side
-        // (if we had more pieces maybe we could look over all piece types and check if abbreviations match)
-        Piece piece = switch (letter) {
-            case 'k' -> new King(side);
-            case 'r' -> new Rook(side);
-            case 'b' -> new Bishop(side);
-            case 'g' -> new GoldGeneral(side);
-            case 's' -> new SilverGeneral(side);
-            case 'n' -> new Knight(side);
-            case 'l' -> new Lance(side);
-            case 'p' -> new Pawn(side);
-            case 'c' -> new CopperGeneral(side);
-            default -> throw new IllegalArgumentException("Invalid sfen abbreviation: " + sfen);
-        };
 
-
-        // Promote the piece if it is marked as promoted
-        if (isPromoted && piece instanceof Promotable) {
-            ((Promotable) piece).promote();
+        PieceType type = PieceType.fromSfenLetter(letter);
+        if (type == null) {
+            throw new IllegalArgumentException("Invalid sfen abbreviation: " + sfen);
         }
-
-        return piece;
+        return get(type, side, isPromoted);
     }
 
     /**
-     * Creates a Shogi piece instance based on the piece class and side.
+     * Returns the Shogi piece of a piece class and side.
+     * Pieces of the known kinds are shared, other classes are instantiated through reflection.
      *
-     * @param pieceClass the class type of the piece to create (e.g., `King.class`, `Rook.class`).
+     * @param pieceClass the class type of the piece (e.g., `King.class`, `Rook.class`).
      * @param side the side of the piece (SENTE or GOTE).
      * @return the corresponding `Piece` object.
-     * @throws RuntimeException if the instantiation fails due to reflection issues.
+     * @throws RuntimeException if the instantiation of an unknown class fails due to reflection issues.
      */
     public static Piece fromClass(Class<? extends Piece> pieceClass, Side side) {
+        PieceType type = PieceType.of(pieceClass);
+        if (type != null) {
+            return get(type, side, false);
+        }
         try {
             // Create the piece instance using reflection
             return pieceClass.getDeclaredConstructor(Side.class).newInstance(side);
@@ -66,4 +119,22 @@ public class PieceFactory {
             throw new RuntimeException("Failed to instantiate piece: " + pieceClass.getName(), e);
         }
     }
+
+    private static Piece create(PieceType type, Side side) {
+        return switch (type) {
+            case KING -> new King(side);
+            case ROOK -> new Rook(side);
+            case BISHOP -> new Bishop(side);
+            case GOLD_GENERAL -> new GoldGeneral(side);
+            case SILVER_GENERAL -> new SilverGeneral(side);
+            case KNIGHT -> new Knight(side);
+            case LANCE -> new Lance(side);
+            case PAWN -> new Pawn(side);
+            case COPPER_GENERAL -> new CopperGeneral(side);
+        };
+    }
+
+    private static int index(PieceType type, Side side, boolean promoted) {
+        return (type.ordinal() * 2 + side.ordinal()) * 2 + (promoted ? 1 : 0);
+    }
 }
@@ -0,0 +1,148 @@
+package model.pieces;
+
+/**
+ * Enumerates the kinds of pieces known to the game.
+ *
+ * The ordinal of each constant is used as a compact index by the board representations,
+ * so new kinds should only ever be appended to the end of the list.
+ */
+public enum PieceType {
+    KING('k', King.class, MovementSpec.KING, null),
+    ROOK('r', Rook.class, MovementSpec.ROOK, MovementSpec.DRAGON),
+    BISHOP('b', Bishop.class, MovementSpec.BISHOP, MovementSpec.HORSE),
+    GOLD_GENERAL('g', GoldGeneral.class, MovementSpec.GOLD, null),
+    SILVER_GENERAL('s', SilverGeneral.class, MovementSpec.SILVER, MovementSpec.GOLD),
+    KNIGHT('n', Knight.class, MovementSpec.KNIGHT, MovementSpec.GOLD),
+    LANCE('l', Lance.class, MovementSpec.LANCE, MovementSpec.GOLD),
+    PAWN('p', Pawn.class, MovementSpec.PAWN, MovementSpec.GOLD),
+    COPPER_GENERAL('c', CopperGeneral.class, MovementSpec.COPPER, MovementSpec.NONE);
+
+    /**
+     * Cached result of {@link #values()}, which otherwise clones the array on every call.
+     */
+    private static final PieceType[] VALUES = values();
+
+    /**
+     * Maps piece classes to their type without any reflective lookups after the first query.
+     */
+    private static final ClassValue<PieceType> BY_CLASS = new ClassValue<>() {
+        @Override
+        protected PieceType computeValue(Class<?> type) {
+            for (PieceType pieceType : VALUES) {
+                if (pieceType.pieceClass == type) {
+                    return pieceType;
+                }
+            }
+            return null;
+        }
+    };
+
+    /**
+     * The lowercase SFEN letter of the piece kind.
+     */
+    private final char sfenLetter;
+
+    /**
+     * The class implementing the piece kind.
+     */
+    private final Class<? extends Piece> pieceClass;
+
+    /**
+     * How the piece kind moves unpromoted.
+     */
+    private final MovementSpec movement;
+
+    /**
+     * How the piece kind moves promoted, or null if it does not promote.
+     */
+    private final MovementSpec promotedMovement;
+
+    PieceType(char sfenLetter, Class<? extends Piece> pieceClass, MovementSpec movement, MovementSpec promotedMovement) {
+        this.sfenLetter = sfenLetter;
+        this.pieceClass = pieceClass;
+        this.movement = movement;
+        this.promotedMovement = promotedMovement;
+    }
+
+    /**
+     * Returns the lowercase SFEN letter of this piece kind.
+     *
+     * @return the SFEN letter of this piece kind.
+     */
+    public char getSfenLetter() {
+        return sfenLetter;
+    }
+
+    /**
+     * Returns the class implementing this piece kind.
+     *
+     * @return the piece class.
+     */
+    public Class<? extends Piece> getPieceClass() {
+        return pieceClass;
+    }
+
+    /**
+     * Returns how this piece kind moves. Kinds that do not promote move the same either way.
+     *
+     * @param promoted whether the piece is promoted.
+     * @return the movement spec of the piece kind.
+     */
+    public MovementSpec getMovement(boolean promoted) {
+        return promoted && promotedMovement != null ? promotedMovement : movement;
+    }
+
+    /**
+     * Returns whether this piece kind has a promoted form.
+     *
+     * @return {@code true} if the piece kind promotes.
+     */
+    public boolean canPromote() {
+        return promotedMovement != null;
+    }
+
+    /**
+     * Returns the number of piece kinds.
+     *
+     * @return the number of piece kinds.
+     */
+    public static int count() {
+        return VALUES.length;
+    }
+
+    /**
+     * Returns the piece kind with the given ordinal.
+     *
+     * @param ordinal the ordinal of the piece kind.
+     * @return the piece kind with the given ordinal.
+     */
+    public static PieceType fromOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    /**
+     * Returns the piece kind implemented by the given class.
+     *
+     * @param pieceClass the class of the piece.
+     * @return the matching piece kind, or {@code null} if the class is not a known piece kind.
+     */
+    public static PieceType of(Class<?> pieceClass) {
+        return pieceClass == null ? null : BY_CLASS.get(pieceClass);
+    }
+
+    /**
+     * Returns the piece kind matching the given SFEN letter, ignoring case.
+     *
+     * @param letter the SFEN letter of the piece.
+     * @return the matching piece kind, or {@code null} if the letter is unknown.
+     */
+    public static PieceType fromSfenLetter(char letter) {
+        char lower = Character.toLowerCase(letter);
+        for (PieceType pieceType : VALUES) {
+            if (pieceType.sfenLetter == lower) {
+                return pieceType;
+            }
+        }
+        return null;
+    }
+}
@@ -15,6 +15,11 @@ public abstract class Promotable extends Piece {
      */
     protected boolean isPromoted = false;
 
+    /**
+     * Whether this is a shared instance from {@link PieceFactory}, which must never change.
+     */
+    private boolean shared = false;
+
     /**
      * Constructs a new promotable piece with the specified side.
      *
@@ -44,11 +49,25 @@ public abstract class Promotable extends Piece {
      * Promotes the piece, making it a promoted version of the piece.
      *
      * Promoting a piece changes its abilities and movement rules. This method marks the piece as promoted.
+     * Only pieces created directly through their constructor can be promoted in place; pieces obtained from
+     * {@link PieceFactory} are shared and are promoted by replacing them with {@link PieceFactory#promoted(Piece)}.
+     *
+     * @throws UnsupportedOperationException if the piece is a shared instance.
      */
     public void promote() {
+        if (shared) {
+            throw new UnsupportedOperationException("Shared pieces cannot be promoted in place: " + getSfenAbbreviation());
+        }
         isPromoted = true;
     }
 
+    /**
+     * Marks the piece as a shared instance that may no longer be promoted in place.
+     */
+    void share() {
+        shared = true;
+    }
+
     /**
      * Returns whether the piece is promoted.
      *
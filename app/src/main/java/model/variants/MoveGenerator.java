@@ -0,0 +1,298 @@
+package model.variants;
+
+import model.MoveBuffer;
+import model.PackedMove;
+import model.game.Board;
+import model.game.CheckInfo;
+import model.game.MoveTables;
+import model.game.SliderAttacks;
+import model.game.Player;
+import model.pieces.Piece;
+import model.pieces.PieceFactory;
+import model.pieces.PieceType;
+import model.pieces.Promotable;
+import util.Pos;
+import util.Side;
+
+/**
+ * Generates the legal moves of a position as packed moves, see {@link PackedMove}.
+ *
+ * Moves are written into a caller supplied {@link MoveBuffer} and all lookups go through the
+ * precomputed tables of the board, so generating moves does not allocate. This covers board moves
+ * (with separate entries for promoting and not promoting where the variant allows a choice) and
+ * drops from the hand. Checks and pins are analysed once per position with a {@link CheckInfo}, so
+ * only legal moves are produced and no move has to be tried on the board. A generator keeps some
+ * scratch state and must not be shared between threads.
+ */
+public class MoveGenerator {
+    /**
+     * Whether a square lies in the promotion zone of a side, indexed by side ordinal and square.
+     */
+    private final boolean[][] promotionZone;
+
+    /**
+     * The rows on which each kind may be dropped as a bit mask with bit {@code row} set, indexed by side
+     * ordinal and piece kind ordinal. A piece may not be dropped where it could never move again, such as
+     * a pawn or lance on the last row or a knight on the last two rows.
+     */
+    private final long[][] dropRows;
+
+    /**
+     * The number of columns of the boards of the variant.
+     */
+    private final int columns;
+
+    /**
+     * The checks and pins of the position being generated.
+     */
+    private final CheckInfo checkInfo;
+
+    /**
+     * The checks against the opponent's king after a pawn drop, see {@link CheckInfo#isPawnDropMate(Board, Side, int)}.
+     */
+    private final CheckInfo dropMateInfo;
+
+    /**
+     * The square on which a pawn drop gives check during drop generation, or -1.
+     */
+    private int pawnCheckSquare;
+
+    /**
+     * Scratch array for {@link Board#getAttackers(int, Side, int[])}.
+     */
+    private final int[] attackers = new int[2 * SliderAttacks.DIRECTIONS + 2];
+
+    /**
+     * Constructs a move generator for a variant.
+     *
+     * @param variant the variant whose promotion zones apply.
+     */
+    public MoveGenerator(Variant variant) {
+        int width = variant.getWidth();
+        int squares = width * variant.getHeight();
+        promotionZone = new boolean[2][squares];
+        for (Side side : Side.values()) {
+            for (int square = 0; square < squares; square++) {
+                // Promotion zones are keyed by the side owning the camp, which is the opponent's side
+                promotionZone[side.ordinal()][square] = variant.isInPromotionZone(new Pos(square / width, square % width), side.opposite());
+            }
+        }
+
+        columns = width;
+        MoveTables tables = MoveTables.forGeometry(variant.getHeight(), width);
+        dropRows = new long[2][PieceType.count()];
+        for (Side side : Side.values()) {
+            for (int type = 0; type < PieceType.count(); type++) {
+                for (int square = 0; square < squares; square++) {
+                    if (tables.hasMoves(side, PieceType.fromOrdinal(type), false, square)) {
+                        dropRows[side.ordinal()][type] |= 1L << (square / width);
+                    }
+                }
+            }
+        }
+        checkInfo = new CheckInfo(squares);
+        dropMateInfo = new CheckInfo(squares);
+    }
+
+    /**
+     * Writes every legal move of a side into a buffer, replacing its previous contents.
+     *
+     * @param board  the board to generate moves for.
+     * @param side   the side to move.
+     * @param player the player of the side to move, whose hand provides the drops, or null to skip drops.
+     * @param buffer the buffer receiving the packed moves.
+     */
+    public void generateLegalMoves(Board board, Side side, Player player, MoveBuffer buffer) {
+        buffer.clear();
+        checkInfo.update(board, side);
+        if (checkInfo.isInCheck()) {
+            addEvasions(board, side, player, buffer);
+            return;
+        }
+        MoveTables tables = board.getMoveTables();
+
+        for (int index = 0; index < board.getPieceCount(side); index++) {
+            int from = board.getPieceSquare(side, index);
+            Piece piece = board.getPieceAt(from);
+            if (piece.getType() == null) {
+                continue;
+            }
+            PieceType type = piece.getType();
+            boolean promoted = MoveTables.isPromoted(piece);
+
+            for (int to : tables.getSteps(side, type, promoted, from)) {
+                Piece target = board.getPieceAt(to);
+                if (target == null || target.getSide() != side) {
+                    addBoardMove(board, side, piece, type, promoted, from, to, buffer);
+                }
+            }
+            for (int direction : tables.getSlides(side, type, promoted)) {
+                int[] ray = board.getRay(from, direction);
+                int reach = board.getSlideReach(from, direction);
+                for (int i = 0; i < reach; i++) {
+                    Piece target = board.getPieceAt(ray[i]);
+                    if (target == null || target.getSide() != side) {
+                        addBoardMove(board, side, piece, type, promoted, from, ray[i], buffer);
+                    }
+                }
+            }
+        }
+
+        if (player != null) {
+            addDrops(board, side, player.getCapturedPieces().getHeldMask(), buffer);
+        }
+    }
+
+    /**
+     * Writes every move that gets the king of a side out of check into a buffer, replacing its previous contents.
+     * Only king steps, captures of the checking piece and interpositions by moves or drops are enumerated.
+     * The buffer is left empty when the side is not in check.
+     *
+     * @param board  the board to generate moves for.
+     * @param side   the side to move.
+     * @param player the player of the side to move, whose hand provides the drops, or null to skip drops.
+     * @param buffer the buffer receiving the packed moves.
+     */
+    public void generateEvasions(Board board, Side side, Player player, MoveBuffer buffer) {
+        buffer.clear();
+        checkInfo.update(board, side);
+        if (checkInfo.isInCheck()) {
+            addEvasions(board, side, player, buffer);
+        }
+    }
+
+    /**
+     * Checks whether a side is checkmated, stopping at the first move that escapes the check.
+     *
+     * @param board  the board to check.
+     * @param side   the side to move.
+     * @param player the player of the side to move, whose hand provides the drops, or null to skip drops.
+     * @return {@code true} if the side is in check and has no move out of it.
+     */
+    public boolean isCheckmate(Board board, Side side, Player player) {
+        checkInfo.update(board, side);
+        return checkInfo.isInCheck() && !checkInfo.hasEvasion(player);
+    }
+
+    /**
+     * Writes every legal drop of one piece kind into a buffer, replacing its previous contents.
+     * The hand is not consulted, so the drops are those the side could make if it held the piece.
+     *
+     * @param board  the board to generate drops for.
+     * @param side   the side to move.
+     * @param type   the kind of piece to drop.
+     * @param buffer the buffer receiving the packed moves.
+     */
+    public void generateDrops(Board board, Side side, PieceType type, MoveBuffer buffer) {
+        buffer.clear();
+        checkInfo.update(board, side);
+        if (checkInfo.getCheckerCount() < 2) {
+            addDrops(board, side, 1 << type.ordinal(), buffer);
+        }
+    }
+
+    /**
+     * Checks whether a square lies in the zone where pieces of a side may promote.
+     *
+     * @param side   the side of the moving piece.
+     * @param square the square index to check.
+     * @return {@code true} if the square is in the promotion zone of the side.
+     */
+    public boolean isInPromotionZone(Side side, int square) {
+        return promotionZone[side.ordinal()][square];
+    }
+
+    private void addEvasions(Board board, Side side, Player player, MoveBuffer buffer) {
+        MoveTables tables = board.getMoveTables();
+        int kingSquare = checkInfo.getKingSquare();
+        Piece king = board.getPieceAt(kingSquare);
+        for (int to : tables.getSteps(side, PieceType.KING, false, kingSquare)) {
+            Piece target = board.getPieceAt(to);
+            if (target == null || target.getSide() != side) {
+                addBoardMove(board, side, king, PieceType.KING, false, kingSquare, to, buffer);
+            }
+        }
+        // In double check only the king can move
+        if (checkInfo.getCheckerCount() > 1) {
+            return;
+        }
+        for (int i = 0; i < checkInfo.getEvasionSquareCount(); i++) {
+            int to = checkInfo.getEvasionSquare(i);
+            int count = board.getAttackers(to, side, attackers);
+            for (int j = 0; j < count; j++) {
+                int from = attackers[j];
+                if (from != kingSquare) {
+                    Piece piece = board.getPieceAt(from);
+                    addBoardMove(board, side, piece, piece.getType(), MoveTables.isPromoted(piece), from, to, buffer);
+                }
+            }
+        }
+        if (player != null) {
+            addDrops(board, side, player.getCapturedPieces().getHeldMask(), buffer);
+        }
+    }
+
+    private void addDrops(Board board, Side side, int kinds, MoveBuffer buffer) {
+        if (kinds == 0) {
+            return;
+        }
+        pawnCheckSquare = -1;
+        if ((kinds & 1 << PieceType.PAWN.ordinal()) != 0) {
+            int opponentKing = board.getKingSquare(side.opposite());
+            if (opponentKing >= 0) {
+                int[] front = board.getMoveTables().getSteps(side.opposite(), PieceType.PAWN, false, opponentKing);
+                pawnCheckSquare = front.length > 0 ? front[0] : -1;
+            }
+        }
+        // All kinds are dropped in one pass over the empty squares, and in check only blocking squares are visited
+        if (checkInfo.isInCheck()) {
+            for (int i = 0; i < checkInfo.getEvasionSquareCount(); i++) {
+                int to = checkInfo.getEvasionSquare(i);
+                if (board.getPieceAt(to) == null) {
+                    addDropsOn(board, side, kinds, to, buffer);
+                }
+            }
+        } else {
+            for (int to = 0; to < board.getSquareCount(); to++) {
+                if (board.getPieceAt(to) == null) {
+                    addDropsOn(board, side, kinds, to, buffer);
+                }
+            }
+        }
+    }
+
+    private void addDropsOn(Board board, Side side, int kinds, int to, MoveBuffer buffer) {
+        long[] rows = dropRows[side.ordinal()];
+        int row = to / columns;
+        boolean pawnAllowed = (board.getPawnFiles(side) & 1L << (to % columns)) == 0;
+        for (int remaining = kinds; remaining != 0; remaining &= remaining - 1) {
+            int type = Integer.numberOfTrailingZeros(remaining);
+            if ((rows[type] & 1L << row) == 0 || (type == PieceType.PAWN.ordinal() && !pawnAllowed)) {
+                continue;
+            }
+            // Uchifuzume: a pawn may not be dropped to give checkmate
+            if (to == pawnCheckSquare && type == PieceType.PAWN.ordinal() && dropMateInfo.isPawnDropMate(board, side, to)) {
+                continue;
+            }
+            PieceType pieceType = PieceType.fromOrdinal(type);
+            buffer.add(PackedMove.drop(PieceFactory.get(pieceType, side, false), PackedMove.square(board.toPos(to))));
+        }
+    }
+
+    private void addBoardMove(Board board, Side side, Piece piece, PieceType type, boolean promoted, int from, int to,
+                              MoveBuffer buffer) {
+        if (!checkInfo.isLegal(from, to)) {
+            return;
+        }
+        int packedFrom = PackedMove.square(board.toPos(from));
+        int packedTo = PackedMove.square(board.toPos(to));
+        Piece captured = board.getPieceAt(to);
+        if (!promoted && piece instanceof Promotable && (isInPromotionZone(side, from) || isInPromotionZone(side, to))) {
+            buffer.add(PackedMove.move(packedFrom, packedTo, piece, captured, true));
+        }
+        // A piece may not stay unpromoted on a square it could never move away from
+        if (promoted || board.getMoveTables().hasMoves(side, type, false, to)) {
+            buffer.add(PackedMove.move(packedFrom, packedTo, piece, captured, false));
+        }
+    }
+}
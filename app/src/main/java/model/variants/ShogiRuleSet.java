@@ -1,23 +1,27 @@
 package model.variants;
 
 import model.game.Board;
+import model.game.CheckInfo;
 import model.pieces.PieceFactory;
 import model.game.Player;
 import model.pieces.*;
 import util.Pos;
 import util.Side;
 
-import java.util.ArrayList;
-
 /**
  * The `ShogiRuleSet` class implements the `RuleSet` interface and provides the rule logic for the game of Shogi.
  * It contains methods for validating moves.
  */
 public class ShogiRuleSet implements RuleSet {
+    /**
+     * The check analysis shared by every call, replaced only when a board of another size is analysed.
+     */
+    private CheckInfo checkInfo;
 
     /**
      * Validates if a move is valid according to Shogi rules.
      * It checks if a move is legal, ensuring that a King is not moved into check and that the move does not result in a check for the player.
+     * Pinned pieces and checking pieces are found once per call instead of trying the move on the board.
      *
      * @param posFrom the position of the piece being moved
      * @param posTo the target position to which the piece is moving
@@ -29,23 +33,17 @@ public class ShogiRuleSet implements RuleSet {
      */
     @Override
     public boolean validMove(Pos posFrom, Pos posTo, Piece piece, Board board, Side side, Side oppositeSide) {
-        if (piece instanceof King) {
-            if (isCurrentlyInCheck(board, posTo, oppositeSide)) {
-                return false;
-            }
-        }
         if (!piece.getAvailableMoves(posFrom, board).contains(posTo)) {
             return false;
         }
-        if (checkIfNextMoveIsCheck(posFrom, posTo, board, side, oppositeSide)) {
-            return false;
-        }
-        return true;
+        return !checkIfNextMoveIsCheck(posFrom, posTo, board, side, oppositeSide);
     }
 
     /**
      * Validates if a move made with a captured piece (from the hand) is legal.
-     * This ensures that the piece is being placed on an empty square and adheres to the specific constraints for certain pieces (like Pawn, Knight, and Lance).
+     * This ensures that the piece is being placed on an empty square and adheres to the specific constraints for certain pieces (like Pawn, Knight, and Lance),
+     * including that a pawn may not be dropped to give checkmate.
+     * The rows where a piece may not be dropped follow from its moves on the board, so they fit any board size.
      *
      * @param pos the position to place the piece from the hand
      * @param pieceClass the class of the piece being moved from the hand
@@ -57,39 +55,25 @@ public class ShogiRuleSet implements RuleSet {
         if (board.getPieceAt(pos) != null) {
             return false;
         }
-        if (pieceClass == Pawn.class) {
-            if (board.ifPieceInColum(side, Pawn.class, pos.col())) {
-                return false;
-            }
+        PieceType type = PieceType.of(pieceClass);
+        if (type == null) {
+            return true;
         }
-        if (pieceClass == Knight.class) {
-            if (side == Side.GOTE) {
-                if (pos.row() < 2) {
-                    return false;
-                }
-            } else {
-                if (pos.row() > 6) {
-                    return false;
-                }
-            }
+        // Nifu: only unpromoted pawns count towards the pawn already in the column
+        if (type == PieceType.PAWN && (board.getPawnFiles(side) & 1L << pos.col()) != 0) {
+            return false;
         }
-        if (pieceClass == Lance.class) {
-            if (side == Side.GOTE) {
-                if (pos.row() < 1) {
-                    return false;
-                }
-            } else {
-                if (pos.row() > 7) {
-                    return false;
-                }
-            }
+        // The piece must be able to move again, which rules out the last row for pawns and lances and the last two for knights
+        if (!board.getMoveTables().hasMoves(side, type, false, board.toSquare(pos))) {
+            return false;
         }
-        return true;
+        // Uchifuzume: a pawn may not be dropped to give checkmate
+        return type != PieceType.PAWN || !getCheckInfo(board).isPawnDropMate(board, side, board.toSquare(pos));
     }
 
     /**
      * Checks if the next move would place the player's King in check.
-     * This method tests the move and ensures that after executing the move, the King is not in check.
+     * The checks and pins against the King are analysed once, see {@link CheckInfo}, so the move does not have to be tried on the board.
      *
      * @param posFrom the current position of the piece being moved
      * @param posTo the target position to which the piece is moving
@@ -99,18 +83,15 @@ public class ShogiRuleSet implements RuleSet {
      * @return true if the next move results in a check, false otherwise
      */
     public boolean checkIfNextMoveIsCheck(Pos posFrom, Pos posTo, Board board, Side side, Side oppositeSide) {
-        Piece piece = board.testMove(posFrom, posTo, null);
-        if (isCurrentlyInCheck(board, board.getPiecePos(side, King.class), oppositeSide)) {
-            board.testMove(posTo, posFrom, piece);
-            return true;
-        }
-        board.testMove(posTo, posFrom, piece);
-        return false;
+        CheckInfo checkInfo = getCheckInfo(board);
+        checkInfo.update(board, side);
+        return !checkInfo.isLegal(board.toSquare(posFrom), board.toSquare(posTo));
     }
 
     /**
      * Checks if the King's position is under attack (i.e., in check) by the opposite side.
-     * It determines if any piece from the opponent has a move that can capture the King.
+     * The board is searched outward from the position, see {@link Board#isSquareAttacked(int, Side, int)},
+     * instead of generating the moves of every piece.
      *
      * @param board the game board
      * @param kingPos the position of the King's piece
@@ -118,40 +99,16 @@ public class ShogiRuleSet implements RuleSet {
      * @return true if the King is in check, false otherwise
      */
     public boolean isCurrentlyInCheck(Board board, Pos kingPos, Side oppositeSide) {
-        ArrayList<Pos> allPossibleMovesSente = new ArrayList<>();
-        ArrayList<Pos> allPossibleMovesGote = new ArrayList<>();
-        ArrayList<Piece> everyPiece = board.getEveryPiece();
-        ArrayList<Pos> everyPiecePos = board.getEveryPiecePos();
-
-        for (int i = 0; i < everyPiece.size(); i++) {
-            if (everyPiece.get(i).getSide() == Side.SENTE) {
-                allPossibleMovesSente.addAll(everyPiece.get(i).getAvailableMovesBackend(everyPiecePos.get(i), board));
-            } else {
-                allPossibleMovesGote.addAll(everyPiece.get(i).getAvailableMovesBackend(everyPiecePos.get(i), board));
-            }
-        }
-
-        if (oppositeSide == Side.SENTE) {
-            for (Pos possibleMoveSente : allPossibleMovesSente) {
-                if (possibleMoveSente.col() == kingPos.col() && possibleMoveSente.row() == kingPos.row()) {
-                    return true;
-                }
-            }
-        } else {
-            for (Pos possibleMoveGote : allPossibleMovesGote) {
-                if (possibleMoveGote.col() == kingPos.col() && possibleMoveGote.row() == kingPos.row()) {
-                    return true;
-                }
-            }
-        }
-
-
-        return false;
+        // The defending king does not shield the squares behind it, so a king stepping away along a slider's line stays in check
+        Pos defendingKingPos = board.getPiecePos(oppositeSide.opposite(), King.class);
+        int ignoredSquare = defendingKingPos == null || defendingKingPos.equals(kingPos) ? -1 : board.toSquare(defendingKingPos);
+        return board.isSquareAttacked(board.toSquare(kingPos), oppositeSide, ignoredSquare);
     }
 
     /**
      * Determines if the player's King is in checkmate, which means the King is in check and cannot escape check.
-     * It checks if any valid move exists to escape check and if all pieces cannot block or capture the attacking piece.
+     * Only the moves that could end the check are searched: King steps, captures of the checking piece and
+     * interpositions by board moves or drops, stopping at the first legal one (see {@link CheckInfo#hasEvasion(Player)}).
      *
      * @param board the game board
      * @param kingPos the position of the King
@@ -161,84 +118,21 @@ public class ShogiRuleSet implements RuleSet {
      * @return true if the player is in checkmate, false otherwise
      */
     public boolean isCurrentlyInCheckMate(Board board, Pos kingPos, Side side, Side oppositeSide, Player player) {
-        if (!isCurrentlyInCheck(board, kingPos, oppositeSide)){ return false;}
-
-        for (Pos move : board.getPieceAt(kingPos).getAvailableMoves(kingPos, board)){
-            if (!isCurrentlyInCheck(board, move, oppositeSide)){return false;}
-        }
-
-        ArrayList<Piece> everyPieceSente = new ArrayList<>();
-        ArrayList<Piece> everyPieceGote = new ArrayList<>();
-        ArrayList<Pos> everyPieceSentePos = new ArrayList<>();
-        ArrayList<Pos> everyPieceGotePos = new ArrayList<>();
-        ArrayList<Piece> everyPiece = board.getEveryPiece();
-        ArrayList<Pos> everyPiecePos = board.getEveryPiecePos();
-        ArrayList<Pos> pieceForcingCheckMoves = null;
-        ArrayList<Pos> avaialableHandMoves = new ArrayList<>();
-
-        for (int i = 0; i < everyPiece.size(); i++) {
-            if (everyPiece.get(i).getSide() == Side.SENTE) {
-                everyPieceSente.add(everyPiece.get(i));
-                everyPieceSentePos.add(everyPiecePos.get(i));
-            } else {
-                everyPieceGote.add(everyPiece.get(i));
-                everyPieceGotePos.add(everyPiecePos.get(i));
-            }
-        }
-
-        for (int i = 0; i <everyPiece.size(); i++){
-            if (everyPiece.get(i).getSide() == side.opposite()) {
-                if (everyPiece.get(i).getAvailableMovesBackend(everyPiecePos.get(i), board).contains(kingPos)) {
-                    pieceForcingCheckMoves = everyPiece.get(i).getForcingCheckMoves(everyPiecePos.get(i), kingPos, board);
-                    pieceForcingCheckMoves.add(everyPiecePos.get(i));
-
-                }
-            }
-        }
-
-        if (oppositeSide == Side.GOTE && pieceForcingCheckMoves != null){
-            for (int i = 0; i < everyPieceSente.size(); i ++){
-                if (everyPieceSente.get(i).getClass() != King.class) {
-                    for (Pos pieceForcingCheckMove : pieceForcingCheckMoves) {
-                        if (everyPieceSente.get(i).getAvailableMoves(everyPieceSentePos.get(i), board).contains(pieceForcingCheckMove)) {
-                            return false;
-                        }
-                    }
-                }
-            }
-        } else {
-            for (int i = 0; i < everyPieceGote.size(); i++) {
-                if (everyPieceGote.get(i).getClass() != King.class) {
-                    for (Pos pieceForcingCheckMove : pieceForcingCheckMoves) {
-                        if (everyPieceGote.get(i).getAvailableMoves(everyPieceGotePos.get(i), board).contains(pieceForcingCheckMove)) {
-                            return false;
-                        }
-                    }
-                }
-            }
-        }
-
-        for (Class<? extends Piece> piece : player.getHand().keySet()){
-            if (player.getHand().get(piece) > 0){
-                for (int i = 0; i < board.getWidth(); i++) {
-                    for (int j = 0; j < board.getHeight(); j++) {
-                        if (validHandMove(new Pos(i,j), piece, board, oppositeSide)){
-                            avaialableHandMoves.add(new Pos(i,j));
-                        }
-                    }
-                }
-            }
-
-        }
+        CheckInfo checkInfo = getCheckInfo(board);
+        checkInfo.update(board, side);
+        return checkInfo.isInCheck() && !checkInfo.hasEvasion(player);
+    }
 
-        //bug med att man kan gå bakom kung med en annan pejäs för att stoppa schack matt
-        if (pieceForcingCheckMoves != null) {
-            for (Pos pieceForcingCheckMove : pieceForcingCheckMoves){
-                if (avaialableHandMoves.contains(pieceForcingCheckMove)){
-                    return false;
-                }
-            }
+    /**
+     * Returns the check analysis for a board, allocating its scratch arrays only for the first board of a size.
+     *
+     * @param board the board to analyse
+     * @return the check analysis, which {@link CheckInfo#update(Board, Side)} prepares for the board
+     */
+    private CheckInfo getCheckInfo(Board board) {
+        if (checkInfo == null || checkInfo.getSquareCount() != board.getSquareCount()) {
+            checkInfo = new CheckInfo(board.getSquareCount());
         }
-        return true;
+        return checkInfo;
     }
 }
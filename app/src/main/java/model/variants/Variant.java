@@ -1,6 +1,8 @@
 package model.variants;
 
 import com.fasterxml.jackson.annotation.JsonValue;
+import model.game.BitboardBoard;
+import model.game.Board;
 import model.settings.PieceSetType;
 import model.pieces.Piece;
 import model.Sfen;
@@ -78,6 +80,16 @@ public abstract class Variant {
         return ruleSet;
     }
 
+    /**
+     * Creates an empty board with the dimensions of this variant, backed by bitboards sized for
+     * {@link #getWidth()} by {@link #getHeight()} squares.
+     *
+     * @return a new empty board for this variant.
+     */
+    public Board createBoard() {
+        return new BitboardBoard(getWidth(), getHeight());
+    }
+
     /**
      * Returns the piece set type for this variant.
      * This method is abstract, and subclasses should provide the appropriate piece set type for the variant.
@@ -0,0 +1,264 @@
+package perft;
+
+import model.MoveBuffer;
+import model.PackedMove;
+import model.Sfen;
+import model.game.Board;
+import model.game.Player;
+import model.pieces.Piece;
+import model.pieces.PieceFactory;
+import model.variants.ChuShogi;
+import model.variants.Mini;
+import model.variants.MoveGenerator;
+import model.variants.Standard;
+import model.variants.Variant;
+import util.Side;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Counts the leaf nodes of the tree of legal moves below a position, known as perft.
+ *
+ * Perft exercises move generation together with {@link Board#makeMove(int)} and {@link Board#unmakeMove()},
+ * so comparing its counts with published numbers checks the rules, and its speed is a baseline for
+ * changes to the move generator. Known counts for the standard start position are 30, 900, 25 470 and
+ * 719 731 for depths 1 to 4.
+ *
+ * A perft instance owns its board and must not be shared between threads; parallel runs give every
+ * root move its own instance.
+ */
+public class Perft {
+    private final Variant variant;
+    private final Sfen sfen;
+    private final Board board;
+    private final Player[] players = new Player[2];
+    private final Side turn;
+    private final MoveGenerator generator;
+
+    /**
+     * One move buffer per remaining depth, so that counting does not allocate.
+     */
+    private MoveBuffer[] buffers = new MoveBuffer[0];
+
+    /**
+     * Constructs a perft counter for a position.
+     *
+     * @param variant the variant whose board and rules apply
+     * @param sfen    the position to count from, including hands and the side to move
+     * @throws IllegalArgumentException if the position contains pieces that are not supported
+     */
+    public Perft(Variant variant, Sfen sfen) {
+        this.variant = variant;
+        this.sfen = sfen;
+        board = variant.createBoard();
+        board.initializeBoard(sfen);
+        for (Side side : Side.values()) {
+            players[side.ordinal()] = new Player(side);
+            players[side.ordinal()].intializeHand(variant.getHand());
+        }
+        sfen.forEachCapturedPiece((abbr, amount) -> {
+            Piece piece = PieceFactory.fromSfenAbbreviation(String.valueOf(abbr));
+            players[piece.getSide().ordinal()].addCapturedPiece(piece.getClass(), amount);
+        });
+        board.setPlayers(players[Side.SENTE.ordinal()], players[Side.GOTE.ordinal()]);
+        turn = sfen.getTurn() == 'b' ? Side.SENTE : Side.GOTE;
+        generator = new MoveGenerator(variant);
+    }
+
+    /**
+     * Counts the leaf nodes at a depth on the calling thread.
+     *
+     * @param depth the number of plies to search
+     * @return the number of leaf nodes
+     */
+    public long count(int depth) {
+        ensureBuffers(depth);
+        return count(depth, turn);
+    }
+
+    /**
+     * Counts the leaf nodes at a depth on the calling thread, split by root move.
+     *
+     * @param depth the number of plies to search, at least 1
+     * @return the node counts and timing of the run
+     */
+    public PerftResult divide(int depth) {
+        requirePositiveDepth(depth);
+        long start = System.nanoTime();
+        ensureBuffers(depth);
+        MoveBuffer rootMoves = new MoveBuffer();
+        generator.generateLegalMoves(board, turn, players[turn.ordinal()], rootMoves);
+
+        Map<String, Long> divide = new LinkedHashMap<>();
+        long nodes = 0;
+        for (int i = 0; i < rootMoves.size(); i++) {
+            int move = rootMoves.get(i);
+            board.makeMove(move);
+            long moveNodes = count(depth - 1, turn.opposite());
+            board.unmakeMove();
+            divide.put(PackedMove.toUsi(move, variant.getWidth()), moveNodes);
+            nodes += moveNodes;
+        }
+        return new PerftResult(depth, nodes, divide, System.nanoTime() - start);
+    }
+
+    /**
+     * Counts the leaf nodes at a depth, searching the root moves in parallel.
+     *
+     * @param depth the number of plies to search, at least 1
+     * @param pool  the pool running one task per root move
+     * @return the node counts and timing of the run
+     */
+    public PerftResult divide(int depth, ForkJoinPool pool) {
+        requirePositiveDepth(depth);
+        long start = System.nanoTime();
+        MoveBuffer rootMoves = new MoveBuffer();
+        generator.generateLegalMoves(board, turn, players[turn.ordinal()], rootMoves);
+
+        List<RootMoveTask> tasks = new ArrayList<>();
+        for (int i = 0; i < rootMoves.size(); i++) {
+            tasks.add(new RootMoveTask(rootMoves.get(i), depth - 1));
+        }
+        pool.invoke(new RecursiveTask<Void>() {
+            @Override
+            protected Void compute() {
+                invokeAll(tasks);
+                return null;
+            }
+        });
+
+        Map<String, Long> divide = new LinkedHashMap<>();
+        long nodes = 0;
+        for (RootMoveTask task : tasks) {
+            long moveNodes = task.join();
+            divide.put(PackedMove.toUsi(task.move, variant.getWidth()), moveNodes);
+            nodes += moveNodes;
+        }
+        return new PerftResult(depth, nodes, divide, System.nanoTime() - start);
+    }
+
+    /**
+     * Runs perft from the command line.
+     * <p>
+     * Usage: {@code Perft <Standard|Mini|ChuShogi> <depth> [--threads <n>] [--divide] [sfen]}.
+     * Without a SFEN the start position of the variant is used, and without {@code --threads}
+     * the count runs on a single thread.
+     *
+     * @param args the command line arguments
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: Perft <Standard|Mini|ChuShogi> <depth> [--threads <n>] [--divide] [sfen]");
+            System.exit(1);
+        }
+        Variant variant = switch (args[0]) {
+            case "Standard" -> new Standard();
+            case "Mini" -> new Mini();
+            case "ChuShogi" -> new ChuShogi();
+            default -> throw new IllegalArgumentException("Unknown variant: " + args[0]);
+        };
+        int depth = Integer.parseInt(args[1]);
+        int threads = 1;
+        boolean showDivide = false;
+        List<String> sfenParts = new ArrayList<>();
+        for (int i = 2; i < args.length; i++) {
+            switch (args[i]) {
+                case "--threads" -> threads = Integer.parseInt(args[++i]);
+                case "--divide" -> showDivide = true;
+                default -> sfenParts.add(args[i]);
+            }
+        }
+        Sfen sfen = sfenParts.isEmpty() ? variant.getStartSfen() : new Sfen(String.join(" ", sfenParts));
+
+        Perft perft;
+        try {
+            perft = new Perft(variant, sfen);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unsupported position: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+        PerftResult result;
+        if (threads > 1) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                result = perft.divide(depth, pool);
+            } finally {
+                pool.shutdown();
+            }
+        } else {
+            result = perft.divide(depth);
+        }
+
+        if (showDivide) {
+            result.divide().forEach((move, nodes) -> System.out.println(move + ": " + nodes));
+            System.out.println();
+        }
+        System.out.println("Depth: " + result.depth());
+        System.out.println("Nodes: " + result.nodes());
+        System.out.println("Time: " + result.nanos() / 1_000_000 + " ms");
+        System.out.println("NPS: " + result.nodesPerSecond());
+    }
+
+    private long count(int depth, Side side) {
+        if (depth == 0) {
+            return 1;
+        }
+        MoveBuffer moves = buffers[depth - 1];
+        generator.generateLegalMoves(board, side, players[side.ordinal()], moves);
+        if (depth == 1) {
+            return moves.size();
+        }
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            board.makeMove(moves.get(i));
+            nodes += count(depth - 1, side.opposite());
+            board.unmakeMove();
+        }
+        return nodes;
+    }
+
+    private void ensureBuffers(int depth) {
+        if (buffers.length < depth) {
+            int filled = buffers.length;
+            buffers = Arrays.copyOf(buffers, depth);
+            for (int i = filled; i < depth; i++) {
+                buffers[i] = new MoveBuffer();
+            }
+        }
+    }
+
+    private static void requirePositiveDepth(int depth) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Depth must be at least 1: " + depth);
+        }
+    }
+
+    /**
+     * Counts the nodes below one root move on a private copy of the position.
+     */
+    @SuppressWarnings("serial") // Tasks are never serialized
+    private class RootMoveTask extends RecursiveTask<Long> {
+        private final int move;
+        private final int depth;
+
+        RootMoveTask(int move, int depth) {
+            this.move = move;
+            this.depth = depth;
+        }
+
+        @Override
+        protected Long compute() {
+            Perft worker = new Perft(variant, sfen);
+            worker.board.makeMove(move);
+            worker.ensureBuffers(depth);
+            return worker.count(depth, turn.opposite());
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package perft;
+
+import java.util.Map;
+
+/**
+ * The outcome of a perft run.
+ *
+ * @param depth  the depth that was searched
+ * @param nodes  the number of leaf nodes at that depth
+ * @param divide the number of leaf nodes below each root move, keyed by the move in USI notation
+ * @param nanos  the time the run took in nanoseconds
+ */
+public record PerftResult(int depth, long nodes, Map<String, Long> divide, long nanos) {
+
+    /**
+     * Returns the number of leaf nodes counted per second.
+     *
+     * @return the nodes per second, or 0 if the run took no measurable time
+     */
+    public long nodesPerSecond() {
+        return nanos == 0 ? 0 : nodes * 1_000_000_000L / nanos;
+    }
+}
@@ -0,0 +1,76 @@
+package engine;
+
+import model.PackedMove;
+import model.Sfen;
+import model.game.Position;
+import model.pieces.PieceType;
+import model.variants.Mini;
+import model.variants.Standard;
+import model.variants.Variant;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LazySmpTest {
+
+    @Test
+    void testFindsMateInOneOnSeveralThreads() {
+        Standard standard = new Standard();
+        LazySmp search = new LazySmp(standard, new TranspositionTable(4), 4);
+        Position position = Position.of(standard, new Sfen("4k4/9/4P4/9/9/9/9/9/4K4 b G 1"));
+        SearchResult result = search.search(position, SearchLimits.depth(3));
+        search.shutdown();
+
+        assertEquals(PieceType.GOLD_GENERAL, PackedMove.pieceType(result.bestMove()));
+        assertEquals(PackedMove.square(1, 4), PackedMove.to(result.bestMove()));
+        assertEquals(Search.MATE - 1, result.score());
+    }
+
+    @Test
+    void testNodesOfAllThreadsAreAddedUp() {
+        Variant mini = new Mini();
+        Position position = Position.of(mini, mini.getStartSfen());
+        LazySmp search = new LazySmp(mini, new TranspositionTable(4), 3);
+        List<SearchResult> iterations = new ArrayList<>();
+        search.setListener(iterations::add);
+        SearchResult result = search.search(position, SearchLimits.depth(5));
+        search.shutdown();
+
+        assertTrue(result.depth() >= 5);
+        assertNotEquals(PackedMove.NONE, result.bestMove());
+        assertFalse(iterations.isEmpty());
+        assertTrue(result.nodes() >= iterations.get(iterations.size() - 1).nodes());
+    }
+
+    @Test
+    void testThreadCountCanChangeBetweenSearches() {
+        Standard standard = new Standard();
+        Position position = Position.of(standard, standard.getStartSfen());
+        LazySmp search = new LazySmp(standard, new TranspositionTable(4), 1);
+        assertEquals(1, search.getThreads());
+        assertNotEquals(PackedMove.NONE, search.search(position, SearchLimits.depth(2)).bestMove());
+
+        search.setThreads(3);
+        assertEquals(3, search.getThreads());
+        assertNotEquals(PackedMove.NONE, search.search(position, SearchLimits.nodes(20000)).bestMove());
+
+        search.shutdown();
+        assertEquals(1, search.getThreads());
+        assertThrows(IllegalArgumentException.class, () -> search.setThreads(0));
+    }
+
+    @Test
+    void testTimeLimitStopsEveryThread() {
+        Standard standard = new Standard();
+        LazySmp search = new LazySmp(standard, new TranspositionTable(4), 2);
+        long start = System.nanoTime();
+        SearchResult result = search.search(Position.of(standard, standard.getStartSfen()), SearchLimits.time(200));
+        search.shutdown();
+
+        assertTrue((System.nanoTime() - start) / 1_000_000 < 2000, "the search should stop soon after its time is up");
+        assertNotEquals(PackedMove.NONE, result.bestMove());
+    }
+}
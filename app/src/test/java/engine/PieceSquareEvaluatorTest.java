@@ -0,0 +1,86 @@
+package engine;
+
+import model.Sfen;
+import model.game.Board;
+import model.game.Position;
+import model.pieces.PieceType;
+import model.variants.Mini;
+import model.variants.Standard;
+import model.variants.Variant;
+import org.junit.jupiter.api.Test;
+import util.Side;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PieceSquareEvaluatorTest {
+
+    /**
+     * Plays random moves and takes them back, checking after each that the evaluator followed the board.
+     */
+    private static void assertFollowsRandomGame(Variant variant, long seed) {
+        RandomGames.assertFollowsRandomGame(variant, () -> new PieceSquareEvaluator(variant),
+                (board, fresh, followed) -> {
+                    for (Side side : Side.values()) {
+                        assertEquals(fresh.getMaterial(side), followed.getMaterial(side), "material of " + side);
+                        assertEquals(fresh.getPlacement(side), followed.getPlacement(side), "placement of " + side);
+                    }
+                }, 200, seed);
+    }
+
+    @Test
+    void testIncrementalTermsMatchAFreshEvaluation() {
+        assertFollowsRandomGame(new Standard(), 11);
+        assertFollowsRandomGame(new Mini(), 12);
+    }
+
+    @Test
+    void testStartPositionIsBalanced() {
+        for (Variant variant : new Variant[]{new Standard(), new Mini()}) {
+            Board board = Position.of(variant, variant.getStartSfen()).toBoard();
+            PieceSquareEvaluator evaluator = new PieceSquareEvaluator(variant);
+            evaluator.reset(board);
+            assertEquals(0, evaluator.evaluate(board, Side.SENTE), variant.serialize());
+            assertEquals(0, evaluator.evaluate(board, Side.GOTE), variant.serialize());
+        }
+    }
+
+    @Test
+    void testHandPiecesCount() {
+        Standard standard = new Standard();
+        Board board = Position.of(standard, new Sfen("4k4/9/9/9/9/9/9/9/4K4 b R 1")).toBoard();
+        PieceSquareEvaluator evaluator = new PieceSquareEvaluator(standard);
+        evaluator.reset(board);
+
+        int rookInHand = EvaluationTables.load(standard).hand().get(PieceType.ROOK);
+        assertEquals(rookInHand, evaluator.getMaterial(Side.SENTE));
+        assertEquals(0, evaluator.getMaterial(Side.GOTE));
+        assertTrue(evaluator.evaluate(board, Side.SENTE) > 0);
+        assertEquals(-evaluator.evaluate(board, Side.SENTE), evaluator.evaluate(board, Side.GOTE));
+    }
+
+    @Test
+    void testTablesCanBeLoadedFromAFile() throws IOException {
+        Path file = Files.createTempFile("evaluation", ".json");
+        try {
+            Files.writeString(file, "{\"Mini\": {\"values\": {\"PAWN\": [77, 500]}, \"kingDefender\": 3}}");
+            EvaluationTables tables = EvaluationTables.load(new Mini(), file.toString());
+            assertArrayEquals(new int[]{77, 500}, tables.values().get(PieceType.PAWN));
+            assertEquals(3, tables.kingDefender());
+            assertTrue(tables.squares().isEmpty());
+            assertThrows(IllegalArgumentException.class, () -> EvaluationTables.load(new Standard(), file.toString()));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void testSquareTablesMustFitTheBoard() {
+        EvaluationTables tables = new EvaluationTables(Map.of(), Map.of(), Map.of(PieceType.PAWN, new int[81]), Map.of(), 0, 0);
+        assertThrows(IllegalArgumentException.class, () -> new PieceSquareEvaluator(new Mini(), tables));
+    }
+}
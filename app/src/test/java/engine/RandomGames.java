@@ -0,0 +1,86 @@
+package engine;
+
+import model.MoveBuffer;
+import model.game.Board;
+import model.game.Position;
+import model.variants.MoveGenerator;
+import model.variants.Variant;
+import util.Side;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Drives evaluators through random games, for the tests of evaluators that follow the board move by move.
+ */
+public final class RandomGames {
+
+    /**
+     * Compares an evaluator that followed a game with one that was reset on the same board.
+     *
+     * @param <E> the kind of evaluator
+     */
+    @FunctionalInterface
+    public interface Comparison<E extends Evaluator> {
+        void assertMatches(Board board, E fresh, E followed);
+    }
+
+    private RandomGames() {
+    }
+
+    /**
+     * Plays random legal moves from the start position and takes them back. After each move the evaluator is compared
+     * with a fresh one reset on the board, and after each move taken back it has to give the score it gave before.
+     *
+     * @param variant    the variant to play
+     * @param evaluators creates the evaluator that follows the game and the fresh ones it is compared with
+     * @param comparison the assertions comparing a fresh evaluator with the one that followed the game
+     * @param moves      the largest number of moves to play
+     * @param seed       the seed of the random moves
+     * @param <E>        the kind of evaluator
+     */
+    public static <E extends Evaluator> void assertFollowsRandomGame(Variant variant, Supplier<E> evaluators,
+                                                                     Comparison<E> comparison, int moves, long seed) {
+        Board board = Position.of(variant, variant.getStartSfen()).toBoard();
+        E evaluator = evaluators.get();
+        evaluator.reset(board);
+        MoveGenerator generator = new MoveGenerator(variant);
+        MoveBuffer buffer = new MoveBuffer();
+        Random random = new Random(seed);
+        int[] played = new int[moves];
+        int[] scores = new int[moves];
+        Side turn = Side.SENTE;
+        int made = 0;
+        for (; made < moves; made++) {
+            generator.generateLegalMoves(board, turn, board.getPlayer(turn), buffer);
+            if (buffer.isEmpty()) {
+                break;
+            }
+            scores[made] = evaluator.evaluate(board, turn);
+            played[made] = buffer.get(random.nextInt(buffer.size()));
+            board.makeMove(played[made]);
+            evaluator.makeMove(board, played[made]);
+            turn = turn.opposite();
+            assertMatchesFresh(board, evaluators, comparison, evaluator);
+        }
+        while (made > 0) {
+            board.unmakeMove();
+            evaluator.unmakeMove(board, played[--made]);
+            turn = turn.opposite();
+            assertEquals(scores[made], evaluator.evaluate(board, turn));
+        }
+        assertMatchesFresh(board, evaluators, comparison, evaluator);
+    }
+
+    private static <E extends Evaluator> void assertMatchesFresh(Board board, Supplier<E> evaluators,
+                                                                 Comparison<E> comparison, E evaluator) {
+        E fresh = evaluators.get();
+        fresh.reset(board);
+        comparison.assertMatches(board, fresh, evaluator);
+        for (Side side : Side.values()) {
+            assertEquals(fresh.evaluate(board, side), evaluator.evaluate(board, side), "score for " + side);
+        }
+    }
+}
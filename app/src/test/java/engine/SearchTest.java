@@ -0,0 +1,162 @@
+package engine;
+
+import model.PackedMove;
+import model.Sfen;
+import model.game.Board;
+import model.game.Position;
+import model.game.RepetitionTracker;
+import model.pieces.PieceType;
+import model.variants.Mini;
+import model.variants.Standard;
+import model.variants.Variant;
+import org.junit.jupiter.api.Test;
+import util.Side;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchTest {
+
+    @Test
+    void testFindsMateInOne() {
+        Standard standard = new Standard();
+        // A gold dropped in front of the king, protected by the pawn, mates
+        Position position = Position.of(standard, new Sfen("4k4/9/4P4/9/9/9/9/9/4K4 b G 1"));
+        SearchResult result = new Search(standard).search(position, SearchLimits.depth(3));
+
+        assertTrue(PackedMove.isDrop(result.bestMove()));
+        assertEquals(PieceType.GOLD_GENERAL, PackedMove.pieceType(result.bestMove()));
+        assertEquals(PackedMove.square(1, 4), PackedMove.to(result.bestMove()));
+        assertEquals(Search.MATE - 1, result.score());
+        assertTrue(result.isMate());
+    }
+
+    @Test
+    void testCapturesHangingPiece() {
+        Standard standard = new Standard();
+        // The gote rook on 5e is attacked by the sente rook on 5h and defended by nothing
+        Position position = Position.of(standard, new Sfen("k8/9/9/9/4r4/9/9/4R4/8K b - 1"));
+        SearchResult result = new Search(standard).search(position, SearchLimits.depth(2));
+
+        assertEquals(PackedMove.square(7, 4), PackedMove.from(result.bestMove()));
+        assertEquals(PackedMove.square(4, 4), PackedMove.to(result.bestMove()));
+        assertTrue(result.score() > 1000);
+    }
+
+    @Test
+    void testIterationsReportTheirPrincipalVariation() {
+        Variant mini = new Mini();
+        Search search = new Search(mini);
+        List<SearchResult> iterations = new ArrayList<>();
+        search.setListener(iterations::add);
+        SearchResult result = search.search(Position.of(mini, mini.getStartSfen()), SearchLimits.depth(4));
+
+        assertEquals(4, iterations.size());
+        for (int i = 0; i < iterations.size(); i++) {
+            assertEquals(i + 1, iterations.get(i).depth());
+            assertEquals(iterations.get(i).bestMove(), iterations.get(i).pv()[0]);
+        }
+        assertEquals(4, result.depth());
+        assertTrue(result.pv().length >= 4, "the principal variation reaches the depth");
+        assertTrue(result.nodes() > 0);
+    }
+
+    @Test
+    void testNodeLimitStopsTheSearch() {
+        Standard standard = new Standard();
+        Search search = new Search(standard);
+        SearchResult result = search.search(Position.of(standard, standard.getStartSfen()), SearchLimits.nodes(5000));
+
+        assertTrue(result.nodes() <= 5001, "searched " + result.nodes() + " nodes");
+        assertNotEquals(PackedMove.NONE, result.bestMove());
+        assertTrue(result.depth() >= 1);
+    }
+
+    @Test
+    void testTimeLimitStopsTheSearch() {
+        Standard standard = new Standard();
+        long start = System.nanoTime();
+        SearchResult result = new Search(standard).search(Position.of(standard, standard.getStartSfen()), SearchLimits.time(200));
+
+        assertTrue((System.nanoTime() - start) / 1_000_000 < 2000, "the search should stop soon after its time is up");
+        assertNotEquals(PackedMove.NONE, result.bestMove());
+    }
+
+    @Test
+    void testCheckmatedSideHasNoMove() {
+        Standard standard = new Standard();
+        Position position = Position.of(standard, new Sfen("4k4/4G4/4P4/9/9/9/9/9/4K4 w - 1"));
+        SearchResult result = new Search(standard).search(position, SearchLimits.depth(2));
+
+        assertEquals(PackedMove.NONE, result.bestMove());
+        assertEquals(-Search.MATE, result.score());
+    }
+
+    @Test
+    void testQuiescenceSeesMateByCapture() {
+        Standard standard = new Standard();
+        // The gold on 9h is pinned by the lances, and whatever sente plays a lance captures on the file and mates
+        Position position = Position.of(standard, new Sfen("8k/l8/l8/9/8P/9/2g6/G1s6/K8 b - 1"));
+        SearchResult result = new Search(standard).search(position, SearchLimits.depth(1));
+
+        assertEquals(-Search.MATE + 2, result.score());
+    }
+
+    /**
+     * Plays moves from a position, each given as the row and column it starts from and goes to, and records every
+     * position reached as a game would.
+     */
+    private static RepetitionTracker playMoves(Variant variant, String sfen, int[]... moves) {
+        Position position = Position.of(variant, new Sfen(sfen));
+        RepetitionTracker history = new RepetitionTracker();
+        history.push(position.getKey(), position.getTurn(), false);
+        for (int[] move : moves) {
+            Board board = position.toBoard();
+            int columns = position.getColumns();
+            position = position.apply(PackedMove.move(PackedMove.square(move[0], move[1]), PackedMove.square(move[2], move[3]),
+                    board.getPieceAt(move[0] * columns + move[1]), board.getPieceAt(move[2] * columns + move[3]), false));
+            board = position.toBoard();
+            Side turn = position.getTurn();
+            history.push(position.getKey(), turn, board.isSquareAttacked(board.getKingSquare(turn), turn.opposite()));
+        }
+        return history;
+    }
+
+    @Test
+    void testRepeatingAPositionOfTheGameIsADraw() {
+        Standard standard = new Standard();
+        // Gote is a rook up, but the kings have stepped aside and back, so sente can repeat the first position
+        String sfen = "r3k4/9/9/9/9/9/9/9/4K4 b - 1";
+        RepetitionTracker history = playMoves(standard, sfen,
+                new int[]{8, 4, 8, 5}, new int[]{0, 4, 0, 5}, new int[]{8, 5, 8, 4}, new int[]{0, 5, 0, 4});
+        Position position = Position.of(standard, new Sfen(sfen));
+
+        assertTrue(new Search(standard).search(position, SearchLimits.depth(2)).score() < 0);
+        SearchResult result = new Search(standard).search(position, history, SearchLimits.depth(2));
+        assertEquals(0, result.score());
+        assertEquals(PackedMove.square(8, 5), PackedMove.to(result.bestMove()));
+    }
+
+    @Test
+    void testPerpetualCheckLosesForTheCheckingSide() {
+        Standard standard = new Standard();
+        // The sente rook has checked the gote king back and forth between 1a and 2a, and checks again
+        RepetitionTracker history = playMoves(standard, "6pk1/9/8R/6NN1/9/9/9/9/4K4 b - 1",
+                new int[]{2, 8, 2, 7}, new int[]{0, 7, 0, 8}, new int[]{2, 7, 2, 8});
+        Position position = Position.of(standard, new Sfen("6p1k/9/8R/6NN1/9/9/9/9/4K4 w - 1"));
+
+        assertTrue(new Search(standard).search(position, SearchLimits.depth(2)).score() < 0);
+        // Escaping to 2a repeats the position before sente's first check, which loses for sente
+        SearchResult result = new Search(standard).search(position, history, SearchLimits.depth(2));
+        assertEquals(Search.MATE - 1, result.score());
+    }
+
+    @Test
+    void testLimitsAreValidated() {
+        assertThrows(IllegalArgumentException.class, () -> SearchLimits.depth(0));
+        assertThrows(IllegalArgumentException.class, () -> SearchLimits.depth(SearchLimits.MAX_DEPTH + 1));
+        assertThrows(IllegalArgumentException.class, () -> SearchLimits.nodes(0));
+    }
+}
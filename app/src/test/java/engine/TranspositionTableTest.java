@@ -0,0 +1,121 @@
+package engine;
+
+import model.PackedMove;
+import model.game.Position;
+import model.pieces.PieceFactory;
+import model.pieces.PieceType;
+import model.variants.Standard;
+import org.junit.jupiter.api.Test;
+import util.Side;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TranspositionTableTest {
+
+    @Test
+    void testStoredEntryIsReadBack() {
+        TranspositionTable table = new TranspositionTable(1);
+        int move = PackedMove.move(PackedMove.square(6, 2), PackedMove.square(5, 2),
+                PieceFactory.get(PieceType.PAWN, Side.SENTE, false), null, false);
+        table.store(0x1234_5678_9ABCL, move, -Search.MATE + 3, 12, TranspositionTable.LOWER);
+
+        long entry = table.probe(0x1234_5678_9ABCL);
+        assertNotEquals(0, entry);
+        assertEquals(move, TranspositionTable.getMove(entry));
+        assertEquals(-Search.MATE + 3, TranspositionTable.getScore(entry));
+        assertEquals(12, TranspositionTable.getDepth(entry));
+        assertEquals(TranspositionTable.LOWER, TranspositionTable.getBound(entry));
+        assertEquals(1, table.getHits());
+    }
+
+    @Test
+    void testCountersTellMissesFromCollisions() {
+        TranspositionTable table = new TranspositionTable(1);
+        long key = 42;
+        long sameSlot = key + table.getCapacity(); // Same index, other key
+
+        assertEquals(0, table.probe(key));
+        table.store(key, 0, 10, 1, TranspositionTable.EXACT);
+        assertEquals(0, table.probe(sameSlot));
+
+        assertEquals(1, table.getMisses());
+        assertEquals(1, table.getCollisions());
+        assertEquals(0, table.getHits());
+    }
+
+    @Test
+    void testDeeperEntriesOfTheCurrentSearchAreKept() {
+        TranspositionTable table = new TranspositionTable(1);
+        long key = 7;
+        long other = key + table.getCapacity();
+        table.store(key, 0, 50, 10, TranspositionTable.EXACT);
+        table.store(other, 0, -50, 2, TranspositionTable.EXACT);
+        assertNotEquals(0, table.probe(key), "a shallow result must not push out a deep one");
+
+        table.newSearch();
+        table.store(other, 0, -50, 2, TranspositionTable.EXACT);
+        assertEquals(0, table.probe(key), "results of an earlier search are replaced");
+        assertEquals(-50, TranspositionTable.getScore(table.probe(other)));
+    }
+
+    @Test
+    void testTornEntriesAreRejected() throws InterruptedException {
+        TranspositionTable table = new TranspositionTable(1);
+        long[] keys = {3, 3 + table.getCapacity()};
+        int[] scores = {111, -222};
+        Thread[] writers = new Thread[2];
+        for (int t = 0; t < writers.length; t++) {
+            int index = t;
+            writers[t] = new Thread(() -> {
+                for (int i = 0; i < 200_000; i++) {
+                    table.store(keys[index], 0, scores[index], i & 0x3F, TranspositionTable.EXACT);
+                }
+            });
+            writers[t].start();
+        }
+        for (int i = 0; i < 200_000; i++) {
+            for (int k = 0; k < keys.length; k++) {
+                long entry = table.probe(keys[k]);
+                if (entry != 0) {
+                    assertEquals(scores[k], TranspositionTable.getScore(entry));
+                }
+            }
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+    }
+
+    @Test
+    void testSizeIsRoundedToAPowerOfTwo() {
+        assertEquals(1 << 16, new TranspositionTable(1).getCapacity());
+        assertEquals(1 << 17, new TranspositionTable(3).getCapacity());
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(0));
+    }
+
+    @Test
+    void testSearchReusesTheTable() {
+        Standard standard = new Standard();
+        Position position = Position.of(standard, standard.getStartSfen());
+        Search search = new Search(standard);
+        SearchResult first = search.search(position, SearchLimits.depth(4));
+        SearchResult second = search.search(position, SearchLimits.depth(4));
+
+        assertTrue(search.getTranspositionTable().getHits() > 0);
+        assertTrue(second.nodes() < first.nodes(), "a second search of the position starts from the table");
+    }
+
+    @Test
+    void testRandomKeysRoundTrip() {
+        TranspositionTable table = new TranspositionTable(4);
+        Random random = new Random(1);
+        for (int i = 0; i < 1000; i++) {
+            long key = random.nextLong();
+            int score = random.nextInt(2 * Search.MATE) - Search.MATE;
+            table.store(key, 0, score, 0, TranspositionTable.UPPER);
+            assertEquals(score, TranspositionTable.getScore(table.probe(key)));
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package engine.nnue;
+
+import engine.RandomGames;
+import model.Sfen;
+import model.game.Board;
+import model.game.Position;
+import model.variants.Mini;
+import model.variants.Standard;
+import model.variants.Variant;
+import org.junit.jupiter.api.Test;
+import util.Side;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NnueEvaluatorTest {
+
+    /**
+     * Creates a network with small random weights, so that no accumulator wraps around.
+     */
+    static Network randomNetwork(Variant variant, int hidden, long seed) {
+        Random random = new Random(seed);
+        int features = Features.count(variant.getHeight(), variant.getWidth());
+        return new Network(variant.getHeight(), variant.getWidth(), hidden, 127, 16,
+                randomShorts(random, hidden, 64), randomShorts(random, features * hidden, 32),
+                randomShorts(random, 2 * hidden, 64), random.nextInt(201) - 100);
+    }
+
+    private static short[] randomShorts(Random random, int count, int bound) {
+        short[] values = new short[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = (short) (random.nextInt(2 * bound + 1) - bound);
+        }
+        return values;
+    }
+
+    /**
+     * Plays random moves and takes them back, checking after each that the accumulators followed the board.
+     */
+    private static void assertFollowsRandomGame(Variant variant, Network network, long seed) {
+        RandomGames.assertFollowsRandomGame(variant, () -> new NnueEvaluator(variant, network, new ScalarKernels()),
+                (board, fresh, followed) -> { }, 300, seed);
+    }
+
+    @Test
+    void testIncrementalAccumulatorsMatchARefresh() {
+        Mini mini = new Mini();
+        assertFollowsRandomGame(mini, randomNetwork(mini, 32, 1), 21);
+        Standard standard = new Standard();
+        assertFollowsRandomGame(standard, randomNetwork(standard, 8, 2), 22);
+    }
+
+    @Test
+    void testMirroredPositionsScoreTheSame() {
+        Standard standard = new Standard();
+        Network network = randomNetwork(standard, 16, 3);
+        Board board = Position.of(standard, new Sfen("4k4/9/9/9/9/4P4/9/9/4K3L b G2p 1")).toBoard();
+        Board mirrored = Position.of(standard, new Sfen("l3k4/9/9/4p4/9/9/9/9/4K4 w 2Pg 1")).toBoard();
+        NnueEvaluator evaluator = new NnueEvaluator(standard, network);
+        evaluator.reset(board);
+        int score = evaluator.evaluate(board, Side.SENTE);
+        evaluator.reset(mirrored);
+        assertEquals(score, evaluator.evaluate(mirrored, Side.GOTE));
+    }
+
+    @Test
+    void testVectorKernelsMatchScalarKernels() {
+        Kernels kernels = Kernels.create();
+        Kernels scalar = new ScalarKernels();
+        Random random = new Random(4);
+        for (int hidden : new int[]{1, 7, 16, 33, 256}) {
+            short[] weights = randomShorts(random, 3 * hidden, Short.MAX_VALUE);
+            short[] accumulator = randomShorts(random, hidden, Short.MAX_VALUE);
+            short[] expected = accumulator.clone();
+            kernels.add(accumulator, weights, hidden);
+            scalar.add(expected, weights, hidden);
+            assertArrayEquals(expected, accumulator, kernels.getName());
+            kernels.subtract(accumulator, weights, 2 * hidden);
+            scalar.subtract(expected, weights, 2 * hidden);
+            assertArrayEquals(expected, accumulator, kernels.getName());
+            int clip = 65536 / hidden;
+            assertEquals(scalar.dot(accumulator, Math.min(clip, Short.MAX_VALUE), weights, hidden),
+                    kernels.dot(accumulator, Math.min(clip, Short.MAX_VALUE), weights, hidden), kernels.getName());
+        }
+    }
+
+    @Test
+    void testNetworkSurvivesAFile() throws IOException {
+        Mini mini = new Mini();
+        Network network = randomNetwork(mini, 16, 5);
+        Path file = Files.createTempFile("network", ".nnue");
+        try {
+            network.save(file);
+            Network loaded = Network.load(file);
+            assertEquals(16, loaded.getHidden());
+            assertEquals(network.getClip(), loaded.getClip());
+            assertEquals(network.getDivisor(), loaded.getDivisor());
+            assertArrayEquals(network.getFeatureBiases(), loaded.getFeatureBiases());
+            assertArrayEquals(network.getFeatureWeights(), loaded.getFeatureWeights());
+            assertArrayEquals(network.getOutputWeights(), loaded.getOutputWeights());
+            assertEquals(network.getOutputBias(), loaded.getOutputBias());
+            assertThrows(IllegalArgumentException.class, () -> new NnueEvaluator(new Standard(), loaded));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void testMalformedFilesAreRejected() throws IOException {
+        Path file = Files.createTempFile("network", ".nnue");
+        try {
+            ByteBuffer header = ByteBuffer.allocate(28).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(Network.MAGIC).putInt(Network.VERSION).putInt(5).putInt(5).putInt(16).putInt(127).putInt(16);
+            Files.write(file, header.array());
+            assertThrows(IllegalArgumentException.class, () -> Network.load(file));
+            Files.write(file, new byte[]{'n', 'o', 'p', 'e'});
+            assertThrows(IllegalArgumentException.class, () -> Network.load(file));
+        } finally {
+            Files.delete(file);
+        }
+        assertThrows(IllegalArgumentException.class, () -> new Network(5, 5, 1024, 127, 16,
+                new short[1024], new short[0], new short[2048], 0));
+    }
+}
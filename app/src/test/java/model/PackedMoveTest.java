@@ -0,0 +1,106 @@
+package model;
+
+import model.pieces.*;
+import org.junit.jupiter.api.Test;
+import util.Pos;
+import util.Side;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedMoveTest {
+
+    @Test
+    void testBoardMoveFields() {
+        Piece silver = new SilverGeneral(Side.GOTE);
+        Piece pawn = new Pawn(Side.SENTE);
+        int move = PackedMove.move(PackedMove.square(2, 3), PackedMove.square(6, 4), silver, pawn, true);
+
+        assertEquals(PackedMove.square(2, 3), PackedMove.from(move));
+        assertEquals(PackedMove.square(6, 4), PackedMove.to(move));
+        assertEquals(PieceType.SILVER_GENERAL, PackedMove.pieceType(move));
+        assertEquals(Side.GOTE, PackedMove.side(move));
+        assertTrue(PackedMove.isPromotion(move));
+        assertFalse(PackedMove.isPromotedPiece(move));
+        assertFalse(PackedMove.isDrop(move));
+        assertTrue(PackedMove.isCapture(move));
+        assertEquals(PieceType.PAWN, PackedMove.capturedType(move));
+        assertFalse(PackedMove.isCapturedPromoted(move));
+    }
+
+    @Test
+    void testDropFields() {
+        int move = PackedMove.drop(new Knight(Side.SENTE), PackedMove.square(4, 4));
+
+        assertTrue(PackedMove.isDrop(move));
+        assertEquals(PieceType.KNIGHT, PackedMove.pieceType(move));
+        assertEquals(Side.SENTE, PackedMove.side(move));
+        assertFalse(PackedMove.isCapture(move));
+        assertNull(PackedMove.capturedType(move));
+        assertNotEquals(PackedMove.NONE, move);
+    }
+
+    @Test
+    void testRoundTripBoardMove() {
+        Rook rook = new Rook(Side.SENTE);
+        rook.promote();
+        Bishop bishop = new Bishop(Side.GOTE);
+        bishop.promote();
+        Move move = new Move(new Pos(8, 7), new Pos(0, 7), rook, bishop, false);
+
+        Move unpacked = PackedMove.toMove(PackedMove.fromMove(move));
+
+        assertEquals(move.from(), unpacked.from());
+        assertEquals(move.to(), unpacked.to());
+        assertEquals(move.promoted(), unpacked.promoted());
+        assertSamePiece(rook, unpacked.movedPiece());
+        assertSamePiece(bishop, unpacked.capturedPiece());
+        assertEquals(move.toString(), unpacked.toString());
+        assertEquals(PackedMove.fromMove(move), PackedMove.fromMove(unpacked));
+    }
+
+    @Test
+    void testRoundTripPromotion() {
+        Move move = new Move(new Pos(3, 2), new Pos(2, 2), new Pawn(Side.SENTE), new Lance(Side.GOTE), true);
+
+        Move unpacked = PackedMove.toMove(PackedMove.fromMove(move));
+
+        assertTrue(unpacked.promoted());
+        assertSamePiece(move.movedPiece(), unpacked.movedPiece());
+        assertSamePiece(move.capturedPiece(), unpacked.capturedPiece());
+        assertEquals(move.toString(), PackedMove.toString(PackedMove.fromMove(move)));
+    }
+
+    @Test
+    void testRoundTripDrop() {
+        Move move = new Move(null, new Pos(4, 5), new GoldGeneral(Side.GOTE), null, false);
+
+        Move unpacked = PackedMove.toMove(PackedMove.fromMove(move));
+
+        assertTrue(unpacked.fromPlayerHand());
+        assertEquals(move.to(), unpacked.to());
+        assertNull(unpacked.capturedPiece());
+        assertSamePiece(move.movedPiece(), unpacked.movedPiece());
+        assertEquals(move.toString(), unpacked.toString());
+    }
+
+    @Test
+    void testToUsi() {
+        Pawn pawn = new Pawn(Side.SENTE);
+        assertEquals("7g7f", PackedMove.toUsi(PackedMove.move(PackedMove.square(6, 2), PackedMove.square(5, 2), pawn, null, false), 9));
+        assertEquals("8h2b+", PackedMove.toUsi(PackedMove.move(PackedMove.square(7, 1), PackedMove.square(1, 7), new Bishop(Side.SENTE), null, true), 9));
+        assertEquals("P*5e", PackedMove.toUsi(PackedMove.drop(new Pawn(Side.GOTE), PackedMove.square(4, 4)), 9));
+        assertEquals("5a4b", PackedMove.toUsi(PackedMove.move(PackedMove.square(0, 0), PackedMove.square(1, 1), pawn, null, false), 5));
+    }
+
+    @Test
+    void testFromMoveRejectsUnknownPieces() {
+        Move move = new Move(new Pos(0, 0), new Pos(1, 1), null, null, false);
+        assertThrows(IllegalArgumentException.class, () -> PackedMove.fromMove(move));
+    }
+
+    private static void assertSamePiece(Piece expected, Piece actual) {
+        assertEquals(expected.getClass(), actual.getClass());
+        assertEquals(expected.getSide(), actual.getSide());
+        assertEquals(expected.getSfenAbbreviation(), actual.getSfenAbbreviation());
+    }
+}
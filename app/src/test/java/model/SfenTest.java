@@ -65,6 +65,26 @@ public class SfenTest {
         assertEquals(2, counts.get(0)); // Check the number of captured pieces
     }
 
+    @Test
+    void testForEachPieceWithMultiDigitEmptyRun() {
+        Sfen sfen = new Sfen("12/5k6/12/12/12/12/12/12/12/12/12/10LK b - 1");
+        List<Pos> positions = new ArrayList<>();
+
+        sfen.forEachPiece((piece, pos) -> positions.add(pos));
+
+        assertEquals(List.of(new Pos(1, 5), new Pos(11, 10), new Pos(11, 11)), positions);
+    }
+
+    @Test
+    void testForEachCapturedPieceWithMultiDigitCount() {
+        Sfen sfen = new Sfen("4k/5/5/5/K4 b 12Pr 1");
+        List<Integer> counts = new ArrayList<>();
+
+        sfen.forEachCapturedPiece((piece, count) -> counts.add(count));
+
+        assertEquals(List.of(12, 1), counts);
+    }
+
     @Test
     void testSettersAndGetters() {
         Sfen sfen = new Sfen("lnsgkgsnl/1r5b1/ppppppppp/9/9/9/PPPPPPPPP/1B5R1/LNSGKGSNL b - 1");
@@ -0,0 +1,147 @@
+package model.game;
+
+import model.MoveBuffer;
+import model.Sfen;
+import model.pieces.*;
+import model.variants.MoveGenerator;
+import model.variants.Standard;
+import org.junit.jupiter.api.Test;
+import util.Pos;
+import util.Side;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AttackMapTest {
+
+    /**
+     * Counts the attackers of a square from scratch with the moves of every piece.
+     */
+    private static int countAttackers(Board board, Side by, int square) {
+        int count = 0;
+        for (int from = 0; from < board.getSquareCount(); from++) {
+            Piece piece = board.getPieceAt(from);
+            if (piece != null && piece.getSide() == by) {
+                for (Pos target : piece.getAvailableMovesBackend(board.toPos(from), board)) {
+                    // The backend moves also step past an enemy king, which is not an attack on the board as it is
+                    if (board.toSquare(target) == square && isReached(board, from, square)) {
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    private static boolean isReached(Board board, int from, int square) {
+        Piece piece = board.getPieceAt(from);
+        MoveTables tables = board.getMoveTables();
+        if (tables.stepsTo(piece.getSide(), piece.getType(), MoveTables.isPromoted(piece), from, square)) {
+            return true;
+        }
+        for (int direction : tables.getSlides(piece.getSide(), piece.getType(), MoveTables.isPromoted(piece))) {
+            int[] ray = board.getRay(from, direction);
+            for (int i = 0; i < board.getSlideReach(from, direction); i++) {
+                if (ray[i] == square) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void assertMatchesBoard(Board board) {
+        AttackMap map = board.getAttackMap();
+        for (Side side : Side.values()) {
+            int total = 0;
+            for (int square = 0; square < board.getSquareCount(); square++) {
+                int expected = countAttackers(board, side, square);
+                assertEquals(expected, map.getAttackerCount(side, square), side + " attackers of square " + square);
+                total += expected;
+            }
+            assertEquals(total, map.getTotalAttacks(side));
+        }
+    }
+
+    @Test
+    void testStartPosition() {
+        Board board = new Standard().createBoard();
+        board.initializeBoard(new Standard().getStartSfen());
+        board.enableAttackMap();
+        assertMatchesBoard(board);
+        // Both the rook beside it and the lance below it reach the corner square of the rook's rank
+        assertEquals(2, board.getAttackMap().getAttackerCount(Side.SENTE, board.toSquare(new Pos(7, 8))));
+    }
+
+    @Test
+    void testMapFollowsRandomGame() {
+        Standard variant = new Standard();
+        Board board = variant.createBoard();
+        board.initializeBoard(variant.getStartSfen());
+        Player[] players = {new Player(Side.SENTE), new Player(Side.GOTE)};
+        for (Player player : players) {
+            player.intializeHand(variant.getHand());
+        }
+        board.setPlayers(players[0], players[1]);
+        board.enableAttackMap();
+
+        MoveGenerator generator = new MoveGenerator(variant);
+        MoveBuffer buffer = new MoveBuffer();
+        Random random = new Random(3);
+        Side turn = Side.SENTE;
+        int made = 0;
+        for (; made < 120; made++) {
+            generator.generateLegalMoves(board, turn, players[turn.ordinal()], buffer);
+            if (buffer.isEmpty()) {
+                break;
+            }
+            board.makeMove(buffer.get(random.nextInt(buffer.size())));
+            turn = turn.opposite();
+            if (made % 10 == 0) {
+                assertMatchesBoard(board);
+            }
+        }
+        assertMatchesBoard(board);
+        while (board.getPly() > 0) {
+            board.unmakeMove();
+        }
+        assertMatchesBoard(board);
+    }
+
+    @Test
+    void testSetSfenRebuildsTheMap() {
+        Board board = new Board(9, 9);
+        board.enableAttackMap();
+        board.setSfen(new Sfen("4k4/9/9/9/4r4/9/9/9/4K4 b - 1"));
+        assertMatchesBoard(board);
+        assertTrue(board.isSquareAttacked(board.toSquare(new Pos(8, 4)), Side.GOTE));
+        assertFalse(board.isSquareAttacked(board.toSquare(new Pos(8, 5)), Side.GOTE, -1));
+    }
+
+    @Test
+    void testAttacksThroughIgnoredKing() {
+        Board board = new Board(9, 9);
+        board.enableAttackMap();
+        board.setAtPosition(new Pos(4, 0), new Rook(Side.GOTE));
+        board.setAtPosition(new Pos(4, 4), new King(Side.SENTE));
+        int behindKing = board.toSquare(new Pos(4, 5));
+
+        assertFalse(board.isSquareAttacked(behindKing, Side.GOTE));
+        assertTrue(board.isSquareAttacked(behindKing, Side.GOTE, board.toSquare(new Pos(4, 4))));
+        assertFalse(board.isSquareAttacked(board.toSquare(new Pos(3, 5)), Side.GOTE, board.toSquare(new Pos(4, 4))));
+    }
+
+    @Test
+    void testHangingPieces() {
+        Board board = new Board(9, 9);
+        board.enableAttackMap();
+        board.setAtPosition(new Pos(4, 4), new Pawn(Side.SENTE));
+        board.setAtPosition(new Pos(2, 4), new Rook(Side.GOTE));
+        assertTrue(board.isHanging(board.toSquare(new Pos(4, 4))));
+
+        board.setAtPosition(new Pos(5, 4), new GoldGeneral(Side.SENTE));
+        assertFalse(board.isHanging(board.toSquare(new Pos(4, 4))), "A defended piece does not hang");
+        assertFalse(board.isHanging(board.toSquare(new Pos(6, 6))), "An empty square does not hang");
+    }
+}
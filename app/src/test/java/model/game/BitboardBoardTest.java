@@ -0,0 +1,92 @@
+package model.game;
+
+import model.Sfen;
+import model.pieces.*;
+import org.junit.jupiter.api.Test;
+import util.Pos;
+import util.Side;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BitboardBoardTest {
+    private static final String START = "lnsgkgsnl/1r5b1/ppppppppp/9/9/9/PPPPPPPPP/1B5R1/LNSGKGSNL b - 1";
+
+    @Test
+    void testSetSfenFillsBitboards() {
+        BitboardBoard board = new BitboardBoard(9, 9);
+        board.setSfen(new Sfen(START));
+
+        for (int col = 0; col < 9; col++) {
+            assertTrue(board.ifPieceInColum(Side.GOTE, Pawn.class, col));
+        }
+        assertEquals(new Pos(0, 1), board.getPiecePos(Side.GOTE, Knight.class));
+        assertEquals(new Pos(8, 4), board.getPiecePos(Side.SENTE, King.class));
+        assertEquals(new Pos(0, 4), board.getPiecePos(Side.GOTE, King.class));
+    }
+
+    @Test
+    void testMoveUpdatesBitboards() {
+        BitboardBoard board = new BitboardBoard(9, 9);
+        board.setSfen(new Sfen(START));
+
+        board.move(new Pos(1, 7), new Pos(4, 7));
+        assertEquals(new Pos(4, 7), board.getPiecePos(Side.GOTE, Bishop.class));
+        board.move(new Pos(4, 7), new Pos(4, 2));
+        assertTrue(board.ifPieceInColum(Side.GOTE, Bishop.class, 2));
+        assertFalse(board.ifPieceInColum(Side.GOTE, Bishop.class, 7));
+    }
+
+    @Test
+    void testCaptureRemovesCapturedPiece() {
+        BitboardBoard board = new BitboardBoard(9, 9);
+        board.setAtPosition(new Pos(4, 4), new Rook(Side.SENTE));
+        board.setAtPosition(new Pos(2, 4), new Pawn(Side.GOTE));
+
+        board.move(new Pos(4, 4), new Pos(2, 4));
+        assertNull(board.getPiecePos(Side.GOTE, Pawn.class));
+        assertFalse(board.ifPieceInColum(Side.GOTE, Pawn.class, 4));
+        assertEquals(new Pos(2, 4), board.getPiecePos(Side.SENTE, Rook.class));
+    }
+
+    @Test
+    void testLookupsMatchPlainBoard() {
+        BitboardBoard bitboardBoard = new BitboardBoard(9, 9);
+        Board plainBoard = new Board(9, 9);
+        bitboardBoard.setSfen(new Sfen(START));
+        plainBoard.setSfen(new Sfen(START));
+
+        assertEquals(plainBoard.getEveryPiecePos(), bitboardBoard.getEveryPiecePos());
+        assertEquals(plainBoard.getBoardAsSfen(), bitboardBoard.getBoardAsSfen());
+        for (int col = 0; col < 9; col++) {
+            assertEquals(plainBoard.ifPieceInColum(Side.SENTE, Pawn.class, col),
+                    bitboardBoard.ifPieceInColum(Side.SENTE, Pawn.class, col));
+            assertEquals(plainBoard.ifPieceInColum(Side.GOTE, Rook.class, col),
+                    bitboardBoard.ifPieceInColum(Side.GOTE, Rook.class, col));
+        }
+    }
+
+    @Test
+    void testChuShogiSizedBoard() {
+        BitboardBoard board = new BitboardBoard(12, 12);
+        board.setAtPosition(new Pos(11, 11), new King(Side.SENTE));
+        board.setAtPosition(new Pos(0, 0), new King(Side.GOTE));
+        board.setAtPosition(new Pos(5, 7), new Pawn(Side.SENTE));
+
+        assertEquals(144, board.getSquareCount());
+        assertEquals(3, board.getEveryPiecePos().size());
+        assertEquals(new Pos(11, 11), board.getPiecePos(Side.SENTE, King.class));
+        assertTrue(board.ifPieceInColum(Side.SENTE, Pawn.class, 7));
+        assertFalse(board.ifPieceInColum(Side.SENTE, Pawn.class, 11));
+    }
+
+    @Test
+    void testKingLookupMatchesPlainBoard() {
+        BitboardBoard bitboardBoard = new BitboardBoard(9, 9);
+        Board plainBoard = new Board(9, 9);
+        for (Board board : new Board[]{bitboardBoard, plainBoard}) {
+            board.setAtPosition(new Pos(8, 8), new King(Side.SENTE));
+            board.setAtPosition(new Pos(0, 0), new King(Side.SENTE));
+        }
+        assertEquals(plainBoard.getPiecePos(Side.SENTE, King.class), bitboardBoard.getPiecePos(Side.SENTE, King.class));
+        assertEquals(new Pos(0, 0), bitboardBoard.getPiecePos(Side.SENTE, King.class));
+    }
+}
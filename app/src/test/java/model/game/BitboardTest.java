@@ -0,0 +1,96 @@
+package model.game;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BitboardTest {
+
+    @Test
+    void testSetAndClearAcrossWords() {
+        Bitboard bitboard = Bitboard.create(128);
+        bitboard.set(3);
+        bitboard.set(64);
+        bitboard.set(80);
+
+        assertTrue(bitboard.test(3));
+        assertTrue(bitboard.test(64));
+        assertTrue(bitboard.test(80));
+        assertFalse(bitboard.test(63));
+        assertEquals(3, bitboard.popCount());
+
+        bitboard.clear(64);
+        assertFalse(bitboard.test(64));
+        assertEquals(2, bitboard.popCount());
+    }
+
+    @Test
+    void testNextSetBitIteratesInOrder() {
+        int[] squares = {0, 17, 63, 64, 100, 127, 128, 143};
+        for (int size : new int[]{144, 200}) {
+            Bitboard bitboard = Bitboard.create(size);
+            for (int square : squares) {
+                bitboard.set(square);
+            }
+
+            int index = 0;
+            for (int sq = bitboard.nextSetBit(0); sq >= 0; sq = bitboard.nextSetBit(sq + 1)) {
+                assertEquals(squares[index++], sq);
+            }
+            assertEquals(squares.length, index);
+        }
+    }
+
+    @Test
+    void testIntersectsAndEmpty() {
+        Bitboard a = Bitboard.create(81);
+        Bitboard b = Bitboard.create(81);
+        assertTrue(a.isEmpty());
+
+        a.set(70);
+        b.set(71);
+        assertFalse(a.intersects(b));
+
+        b.set(70);
+        assertTrue(a.intersects(b));
+
+        a.clearAll();
+        assertTrue(a.isEmpty());
+    }
+
+    @Test
+    void testCopyIsIndependent() {
+        Bitboard original = Bitboard.create(81);
+        original.set(5);
+        Bitboard copy = original.copy();
+        copy.set(6);
+
+        assertEquals(1, original.popCount());
+        assertEquals(2, copy.popCount());
+        assertNotEquals(original, copy);
+    }
+
+    @Test
+    void testLayoutFollowsSquareCount() {
+        assertInstanceOf(Bitboard64.class, Bitboard.create(25));
+        assertInstanceOf(Bitboard128.class, Bitboard.create(81));
+        assertInstanceOf(Bitboard192.class, Bitboard.create(144));
+        assertInstanceOf(BitboardN.class, Bitboard.create(256));
+        assertThrows(IllegalArgumentException.class, () -> Bitboard.create(0));
+    }
+
+    @Test
+    void testIntersectsAcrossLayouts() {
+        for (int size : new int[]{25, 81, 144, 256}) {
+            Bitboard a = Bitboard.create(size);
+            Bitboard b = Bitboard.create(size);
+            a.set(1);
+            a.set(size - 1);
+            b.set(2);
+            assertFalse(a.intersects(b), "size " + size);
+
+            b.set(size - 1);
+            assertTrue(a.intersects(b), "size " + size);
+            assertEquals(size - 1, a.copy().nextSetBit(2), "size " + size);
+        }
+    }
+}
@@ -1,13 +1,19 @@
 package model.game;
 
 import model.Move;
+import model.MoveBuffer;
+import model.PackedMove;
 import model.Sfen;
+import model.variants.MoveGenerator;
+import model.variants.Standard;
 import model.pieces.*;
 import util.Pos;
 import org.junit.jupiter.api.Test;
 import util.Side;
 import static org.junit.jupiter.api.Assertions.*;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 
 
 
@@ -162,4 +168,234 @@ class BoardTest {
         assertFalse(board.ifPieceInColum(Side.GOTE, Pawn.class, 6),
                 "There should not be any piece in column 6");
     }
+
+    @Test
+    void testPawnFilesTrackUnpromotedPawns() {
+        Board board = new Board(9, 9);
+
+        board.setAtPosition(new Pos(6, 2), new Pawn(Side.SENTE));
+        board.setAtPosition(new Pos(5, 2), new Pawn(Side.SENTE));
+        board.setAtPosition(new Pos(2, 7), new Pawn(Side.GOTE));
+        assertEquals(1L << 2, board.getPawnFiles(Side.SENTE));
+        assertEquals(1L << 7, board.getPawnFiles(Side.GOTE));
+
+        // The column stays marked while one of its two pawns is left
+        board.setAtPosition(new Pos(6, 2), null);
+        assertEquals(1L << 2, board.getPawnFiles(Side.SENTE));
+
+        // A promoted pawn no longer counts
+        board.setAtPosition(new Pos(5, 2), PieceFactory.get(PieceType.PAWN, Side.SENTE, true));
+        assertEquals(0, board.getPawnFiles(Side.SENTE));
+
+        board.setSfen(new Sfen("4k4/9/9/9/9/9/P8/9/4K4 b - 1"));
+        assertEquals(1L, board.getPawnFiles(Side.SENTE));
+        assertEquals(0, board.getPawnFiles(Side.GOTE));
+    }
+
+    @Test
+    void testMakeAndUnmakeCaptureWithPromotion() {
+        Board board = new Board(9, 9);
+        Player sente = new Player(Side.SENTE);
+        sente.intializeHand(List.of(Pawn.class, Bishop.class));
+        board.setPlayers(sente, new Player(Side.GOTE));
+        Bishop bishop = new Bishop(Side.SENTE);
+        Pawn gotePawn = new Pawn(Side.GOTE);
+        board.setAtPosition(new Pos(4, 4), bishop);
+        board.setAtPosition(new Pos(2, 2), gotePawn);
+        long hash = board.getPositionKey(Side.SENTE);
+
+        int move = PackedMove.move(PackedMove.square(4, 4), PackedMove.square(2, 2), bishop, gotePawn, true);
+        board.makeMove(move);
+
+        assertNull(board.getPieceAt(new Pos(4, 4)));
+        Piece promoted = board.getPieceAt(new Pos(2, 2));
+        assertInstanceOf(Bishop.class, promoted);
+        assertTrue(((Bishop) promoted).getIsPromoted());
+        assertFalse(bishop.getIsPromoted(), "The original piece must not be changed by the promotion");
+        assertEquals(1, sente.getHand().get(Pawn.class));
+        assertEquals(1, board.getPly());
+
+        board.unmakeMove();
+
+        assertSame(bishop, board.getPieceAt(new Pos(4, 4)));
+        assertSame(gotePawn, board.getPieceAt(new Pos(2, 2)));
+        assertEquals(0, sente.getHand().get(Pawn.class));
+        assertEquals(hash, board.getPositionKey(Side.SENTE));
+        assertEquals(0, board.getPly());
+    }
+
+    @Test
+    void testMakeAndUnmakeDrop() {
+        Board board = new Board(9, 9);
+        Player gote = new Player(Side.GOTE);
+        gote.intializeHand(List.of(GoldGeneral.class));
+        gote.addCapturedPiece(GoldGeneral.class);
+        board.setPlayers(new Player(Side.SENTE), gote);
+        long hash = board.getPositionKey(Side.GOTE);
+
+        board.makeMove(PackedMove.drop(new GoldGeneral(Side.GOTE), PackedMove.square(3, 6)));
+
+        Piece dropped = board.getPieceAt(new Pos(3, 6));
+        assertInstanceOf(GoldGeneral.class, dropped);
+        assertEquals(Side.GOTE, dropped.getSide());
+        assertEquals(0, gote.getHand().get(GoldGeneral.class));
+
+        board.unmakeMove();
+
+        assertNull(board.getPieceAt(new Pos(3, 6)));
+        assertEquals(1, gote.getHand().get(GoldGeneral.class));
+        assertEquals(hash, board.getPositionKey(Side.GOTE));
+    }
+
+    @Test
+    void testUnmakeWithoutMoveThrows() {
+        Board board = new Board(9, 9);
+        assertThrows(IllegalStateException.class, board::unmakeMove);
+    }
+
+    @Test
+    void testUnmakeRestoresRandomGame() {
+        Standard variant = new Standard();
+        Board board = variant.createBoard();
+        board.initializeBoard(variant.getStartSfen());
+        Player[] players = {new Player(Side.SENTE), new Player(Side.GOTE)};
+        for (Player player : players) {
+            player.intializeHand(variant.getHand());
+        }
+        board.setPlayers(players[0], players[1]);
+
+        MoveGenerator generator = new MoveGenerator(variant);
+        MoveBuffer buffer = new MoveBuffer();
+        Random random = new Random(7);
+        int plies = 300;
+        String[] sfens = new String[plies];
+        long[] keys = new long[plies];
+        Side turn = Side.SENTE;
+        int made = 0;
+        for (; made < plies; made++) {
+            generator.generateLegalMoves(board, turn, players[turn.ordinal()], buffer);
+            if (buffer.isEmpty()) {
+                break;
+            }
+            sfens[made] = board.getBoardAsSfen() + " " + players[0].getHandAsSfen() + players[1].getHandAsSfen();
+            keys[made] = board.getPositionKey(turn);
+            board.makeMove(buffer.get(random.nextInt(buffer.size())));
+            turn = turn.opposite();
+        }
+
+        for (int i = made - 1; i >= 0; i--) {
+            board.unmakeMove();
+            turn = turn.opposite();
+            assertEquals(sfens[i], board.getBoardAsSfen() + " " + players[0].getHandAsSfen() + players[1].getHandAsSfen());
+            assertEquals(keys[i], board.getPositionKey(turn));
+        }
+        assertEquals(0, board.getPly());
+    }
+
+    @Test
+    void testIsSquareAttackedBySteppingPieces() {
+        Board board = new Board(9, 9);
+        board.setAtPosition(new Pos(4, 4), new GoldGeneral(Side.SENTE));
+        board.setAtPosition(new Pos(2, 2), new Knight(Side.GOTE));
+
+        assertTrue(board.isSquareAttacked(board.toSquare(new Pos(3, 4)), Side.SENTE));
+        assertTrue(board.isSquareAttacked(board.toSquare(new Pos(5, 4)), Side.SENTE));
+        assertFalse(board.isSquareAttacked(board.toSquare(new Pos(5, 5)), Side.SENTE), "Golds do not step diagonally backwards");
+        assertFalse(board.isSquareAttacked(board.toSquare(new Pos(3, 4)), Side.GOTE));
+
+        // Gote knights jump towards the bottom of the board
+        assertTrue(board.isSquareAttacked(board.toSquare(new Pos(4, 1)), Side.GOTE));
+        assertTrue(board.isSquareAttacked(board.toSquare(new Pos(4, 3)), Side.GOTE));
+        assertFalse(board.isSquareAttacked(board.toSquare(new Pos(0, 1)), Side.GOTE));
+    }
+
+    @Test
+    void testIsSquareAttackedBySlidingPieces() {
+        Board board = new Board(9, 9);
+        board.setAtPosition(new Pos(8, 0), new Lance(Side.SENTE));
+        board.setAtPosition(new Pos(0, 0), new Bishop(Side.GOTE));
+        board.setAtPosition(new Pos(3, 3), new Pawn(Side.SENTE));
+
+        assertTrue(board.isSquareAttacked(board.toSquare(new Pos(1, 0)), Side.SENTE));
+        assertFalse(board.isSquareAttacked(board.toSquare(new Pos(8, 1)), Side.SENTE), "Lances only slide forwards");
+        assertTrue(board.isSquareAttacked(board.toSquare(new Pos(2, 2)), Side.GOTE));
+        assertTrue(board.isSquareAttacked(board.toSquare(new Pos(3, 3)), Side.GOTE), "The first piece on a ray is attacked");
+        assertFalse(board.isSquareAttacked(board.toSquare(new Pos(4, 4)), Side.GOTE), "Pieces block the ray behind them");
+    }
+
+    @Test
+    void testIsSquareAttackedDefendedPiece() {
+        Board board = new Board(9, 9);
+        board.setAtPosition(new Pos(4, 4), new Pawn(Side.GOTE));
+        board.setAtPosition(new Pos(4, 8), new Rook(Side.GOTE));
+
+        assertTrue(board.isSquareAttacked(board.toSquare(new Pos(4, 4)), Side.GOTE));
+    }
+
+    @Test
+    void testIsSquareAttackedIgnoringSquare() {
+        Board board = new Board(9, 9);
+        board.setAtPosition(new Pos(4, 0), new Rook(Side.GOTE));
+        board.setAtPosition(new Pos(4, 4), new King(Side.SENTE));
+        int behindKing = board.toSquare(new Pos(4, 5));
+
+        assertFalse(board.isSquareAttacked(behindKing, Side.GOTE));
+        assertTrue(board.isSquareAttacked(behindKing, Side.GOTE, board.toSquare(new Pos(4, 4))));
+    }
+
+    @Test
+    void testKingSquaresFollowTheKings() {
+        Board board = new Board(9, 9);
+        board.setSfen(new Sfen("lnsgkgsnl/1r5b1/ppppppppp/9/9/9/PPPPPPPPP/1B5R1/LNSGKGSNL b - 1"));
+        assertEquals(board.toSquare(new Pos(8, 4)), board.getKingSquare(Side.SENTE));
+        assertEquals(board.toSquare(new Pos(0, 4)), board.getKingSquare(Side.GOTE));
+
+        board.move(new Pos(8, 4), new Pos(7, 4));
+        assertEquals(new Pos(7, 4), board.getPiecePos(Side.SENTE, King.class));
+
+        Piece captured = board.testMove(new Pos(7, 4), new Pos(7, 3), null);
+        assertNull(captured);
+        assertEquals(board.toSquare(new Pos(7, 3)), board.getKingSquare(Side.SENTE));
+        board.testMove(new Pos(7, 3), new Pos(7, 4), null);
+
+        board.setAtPosition(new Pos(0, 4), null);
+        assertEquals(-1, board.getKingSquare(Side.GOTE));
+        assertNull(board.getPiecePos(Side.GOTE, King.class));
+    }
+
+    @Test
+    void testPieceListsMatchTheGrid() {
+        Standard variant = new Standard();
+        Board board = new Board(9, 9);
+        board.initializeBoard(variant.getStartSfen());
+        MoveGenerator generator = new MoveGenerator(variant);
+        MoveBuffer buffer = new MoveBuffer();
+        Random random = new Random(11);
+        Side turn = Side.SENTE;
+        for (int ply = 0; ply < 200; ply++) {
+            for (Side side : Side.values()) {
+                List<Integer> listed = new ArrayList<>();
+                for (int i = 0; i < board.getPieceCount(side); i++) {
+                    int square = board.getPieceSquare(side, i);
+                    assertEquals(side, board.getPieceAt(square).getSide());
+                    listed.add(square);
+                }
+                List<Integer> scanned = new ArrayList<>();
+                for (int square = 0; square < board.getSquareCount(); square++) {
+                    Piece piece = board.getPieceAt(square);
+                    if (piece != null && piece.getSide() == side) {
+                        scanned.add(square);
+                    }
+                }
+                listed.sort(null);
+                assertEquals(scanned, listed);
+            }
+            generator.generateLegalMoves(board, turn, null, buffer);
+            if (buffer.isEmpty()) {
+                break;
+            }
+            board.makeMove(buffer.get(random.nextInt(buffer.size())));
+            turn = turn.opposite();
+        }
+    }
 }
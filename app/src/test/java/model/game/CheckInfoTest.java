@@ -0,0 +1,92 @@
+package model.game;
+
+import model.Sfen;
+import org.junit.jupiter.api.Test;
+import util.Pos;
+import util.Side;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CheckInfoTest {
+
+    private CheckInfo analyse(String sfen, Side side) {
+        Board board = new Board(9, 9);
+        board.setSfen(new Sfen(sfen));
+        CheckInfo checkInfo = new CheckInfo(board.getSquareCount());
+        checkInfo.update(board, side);
+        return checkInfo;
+    }
+
+    private static int square(int row, int col) {
+        return row * 9 + col;
+    }
+
+    @Test
+    void testNoKing() {
+        CheckInfo checkInfo = analyse("9/9/9/9/4r4/9/9/9/9 b - 1", Side.SENTE);
+        assertEquals(-1, checkInfo.getKingSquare());
+        assertFalse(checkInfo.isInCheck());
+        assertTrue(checkInfo.isLegal(square(8, 8), square(7, 8)));
+    }
+
+    @Test
+    void testPinnedPieceMovesOnlyAlongPin() {
+        CheckInfo checkInfo = analyse("9/9/9/9/b8/9/2S6/9/4K4 b - 1", Side.SENTE);
+
+        assertFalse(checkInfo.isInCheck());
+        assertTrue(checkInfo.isPinned(square(6, 2)));
+        assertTrue(checkInfo.isLegal(square(6, 2), square(5, 1)), "Moving towards the pinning bishop is legal");
+        assertFalse(checkInfo.isLegal(square(6, 2), square(5, 2)), "Leaving the diagonal exposes the king");
+    }
+
+    @Test
+    void testPieceBehindAnotherIsNotPinned() {
+        CheckInfo checkInfo = analyse("4r4/9/9/9/4G4/9/4S4/9/4K4 b - 1", Side.SENTE);
+        assertFalse(checkInfo.isPinned(square(6, 4)));
+        assertFalse(checkInfo.isPinned(square(4, 4)));
+    }
+
+    @Test
+    void testSlidingCheckCanBeBlockedOrCaptured() {
+        CheckInfo checkInfo = analyse("9/9/9/9/4r4/9/9/9/4K4 b - 1", Side.SENTE);
+
+        assertEquals(1, checkInfo.getCheckerCount());
+        assertTrue(checkInfo.isDropLegal(square(6, 4)));
+        assertFalse(checkInfo.isDropLegal(square(6, 3)));
+        assertFalse(checkInfo.isDropLegal(square(4, 4)), "The checker's square is occupied");
+        assertTrue(checkInfo.isLegal(square(5, 3), square(4, 4)), "Capturing the checker resolves the check");
+        assertFalse(checkInfo.isLegal(square(8, 4), square(7, 4)), "The king cannot stay on the rook's file");
+        assertTrue(checkInfo.isLegal(square(8, 4), square(8, 3)));
+    }
+
+    @Test
+    void testKnightCheckCannotBeBlocked() {
+        CheckInfo checkInfo = analyse("9/9/9/9/9/9/3n5/9/4K4 b - 1", Side.SENTE);
+
+        assertEquals(1, checkInfo.getCheckerCount());
+        assertFalse(checkInfo.isDropLegal(square(7, 4)));
+        assertTrue(checkInfo.isLegal(square(7, 3), square(6, 3)));
+    }
+
+    @Test
+    void testDoubleCheck() {
+        CheckInfo checkInfo = analyse("4r4/9/9/9/9/9/5n3/9/4K4 b - 1", Side.SENTE);
+
+        assertEquals(2, checkInfo.getCheckerCount());
+        assertFalse(checkInfo.isDropLegal(square(5, 4)));
+        assertFalse(checkInfo.isLegal(square(7, 5), square(6, 5)), "Only the king may move in double check");
+    }
+
+    @Test
+    void testReuseClearsPreviousPosition() {
+        Board board = new Board(9, 9);
+        board.setSfen(new Sfen("9/9/9/9/b8/9/2S6/9/4K4 b - 1"));
+        CheckInfo checkInfo = new CheckInfo(board.getSquareCount());
+        checkInfo.update(board, Side.SENTE);
+        assertTrue(checkInfo.isPinned(square(6, 2)));
+
+        board.setAtPosition(new Pos(4, 0), null);
+        checkInfo.update(board, Side.SENTE);
+        assertFalse(checkInfo.isPinned(square(6, 2)));
+    }
+}
@@ -12,6 +12,8 @@ import javafx.beans.property.BooleanProperty;
 import model.pieces.GoldGeneral;
 import model.pieces.Pawn;
 import model.pieces.Piece;
+import model.pieces.PieceFactory;
+import model.pieces.PieceType;
 import model.pieces.Promotable;
 import model.variants.Standard;
 import model.variants.Variant;
@@ -167,6 +169,26 @@ public class GameTest {
         assertEquals(1, game.getMoveCount());
     }
 
+    @Test
+    void testUndoPromotedMove() {
+        Pos from = new Pos(3, 4);
+        Pos to = new Pos(2, 4);
+
+        // Place a sente pawn in front of the gote pawns and capture into the promotion zone
+        Piece sentePiece = PieceFactory.get(PieceType.PAWN, Side.SENTE, false);
+        game.getBoard().setAtPosition(new Pos(6, 4), null);
+        game.getBoard().setAtPosition(from, sentePiece);
+        game.move(from, to);
+        game.promotePieceAt(to);
+        assertEquals("+P", game.getBoard().getPieceAt(to).getSfenAbbreviation());
+
+        game.undo();
+
+        // The pawn returns unpromoted and the captured pawn is back
+        assertSame(sentePiece, game.getBoard().getPieceAt(from));
+        assertEquals("p", game.getBoard().getPieceAt(to).getSfenAbbreviation());
+    }
+
     @Test
     public void testUndoCaptureMoveGote() {
         Pos from = new Pos(4, 0);
@@ -413,6 +435,26 @@ public class GameTest {
         game.getBoard().setAtPosition(promotionPos, new Pawn(Side.GOTE));
         piece = game.getBoard().getPieceAt(promotionPos);
         game.promotePieceAt(promotionPos);
+        assertFalse(((Promotable) piece).getIsPromoted(), "The original piece should not change when promoted.");
+        piece = game.getBoard().getPieceAt(promotionPos);
         assertTrue(((Promotable) piece).getIsPromoted(), "Piece should be promoted after promotion.");
+        assertSame(PieceFactory.get(PieceType.PAWN, Side.GOTE, true), piece, "The promoted piece should be the shared promoted pawn.");
+    }
+
+    @Test
+    void testSennichiteAfterFourOccurrences() {
+        Pos[][] moves = {
+            {new Pos(7, 7), new Pos(7, 6)}, {new Pos(1, 1), new Pos(1, 2)},
+            {new Pos(7, 6), new Pos(7, 7)}, {new Pos(1, 2), new Pos(1, 1)},
+        };
+        for (int i = 0; i < 12; i++) {
+            assertFalse(game.isSennichite(), "Position should not have occurred four times yet.");
+            assertNotNull(game.move(moves[i % 4][0], moves[i % 4][1]));
+        }
+        assertTrue(game.isSennichite(), "Start position should have occurred four times.");
+        assertNull(game.getPerpetualChecker(), "Repetition without checks should be a draw.");
+
+        game.undo();
+        assertFalse(game.isSennichite(), "Undo should take back the repetition.");
     }
 }
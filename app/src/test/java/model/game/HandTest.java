@@ -0,0 +1,72 @@
+package model.game;
+
+import model.pieces.PieceType;
+import model.variants.Standard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import util.Side;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HandTest {
+    private Hand hand;
+
+    @BeforeEach
+    void setUp() {
+        hand = new Hand(Side.SENTE);
+        hand.initialize(new Standard().getHand());
+    }
+
+    @Test
+    void testAddAndRemove() {
+        hand.add(PieceType.PAWN, 2);
+        assertEquals(2, hand.getCount(PieceType.PAWN));
+        assertTrue(hand.contains(PieceType.PAWN));
+
+        hand.add(PieceType.PAWN, -2);
+        assertEquals(0, hand.getCount(PieceType.PAWN));
+        assertFalse(hand.contains(PieceType.PAWN));
+        assertEquals(0, hand.getHeldMask());
+    }
+
+    @Test
+    void testIgnoresKindsNotInHand() {
+        hand.add(PieceType.KING, 1);
+        assertFalse(hand.accepts(PieceType.KING));
+        assertEquals(0, hand.getCount(PieceType.KING));
+        assertEquals("", hand.getSfen());
+    }
+
+    @Test
+    void testSfenFollowsVariantOrder() {
+        Hand gote = new Hand(Side.GOTE);
+        gote.initialize(new Standard().getHand());
+        gote.add(PieceType.PAWN, 3);
+        gote.add(PieceType.ROOK, 1);
+        assertEquals("3pr", gote.getSfen());
+
+        gote.add(PieceType.PAWN, -2);
+        assertEquals("pr", gote.getSfen());
+    }
+
+    @Test
+    void testHashMatchesContentsOnly() {
+        Hand other = new Hand(Side.SENTE);
+        other.initialize(new Standard().getHand());
+        hand.add(PieceType.GOLD_GENERAL, 1);
+        hand.add(PieceType.SILVER_GENERAL, 1);
+        other.add(PieceType.SILVER_GENERAL, 1);
+        other.add(PieceType.GOLD_GENERAL, 1);
+        assertEquals(hand.getHash(), other.getHash());
+
+        hand.add(PieceType.GOLD_GENERAL, -1);
+        assertNotEquals(hand.getHash(), other.getHash());
+    }
+
+    @Test
+    void testToMapKeepsVariantOrder() {
+        hand.add(PieceType.LANCE, 1);
+        assertEquals(new Standard().getHand(), hand.toMap().keySet().stream().toList());
+        assertEquals(1, hand.toMap().get(PieceType.LANCE.getPieceClass()));
+    }
+}
@@ -1,9 +1,13 @@
 package model.game;
 
 import model.Move;
+import model.PackedMove;
+import model.pieces.GoldGeneral;
+import model.pieces.Pawn;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import util.Pos;
+import util.Side;
 
 import java.util.*;
 
@@ -126,4 +130,36 @@ class HistoryTest {
     void testGetLastEmptyHistory() {
         assertThrows(EmptyStackException.class, history::getLast);
     }
+
+    @Test
+    void testPackedMoves() {
+        Move pawnMove = new Move(new Pos(6, 2), new Pos(5, 2), new Pawn(Side.SENTE), null, false);
+        Move drop = new Move(null, new Pos(4, 4), new GoldGeneral(Side.GOTE), null, false);
+        history.addMove(pawnMove);
+        history.addMove(drop);
+
+        assertEquals(PackedMove.fromMove(pawnMove), history.getPackedMove(0));
+        assertEquals(PackedMove.fromMove(drop), history.getPackedMove(1));
+        assertArrayEquals(new int[]{PackedMove.fromMove(pawnMove), PackedMove.fromMove(drop)}, history.getPackedMoves());
+
+        history.removeLast();
+        assertArrayEquals(new int[]{PackedMove.fromMove(pawnMove)}, history.getPackedMoves());
+        assertThrows(IndexOutOfBoundsException.class, () -> history.getPackedMove(1));
+    }
+
+    @Test
+    void testPackedMovesGrowWithHistory() {
+        Move pawnMove = new Move(new Pos(6, 2), new Pos(5, 2), new Pawn(Side.SENTE), null, false);
+        for (int i = 0; i < 200; i++) {
+            history.addMove(pawnMove);
+        }
+        assertEquals(200, history.getPackedMoves().length);
+        assertEquals(PackedMove.fromMove(pawnMove), history.getPackedMove(199));
+    }
+
+    @Test
+    void testUnpackableMoveIsStoredAsNone() {
+        history.addMove(move1);
+        assertEquals(PackedMove.NONE, history.getPackedMove(0));
+    }
 }
@@ -0,0 +1,79 @@
+package model.game;
+
+import model.MoveBuffer;
+import model.pieces.PieceType;
+import model.variants.MoveGenerator;
+import model.variants.Standard;
+import model.variants.Variant;
+import org.junit.jupiter.api.Test;
+import util.Pos;
+import util.Side;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PositionTest {
+
+    @Test
+    void testApplyMatchesTheBoard() {
+        Variant variant = new Standard();
+        Game game = new Game(variant, 0);
+        Position position = game.getPosition();
+        Board board = position.toBoard();
+
+        MoveGenerator generator = new MoveGenerator(variant);
+        MoveBuffer buffer = new MoveBuffer();
+        Random random = new Random(5);
+        for (int made = 0; made < 150; made++) {
+            Side turn = position.getTurn();
+            generator.generateLegalMoves(board, turn, board.getPlayer(turn), buffer);
+            if (buffer.isEmpty()) {
+                break;
+            }
+            int move = buffer.get(random.nextInt(buffer.size()));
+            String before = position.toSfen().toString();
+
+            Position next = position.apply(move);
+            board.makeMove(move);
+
+            assertEquals(before, position.toSfen().toString(), "applying a move must not change the position");
+            assertEquals(board.getBoardAsSfen(), next.toSfen().getBoardPosition());
+            assertEquals(board.getPositionKey(next.getTurn()), next.getKey());
+            position = next;
+        }
+    }
+
+    @Test
+    void testGameSnapshotsFollowTheGame() {
+        Game game = new Game(new Standard(), 0);
+        Position start = game.getPosition();
+        assertEquals(game.getPositionHash(), start.getKey());
+
+        game.move(new Pos(6, 2), new Pos(5, 2));
+        Position afterMove = game.getPosition();
+        assertNotSame(start, afterMove);
+        assertEquals(game.getSfen().toString(), afterMove.toSfen().toString());
+        assertEquals(game.getPositionHash(), afterMove.getKey());
+        assertNotNull(start.getPieceAt(6, 2), "earlier snapshots keep their pieces");
+        assertNull(afterMove.getPieceAt(6, 2));
+
+        game.undo();
+        assertEquals(start, game.getPosition());
+    }
+
+    @Test
+    void testToBoardRecreatesThePosition() {
+        Game game = new Game(new Standard(), 0);
+        game.move(new Pos(6, 2), new Pos(5, 2));
+        game.move(new Pos(2, 6), new Pos(3, 6));
+        game.move(new Pos(7, 1), new Pos(1, 7)); // Bishop takes bishop
+        Position position = game.getPosition();
+
+        Board board = position.toBoard();
+        assertEquals(game.getBoard().getBoardAsSfen(), board.getBoardAsSfen());
+        assertEquals(game.getPositionHash(), board.getPositionKey(position.getTurn()));
+        assertEquals(1, board.getPlayer(Side.SENTE).getCapturedPieces().getCount(PieceType.BISHOP));
+        assertEquals(0, board.getPly(), "the new board starts without history");
+    }
+}
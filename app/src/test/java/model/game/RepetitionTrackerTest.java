@@ -0,0 +1,115 @@
+package model.game;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import util.Side;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RepetitionTrackerTest {
+    private static final long START = 0x1234L;
+    private RepetitionTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new RepetitionTracker();
+        tracker.push(START, Side.SENTE, false);
+    }
+
+    /**
+     * Plays a four move cycle back to the start, with sente checking in the positions gote moves in if asked to.
+     */
+    private void playCycle(boolean senteChecks) {
+        tracker.push(1, Side.GOTE, senteChecks);
+        tracker.push(2, Side.SENTE, false);
+        tracker.push(3, Side.GOTE, senteChecks);
+        tracker.push(START, Side.SENTE, false);
+    }
+
+    @Test
+    void testFourfoldRepetitionIsADraw() {
+        playCycle(false);
+        playCycle(false);
+        assertFalse(tracker.isSennichite());
+        playCycle(false);
+        assertEquals(4, tracker.getCount(START));
+        assertTrue(tracker.isSennichite());
+        assertNull(tracker.getPerpetualChecker());
+    }
+
+    @Test
+    void testPerpetualCheckLosesForTheCheckingSide() {
+        playCycle(true);
+        playCycle(true);
+        assertNull(tracker.getPerpetualChecker());
+        playCycle(true);
+        assertTrue(tracker.isSennichite());
+        assertEquals(Side.SENTE, tracker.getPerpetualChecker());
+    }
+
+    @Test
+    void testPopTakesBackCounts() {
+        playCycle(false);
+        playCycle(false);
+        playCycle(false);
+        tracker.pop();
+        assertEquals(3, tracker.getCount(START));
+        assertFalse(tracker.isSennichite());
+        tracker.push(START, Side.SENTE, false);
+        assertTrue(tracker.isSennichite());
+        assertEquals(13, tracker.size());
+    }
+
+    @Test
+    void testManyDistinctPositions() {
+        for (long key = 1; key <= 10_000; key++) {
+            tracker.push(key * 0x9E3779B97F4A7C15L, Side.SENTE, false);
+        }
+        for (long key = 1; key <= 10_000; key++) {
+            assertEquals(1, tracker.getCount(key * 0x9E3779B97F4A7C15L));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            tracker.pop();
+        }
+        assertEquals(1, tracker.size());
+        assertEquals(0, tracker.getCount(0x9E3779B97F4A7C15L));
+        assertThrows(IllegalStateException.class, () -> { tracker.pop(); tracker.pop(); });
+    }
+
+    @Test
+    void testClearForgetsEveryKey() {
+        // Keys 0 and 128 share a slot of the initial table
+        tracker.push(0, Side.GOTE, false);
+        tracker.push(128, Side.SENTE, false);
+        tracker.push(0, Side.GOTE, false);
+        assertEquals(2, tracker.getCount(0));
+        assertEquals(1, tracker.getCount(128));
+
+        tracker.clear();
+        assertEquals(0, tracker.size());
+        assertEquals(0, tracker.getCount(0));
+        assertEquals(0, tracker.getCount(START));
+        for (int cycle = 0; cycle < 4; cycle++) {
+            tracker.push(0, Side.SENTE, false);
+        }
+        assertEquals(4, tracker.getCount(0));
+        assertTrue(tracker.isSennichite());
+    }
+
+    @Test
+    void testCopyIsIndependent() {
+        playCycle(true);
+        RepetitionTracker copy = tracker.copy();
+        tracker.pop();
+        tracker.push(4, Side.SENTE, false);
+
+        assertEquals(5, copy.size());
+        assertEquals(START, copy.getKey(4));
+        assertEquals(2, copy.getCount(START));
+        assertEquals(0, copy.getCount(4));
+        assertTrue(copy.isInCheck(1));
+        assertFalse(copy.isInCheck(2));
+        assertEquals(4, tracker.getKey(4));
+        assertThrows(IndexOutOfBoundsException.class, () -> copy.getKey(5));
+    }
+}
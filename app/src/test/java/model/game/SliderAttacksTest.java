@@ -0,0 +1,64 @@
+package model.game;
+
+import model.Sfen;
+import model.pieces.Pawn;
+import org.junit.jupiter.api.Test;
+import util.Pos;
+import util.Side;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SliderAttacksTest {
+
+    @Test
+    void testTablesAreSharedPerGeometry() {
+        assertSame(SliderAttacks.forGeometry(9, 9), SliderAttacks.forGeometry(9, 9));
+        assertNotSame(SliderAttacks.forGeometry(9, 9), SliderAttacks.forGeometry(5, 5));
+    }
+
+    @Test
+    void testRaysRunToTheEdge() {
+        SliderAttacks attacks = SliderAttacks.forGeometry(9, 9);
+        int center = 4 * 9 + 4;
+        assertArrayEquals(new int[]{3 * 9 + 4, 2 * 9 + 4, 9 + 4, 4}, attacks.getRay(center, SliderAttacks.NORTH));
+        assertArrayEquals(new int[]{5 * 9 + 5, 6 * 9 + 6, 7 * 9 + 7, 8 * 9 + 8}, attacks.getRay(center, SliderAttacks.SOUTH_EAST));
+        assertEquals(0, attacks.getRay(0, SliderAttacks.NORTH_WEST).length);
+    }
+
+    @Test
+    void testReachStopsAtFirstBlocker() {
+        Board board = new Board(9, 9);
+        Pos from = new Pos(4, 4);
+        int square = board.toSquare(from);
+        for (int direction = 0; direction < SliderAttacks.DIRECTIONS; direction++) {
+            assertEquals(4, board.getSlideReach(square, direction), "Empty board reaches the edge");
+            assertEquals(-1, board.getFirstBlocker(square, direction));
+        }
+
+        board.setAtPosition(new Pos(4, 6), new Pawn(Side.GOTE));
+        board.setAtPosition(new Pos(2, 2), new Pawn(Side.SENTE));
+        board.setAtPosition(new Pos(4, 1), new Pawn(Side.SENTE));
+        assertEquals(2, board.getSlideReach(square, SliderAttacks.EAST));
+        assertEquals(2, board.getSlideReach(square, SliderAttacks.NORTH_WEST));
+        assertEquals(3, board.getSlideReach(square, SliderAttacks.WEST));
+        assertEquals(board.toSquare(new Pos(4, 1)), board.getFirstBlocker(square, SliderAttacks.WEST));
+
+        board.setAtPosition(new Pos(4, 6), null);
+        assertEquals(4, board.getSlideReach(square, SliderAttacks.EAST), "Removing a blocker reopens the ray");
+    }
+
+    @Test
+    void testBlockerOnTheEdgeIsFound() {
+        Board board = new Board(9, 9);
+        board.setAtPosition(new Pos(0, 8), new Pawn(Side.GOTE));
+        assertEquals(8, board.getFirstBlocker(board.toSquare(new Pos(8, 8)), SliderAttacks.NORTH));
+        assertEquals(8, board.getFirstBlocker(board.toSquare(new Pos(8, 0)), SliderAttacks.NORTH_EAST));
+    }
+
+    @Test
+    void testSetSfenResetsOccupancy() {
+        Board board = new Board(9, 9);
+        board.setAtPosition(new Pos(4, 6), new Pawn(Side.GOTE));
+        board.setSfen(new Sfen("9/9/9/9/9/9/9/9/9 b - 1"));
+        assertEquals(4, board.getSlideReach(board.toSquare(new Pos(4, 4)), SliderAttacks.EAST));
+    }
+}
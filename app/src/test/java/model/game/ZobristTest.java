@@ -0,0 +1,117 @@
+package model.game;
+
+import model.Sfen;
+import model.pieces.*;
+import model.variants.Standard;
+import org.junit.jupiter.api.Test;
+import util.Pos;
+import util.Side;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZobristTest {
+
+    @Test
+    void testEmptyBoardAndHandHashToZero() {
+        Board board = new Board(9, 9);
+        Player player = new Player(Side.SENTE);
+        player.intializeHand(new Standard().getHand());
+        assertEquals(0, board.getHash());
+        assertEquals(0, player.getHandHash());
+    }
+
+    @Test
+    void testBoardHashIsIncremental() {
+        Board board = new Board(9, 9);
+        board.setSfen(new Sfen("lnsgkgsnl/1r5b1/ppppppppp/9/9/9/PPPPPPPPP/1B5R1/LNSGKGSNL b - 1"));
+        long start = board.getHash();
+
+        board.move(new Pos(6, 2), new Pos(5, 2));
+        assertNotEquals(start, board.getHash());
+        board.move(new Pos(5, 2), new Pos(6, 2));
+        assertEquals(start, board.getHash(), "Moving back should restore the key");
+
+        Board fresh = new Board(9, 9);
+        fresh.setSfen(new Sfen("lnsgkgsnl/1r5b1/ppppppppp/9/9/9/PPPPPPPPP/1B5R1/LNSGKGSNL b - 1"));
+        assertEquals(fresh.getHash(), board.getHash(), "Equal positions should have equal keys");
+    }
+
+    @Test
+    void testTestMoveRestoresHash() {
+        Board board = new Board(9, 9);
+        Piece rook = new Rook(Side.SENTE);
+        Piece pawn = new Pawn(Side.GOTE);
+        board.setAtPosition(new Pos(4, 4), rook);
+        board.setAtPosition(new Pos(2, 4), pawn);
+        long before = board.getHash();
+
+        Piece captured = board.testMove(new Pos(4, 4), new Pos(2, 4), null);
+        assertNotEquals(before, board.getHash());
+        board.testMove(new Pos(2, 4), new Pos(4, 4), captured);
+        assertEquals(before, board.getHash());
+    }
+
+    @Test
+    void testPromotionChangesHash() {
+        Board board = new Board(9, 9);
+        Pawn pawn = new Pawn(Side.SENTE);
+        board.setAtPosition(new Pos(2, 2), pawn);
+        long unpromoted = board.getHash();
+
+        pawn.promote();
+        board.setAtPosition(new Pos(2, 2), pawn);
+        assertNotEquals(unpromoted, board.getHash());
+        assertEquals(Zobrist.piece(pawn, board.toSquare(new Pos(2, 2))), board.getHash());
+    }
+
+    @Test
+    void testHandHashTracksCounts() {
+        Player player = new Player(Side.SENTE);
+        player.intializeHand(new Standard().getHand());
+
+        player.addCapturedPiece(Pawn.class);
+        long onePawn = player.getHandHash();
+        assertNotEquals(0, onePawn);
+
+        player.addCapturedPiece(Pawn.class);
+        assertNotEquals(onePawn, player.getHandHash());
+
+        player.removeCapturedPiece(Pawn.class);
+        assertEquals(onePawn, player.getHandHash());
+        player.removeCapturedPiece(Pawn.class);
+        assertEquals(0, player.getHandHash());
+    }
+
+    @Test
+    void testSidesHaveDistinctKeys() {
+        assertNotEquals(Zobrist.piece(Side.SENTE, PieceType.PAWN, false, 10), Zobrist.piece(Side.GOTE, PieceType.PAWN, false, 10));
+        assertNotEquals(Zobrist.hand(Side.SENTE, PieceType.PAWN, 1), Zobrist.hand(Side.GOTE, PieceType.PAWN, 1));
+        assertEquals(0, Zobrist.hand(Side.GOTE, PieceType.ROOK, 0));
+    }
+
+    @Test
+    void testGameHashCoversTurnAndTranspositions() {
+        Game first = new Game(new Standard(), 0);
+        Game second = new Game(new Standard(), 0);
+        assertEquals(first.getPositionHash(), second.getPositionHash());
+
+        first.move(new Pos(6, 0), new Pos(5, 0));
+        assertNotEquals(second.getPositionHash(), first.getPositionHash());
+        first.move(new Pos(2, 0), new Pos(3, 0));
+        first.move(new Pos(6, 8), new Pos(5, 8));
+
+        second.move(new Pos(6, 8), new Pos(5, 8));
+        second.move(new Pos(2, 0), new Pos(3, 0));
+        second.move(new Pos(6, 0), new Pos(5, 0));
+        assertEquals(first.getPositionHash(), second.getPositionHash(), "Transposed move orders reach the same key");
+        assertEquals(first.getSfen().toString(), second.getSfen().toString());
+    }
+
+    @Test
+    void testUndoRestoresGameHash() {
+        Game game = new Game(new Standard(), 0);
+        long start = game.getPositionHash();
+        game.move(new Pos(6, 2), new Pos(5, 2));
+        game.undo();
+        assertEquals(start, game.getPositionHash());
+    }
+}
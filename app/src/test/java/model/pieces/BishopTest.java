@@ -34,10 +34,12 @@ class BishopTest {
 
         public void placePiece(Piece piece, Pos pos) {
             board[pos.row()][pos.col()] = piece;
+            setAtPosition(pos, piece);
         }
 
         public void removePiece(Pos pos) {
             board[pos.row()][pos.col()] = null;
+            setAtPosition(pos, null);
         }
     }
 
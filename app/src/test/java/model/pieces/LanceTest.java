@@ -33,12 +33,14 @@ class LanceTest {
         public void placePiece(Piece piece, Pos pos) {
             if (isWithinBounds(pos)) {
                 board[pos.row()][pos.col()] = piece;
+                setAtPosition(pos, piece);
             }
         }
 
         public void removePiece(Pos pos) {
             if (isWithinBounds(pos)) {
                 board[pos.row()][pos.col()] = null;
+                setAtPosition(pos, null);
             }
         }
     }
@@ -0,0 +1,59 @@
+package model.pieces;
+
+import model.game.Board;
+import org.junit.jupiter.api.Test;
+import util.Pos;
+import util.Side;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MovementSpecTest {
+
+    private static int countMoves(PieceType type, Side side, boolean promoted) {
+        Board board = new Board(9, 9);
+        Pos center = new Pos(4, 4);
+        Piece piece = PieceFactory.get(type, side, promoted);
+        board.setAtPosition(center, piece);
+        return piece.getAvailableMoves(center, board).size();
+    }
+
+    @Test
+    void testMoveCountsFromTheCenter() {
+        assertEquals(8, countMoves(PieceType.KING, Side.SENTE, false));
+        assertEquals(6, countMoves(PieceType.GOLD_GENERAL, Side.SENTE, false));
+        assertEquals(5, countMoves(PieceType.SILVER_GENERAL, Side.SENTE, false));
+        assertEquals(2, countMoves(PieceType.KNIGHT, Side.SENTE, false));
+        assertEquals(4, countMoves(PieceType.LANCE, Side.SENTE, false));
+        assertEquals(1, countMoves(PieceType.PAWN, Side.SENTE, false));
+        assertEquals(16, countMoves(PieceType.ROOK, Side.SENTE, false));
+        assertEquals(20, countMoves(PieceType.ROOK, Side.SENTE, true));
+        assertEquals(16, countMoves(PieceType.BISHOP, Side.SENTE, false));
+        assertEquals(20, countMoves(PieceType.BISHOP, Side.SENTE, true));
+        for (PieceType type : List.of(PieceType.SILVER_GENERAL, PieceType.KNIGHT, PieceType.LANCE, PieceType.PAWN)) {
+            assertEquals(6, countMoves(type, Side.GOTE, true), type + " should move like a gold general when promoted.");
+        }
+    }
+
+    @Test
+    void testGoteMovesAreMirrored() {
+        Board board = new Board(9, 9);
+        Pos knightPos = new Pos(4, 4);
+        Piece knight = PieceFactory.get(PieceType.KNIGHT, Side.GOTE, false);
+        board.setAtPosition(knightPos, knight);
+
+        ArrayList<Pos> moves = knight.getAvailableMoves(knightPos, board);
+        assertEquals(List.of(new Pos(6, 3), new Pos(6, 5)), moves);
+    }
+
+    @Test
+    void testOnlyPromotableKindsHavePromotedForms() {
+        assertFalse(PieceType.KING.canPromote());
+        assertFalse(PieceType.GOLD_GENERAL.canPromote());
+        assertTrue(PieceType.ROOK.canPromote());
+        assertSame(PieceType.GOLD_GENERAL.getMovement(false), PieceType.GOLD_GENERAL.getMovement(true));
+        assertSame(MovementSpec.DRAGON, PieceType.ROOK.getMovement(true));
+    }
+}
@@ -165,5 +165,42 @@ class PieceFactoryTest {
         assertEquals(Side.GOTE, piece.getSide(), "Expected side GOTE.");
     }
 
+    // --- Tests for shared pieces ---
 
-}
\ No newline at end of file
+    @Test
+    void testPiecesAreShared() {
+        // Act & Assert
+        assertSame(PieceFactory.fromSfenAbbreviation("P"), PieceFactory.fromClass(Pawn.class, Side.SENTE),
+                "Expected the same instance for the same piece.");
+        assertSame(PieceFactory.fromSfenAbbreviation("+r"), PieceFactory.get(PieceType.ROOK, Side.GOTE, true),
+                "Expected the same instance for the same promoted piece.");
+        assertNotSame(PieceFactory.fromSfenAbbreviation("P"), PieceFactory.fromSfenAbbreviation("+P"),
+                "Expected different instances for promoted and unpromoted pieces.");
+    }
+
+    @Test
+    void testPromotedSwapsPiece() {
+        // Arrange
+        Piece pawn = PieceFactory.fromClass(Pawn.class, Side.SENTE);
+
+        // Act
+        Piece promoted = PieceFactory.promoted(pawn);
+
+        // Assert
+        assertFalse(((Promotable) pawn).getIsPromoted(), "Expected the original piece to stay unpromoted.");
+        assertTrue(((Promotable) promoted).getIsPromoted(), "Expected the promoted piece to be promoted.");
+        assertSame(pawn, PieceFactory.unpromoted(promoted), "Expected demotion to return the unpromoted piece.");
+        Piece king = PieceFactory.fromClass(King.class, Side.SENTE);
+        assertSame(king, PieceFactory.promoted(king), "Expected pieces that cannot promote to stay the same.");
+    }
+
+    @Test
+    void testSharedPieceCannotBePromotedInPlace() {
+        // Arrange
+        Promotable pawn = (Promotable) PieceFactory.fromClass(Pawn.class, Side.GOTE);
+
+        // Act & Assert
+        assertThrows(UnsupportedOperationException.class, pawn::promote);
+        assertFalse(pawn.getIsPromoted(), "Expected the shared piece to stay unpromoted.");
+    }
+}
@@ -34,6 +34,7 @@ class RookTest {
         public void placePiece(Piece piece, Pos pos) {
             if (isWithinBounds(pos)) {
                 board[pos.row()][pos.col()] = piece;
+                setAtPosition(pos, piece);
             }
 
         }
@@ -41,6 +42,7 @@ class RookTest {
         public void removePiece(Pos pos) {
             if (isWithinBounds(pos)) {
                 board[pos.row()][pos.col()] = null;
+                setAtPosition(pos, null);
             }
         }
     }
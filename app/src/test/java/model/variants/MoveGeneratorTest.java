@@ -0,0 +1,385 @@
+package model.variants;
+
+import model.MoveBuffer;
+import model.PackedMove;
+import model.Sfen;
+import model.game.Board;
+import model.game.MoveTables;
+import model.game.Player;
+import model.pieces.*;
+import org.junit.jupiter.api.Test;
+import util.Pos;
+import util.Side;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoveGeneratorTest {
+    private final Variant standard = new Standard();
+
+    private Board boardFrom(Variant variant, String sfen) {
+        Board board = variant.createBoard();
+        board.setSfen(new Sfen(sfen));
+        return board;
+    }
+
+    private Player handOf(Variant variant, Side side) {
+        Player player = new Player(side);
+        player.intializeHand(variant.getHand());
+        return player;
+    }
+
+    private int countMovesFrom(MoveBuffer buffer, Pos from) {
+        int count = 0;
+        for (int i = 0; i < buffer.size(); i++) {
+            if (PackedMove.from(buffer.get(i)) == PackedMove.square(from)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Test
+    void testStartingPositionsMoveCounts() {
+        MoveBuffer buffer = new MoveBuffer();
+        new MoveGenerator(standard).generateLegalMoves(boardFrom(standard, standard.getStartSfen().toString()), Side.SENTE,
+                handOf(standard, Side.SENTE), buffer);
+        assertEquals(30, buffer.size());
+
+        Variant mini = new Mini();
+        new MoveGenerator(mini).generateLegalMoves(boardFrom(mini, mini.getStartSfen().toString()), Side.SENTE,
+                handOf(mini, Side.SENTE), buffer);
+        assertEquals(14, buffer.size());
+    }
+
+    @Test
+    void testBufferIsReused() {
+        MoveBuffer buffer = new MoveBuffer();
+        MoveGenerator generator = new MoveGenerator(standard);
+        Board board = boardFrom(standard, standard.getStartSfen().toString());
+        generator.generateLegalMoves(board, Side.SENTE, null, buffer);
+        generator.generateLegalMoves(board, Side.GOTE, null, buffer);
+        assertEquals(30, buffer.size(), "Generating again replaces the previous moves");
+    }
+
+    @Test
+    void testPawnMustPromoteOnLastRank() {
+        Board board = boardFrom(standard, "4k4/P8/9/9/9/9/9/9/4K4 b - 1");
+        MoveBuffer buffer = new MoveBuffer();
+        new MoveGenerator(standard).generateLegalMoves(board, Side.SENTE, null, buffer);
+
+        int pawnMoves = 0;
+        for (int i = 0; i < buffer.size(); i++) {
+            int move = buffer.get(i);
+            if (PackedMove.pieceType(move) == PieceType.PAWN) {
+                pawnMoves++;
+                assertTrue(PackedMove.isPromotion(move), "A pawn reaching the last rank must promote");
+            }
+        }
+        assertEquals(1, pawnMoves);
+    }
+
+    @Test
+    void testPromotionIsOptionalInsideZone() {
+        Board board = boardFrom(standard, "4k4/9/9/2S6/9/9/9/9/4K4 b - 1");
+        MoveBuffer buffer = new MoveBuffer();
+        new MoveGenerator(standard).generateLegalMoves(board, Side.SENTE, null, buffer);
+        // Three forward silver moves into the zone, each with and without promotion, plus two backward moves
+        assertEquals(8, countMovesFrom(buffer, new Pos(3, 2)));
+    }
+
+    @Test
+    void testDropRules() {
+        Board board = boardFrom(standard, "4k4/9/9/9/9/9/9/P8/4K4 b - 1");
+        Player player = handOf(standard, Side.SENTE);
+        player.addCapturedPiece(Pawn.class);
+        player.addCapturedPiece(Knight.class);
+        MoveBuffer buffer = new MoveBuffer();
+        new MoveGenerator(standard).generateLegalMoves(board, Side.SENTE, player, buffer);
+
+        for (int i = 0; i < buffer.size(); i++) {
+            int move = buffer.get(i);
+            if (!PackedMove.isDrop(move)) {
+                continue;
+            }
+            int row = PackedMove.row(PackedMove.to(move));
+            int col = PackedMove.col(PackedMove.to(move));
+            if (PackedMove.pieceType(move) == PieceType.PAWN) {
+                assertNotEquals(0, col, "No second pawn in a column");
+                assertTrue(row > 0, "No pawn drops on the last rank");
+            } else {
+                assertTrue(row > 1, "No knight drops on the last two ranks");
+            }
+        }
+    }
+
+    @Test
+    void testDropRowsFollowTheSide() {
+        Board board = boardFrom(standard, "4k4/9/9/9/9/9/9/9/4K4 b - 1");
+        MoveGenerator generator = new MoveGenerator(standard);
+        MoveBuffer buffer = new MoveBuffer();
+
+        // Gote moves down the board, so its knights may not be dropped on the two bottom rows
+        generator.generateDrops(board, Side.GOTE, PieceType.KNIGHT, buffer);
+        assertEquals(81 - 2 * 9 - 1, buffer.size());
+        for (int i = 0; i < buffer.size(); i++) {
+            assertTrue(PackedMove.row(PackedMove.to(buffer.get(i))) < 7, "No gote knight drops on the last two ranks");
+            assertEquals(Side.GOTE, PackedMove.side(buffer.get(i)));
+        }
+
+        generator.generateDrops(board, Side.SENTE, PieceType.LANCE, buffer);
+        assertEquals(81 - 9 - 1, buffer.size());
+    }
+
+    @Test
+    void testDropsInCheckOnlyBlock() {
+        Board board = boardFrom(standard, "4r4/9/9/9/9/9/9/9/4K4 b - 1");
+        MoveBuffer buffer = new MoveBuffer();
+        new MoveGenerator(standard).generateDrops(board, Side.SENTE, PieceType.GOLD_GENERAL, buffer);
+
+        // Only the seven squares between the rook and the king block the check
+        assertEquals(7, buffer.size());
+        for (int i = 0; i < buffer.size(); i++) {
+            assertEquals(4, PackedMove.col(PackedMove.to(buffer.get(i))));
+        }
+    }
+
+    @Test
+    void testPawnDropMateIsNotGenerated() {
+        // The gold covers every square around the king, so a pawn on 5b would be mate
+        Board board = boardFrom(standard, "3lkl3/9/4G4/9/9/9/9/9/4K4 b P 1");
+        MoveBuffer buffer = new MoveBuffer();
+        new MoveGenerator(standard).generateDrops(board, Side.SENTE, PieceType.PAWN, buffer);
+        // 70 empty squares below the last rank, less the mating drop
+        assertEquals(69, buffer.size(), "Every pawn drop except the mating one");
+        assertEquals("3lkl3/9/4G4/9/9/9/9/9/4K4", board.getBoardAsSfen(), "The board is restored after testing the drop");
+
+        // Without the lance on 4a the king escapes, so the pawn may be dropped
+        board = boardFrom(standard, "3lk4/9/4G4/9/9/9/9/9/4K4 b P 1");
+        new MoveGenerator(standard).generateDrops(board, Side.SENTE, PieceType.PAWN, buffer);
+        assertEquals(70, buffer.size());
+    }
+
+    @Test
+    void testPinnedPieceStaysOnLine() {
+        Board board = boardFrom(standard, "4r4/9/9/9/9/9/9/4G4/4K4 b - 1");
+        MoveBuffer buffer = new MoveBuffer();
+        new MoveGenerator(standard).generateLegalMoves(board, Side.SENTE, null, buffer);
+        assertEquals(1, countMovesFrom(buffer, new Pos(7, 4)), "Only the move along the pin line is legal");
+    }
+
+    @Test
+    void testKingDoesNotStepIntoAttack() {
+        Board board = boardFrom(standard, "4k4/9/9/9/9/9/9/3r5/5K3 b - 1");
+        MoveBuffer buffer = new MoveBuffer();
+        new MoveGenerator(standard).generateLegalMoves(board, Side.SENTE, null, buffer);
+        // The rook covers row 7, leaving the king only the sideways steps
+        assertEquals(2, buffer.size());
+        for (int i = 0; i < buffer.size(); i++) {
+            assertEquals(8, PackedMove.row(PackedMove.to(buffer.get(i))));
+        }
+    }
+
+    @Test
+    void testSingleCheckAllowsOnlyEvasions() {
+        // The rook checks along the file; the gold can block, the silver can capture
+        Board board = boardFrom(standard, "4r4/9/9/9/9/7S1/9/3G5/4K4 b G 1");
+        Player player = handOf(standard, Side.SENTE);
+        player.addCapturedPiece(GoldGeneral.class);
+        MoveBuffer buffer = new MoveBuffer();
+        new MoveGenerator(standard).generateLegalMoves(board, Side.SENTE, player, buffer);
+
+        for (int i = 0; i < buffer.size(); i++) {
+            int move = buffer.get(i);
+            int to = PackedMove.to(move);
+            boolean kingMove = PackedMove.from(move) == PackedMove.square(8, 4);
+            assertTrue(kingMove || PackedMove.col(to) == 4, "Every other move has to block or capture: " + PackedMove.toString(move));
+        }
+        assertEquals(7, countDrops(buffer), "The gold can be dropped on each square between the rook and the king");
+        assertEquals(2, countMovesFrom(buffer, new Pos(7, 3)), "The gold can block on two squares of the file");
+        assertEquals(0, countMovesFrom(buffer, new Pos(5, 7)), "The silver cannot reach the file");
+    }
+
+    @Test
+    void testDoubleCheckAllowsOnlyKingMoves() {
+        Board board = boardFrom(standard, "4r4/9/9/9/9/9/5n3/3G5/4K4 b P 1");
+        Player player = handOf(standard, Side.SENTE);
+        player.addCapturedPiece(Pawn.class);
+        MoveBuffer buffer = new MoveBuffer();
+        new MoveGenerator(standard).generateLegalMoves(board, Side.SENTE, player, buffer);
+
+        assertFalse(buffer.isEmpty());
+        for (int i = 0; i < buffer.size(); i++) {
+            assertEquals(PackedMove.square(8, 4), PackedMove.from(buffer.get(i)));
+        }
+    }
+
+    @Test
+    void testMatchesMakeAndTestReference() {
+        Variant[] variants = {standard, new Mini()};
+        Random random = new Random(11);
+        for (Variant variant : variants) {
+            MoveGenerator generator = new MoveGenerator(variant);
+            for (int game = 0; game < 20; game++) {
+                Board board = boardFrom(variant, variant.getStartSfen().toString());
+                Player[] players = {handOf(variant, Side.SENTE), handOf(variant, Side.GOTE)};
+                board.setPlayers(players[0], players[1]);
+                MoveBuffer buffer = new MoveBuffer();
+                Side turn = Side.SENTE;
+                for (int ply = 0; ply < 120; ply++) {
+                    generator.generateLegalMoves(board, turn, players[turn.ordinal()], buffer);
+                    assertEquals(referenceMoves(board, turn, players[turn.ordinal()], variant), moveKeys(buffer), board.getBoardAsSfen());
+                    if (buffer.isEmpty()) {
+                        break;
+                    }
+                    board.makeMove(buffer.get(random.nextInt(buffer.size())));
+                    turn = turn.opposite();
+                }
+            }
+        }
+    }
+
+    @Test
+    void testEvasionsAndCheckmateMatchLegalMoves() {
+        Variant[] variants = {standard, new Mini()};
+        Random random = new Random(5);
+        int checks = 0;
+        for (Variant variant : variants) {
+            MoveGenerator generator = new MoveGenerator(variant);
+            for (int game = 0; game < 40; game++) {
+                Board board = boardFrom(variant, variant.getStartSfen().toString());
+                Player[] players = {handOf(variant, Side.SENTE), handOf(variant, Side.GOTE)};
+                board.setPlayers(players[0], players[1]);
+                MoveBuffer legal = new MoveBuffer();
+                MoveBuffer evasions = new MoveBuffer();
+                Side turn = Side.SENTE;
+                for (int ply = 0; ply < 150; ply++) {
+                    Player player = players[turn.ordinal()];
+                    generator.generateLegalMoves(board, turn, player, legal);
+                    generator.generateEvasions(board, turn, player, evasions);
+                    boolean inCheck = board.isSquareAttacked(board.toSquare(board.getPiecePos(turn, King.class)), turn.opposite());
+                    if (inCheck) {
+                        checks++;
+                        assertEquals(moveKeys(legal), moveKeys(evasions), board.getBoardAsSfen());
+                    } else {
+                        assertTrue(evasions.isEmpty());
+                    }
+                    assertEquals(inCheck && legal.isEmpty(), generator.isCheckmate(board, turn, player), board.getBoardAsSfen());
+                    if (legal.isEmpty()) {
+                        break;
+                    }
+                    board.makeMove(legal.get(random.nextInt(legal.size())));
+                    turn = turn.opposite();
+                }
+            }
+        }
+        assertTrue(checks > 0, "The random games should reach positions in check");
+    }
+
+    private static int countDrops(MoveBuffer buffer) {
+        int count = 0;
+        for (int i = 0; i < buffer.size(); i++) {
+            if (PackedMove.isDrop(buffer.get(i))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static Set<Integer> moveKeys(MoveBuffer buffer) {
+        Set<Integer> keys = new HashSet<>();
+        for (int i = 0; i < buffer.size(); i++) {
+            int move = buffer.get(i);
+            keys.add(PackedMove.isDrop(move) ? moveKey(-1 - PackedMove.pieceType(move).ordinal(), PackedMove.to(move)) : moveKey(PackedMove.from(move), PackedMove.to(move)));
+        }
+        return keys;
+    }
+
+    private static int moveKey(int from, int to) {
+        return from * 1000 + to;
+    }
+
+    /**
+     * Collects the squares every move could reach and keeps those that do not leave the king attacked once played.
+     */
+    private static Set<Integer> referenceMoves(Board board, Side side, Player player, Variant variant) {
+        Set<Integer> keys = new HashSet<>();
+        MoveTables tables = board.getMoveTables();
+        for (int from = 0; from < board.getSquareCount(); from++) {
+            Piece piece = board.getPieceAt(from);
+            if (piece == null || piece.getSide() != side) {
+                continue;
+            }
+            Set<Integer> targets = new HashSet<>();
+            for (int to : tables.getSteps(side, piece.getType(), MoveTables.isPromoted(piece), from)) {
+                targets.add(to);
+            }
+            for (int direction : tables.getSlides(side, piece.getType(), MoveTables.isPromoted(piece))) {
+                int[] ray = board.getRay(from, direction);
+                for (int i = 0; i < board.getSlideReach(from, direction); i++) {
+                    targets.add(ray[i]);
+                }
+            }
+            for (int to : targets) {
+                Piece captured = board.getPieceAt(to);
+                if (captured != null && captured.getSide() == side) {
+                    continue;
+                }
+                boolean promote = !tables.hasMoves(side, piece.getType(), MoveTables.isPromoted(piece), to);
+                int move = PackedMove.move(PackedMove.square(board.toPos(from)), PackedMove.square(board.toPos(to)), piece, captured, promote);
+                if (isSafeAfter(board, move, side)) {
+                    keys.add(moveKey(PackedMove.square(board.toPos(from)), PackedMove.square(board.toPos(to))));
+                }
+            }
+        }
+        for (Class<? extends Piece> pieceClass : variant.getHand()) {
+            if (player == null || player.getHand().get(pieceClass) <= 0) {
+                continue;
+            }
+            Piece piece = PieceFactory.fromClass(pieceClass, side);
+            for (int to = 0; to < board.getSquareCount(); to++) {
+                Pos pos = board.toPos(to);
+                if (board.getPieceAt(to) != null || !tables.hasMoves(side, piece.getType(), false, to)
+                        || (pieceClass == Pawn.class && hasUnpromotedPawnInColumn(board, side, pos.col()))) {
+                    continue;
+                }
+                int drop = PackedMove.drop(piece, PackedMove.square(pos));
+                if (isSafeAfter(board, drop, side) && !(pieceClass == Pawn.class && isMateAfter(board, drop, side.opposite(), variant))) {
+                    keys.add(moveKey(-1 - piece.getType().ordinal(), PackedMove.square(pos)));
+                }
+            }
+        }
+        return keys;
+    }
+
+    private static boolean hasUnpromotedPawnInColumn(Board board, Side side, int col) {
+        for (int square = 0; square < board.getSquareCount(); square++) {
+            Piece piece = board.getPieceAt(square);
+            if (board.toPos(square).col() == col && piece instanceof Pawn pawn && pawn.getSide() == side && !pawn.getIsPromoted()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isMateAfter(Board board, int move, Side side, Variant variant) {
+        board.makeMove(move);
+        Pos king = board.getPiecePos(side, King.class);
+        // Drops never escape a pawn check, so the defender's hand does not matter
+        boolean mate = king != null && board.isSquareAttacked(board.toSquare(king), side.opposite())
+                && referenceMoves(board, side, null, variant).isEmpty();
+        board.unmakeMove();
+        return mate;
+    }
+
+    private static boolean isSafeAfter(Board board, int move, Side side) {
+        board.makeMove(move);
+        Pos king = board.getPiecePos(side, King.class);
+        boolean safe = king == null || !board.isSquareAttacked(board.toSquare(king), side.opposite());
+        board.unmakeMove();
+        return safe;
+    }
+}
@@ -1,5 +1,6 @@
 package model.variants;
 
+import model.Sfen;
 import model.game.Player;
 import model.game.Board;
 import model.pieces.King;
@@ -56,6 +57,22 @@ class ShogiRuleSetTest {
         assertFalse(validMove);
     }
 
+    @Test
+    void testValidMove_KingCannotRetreatAlongCheckingLine() {
+        Variant standardVariant = new Standard();
+        Board board = new Board(standardVariant.getWidth(), standardVariant.getHeight());
+
+        King king = new King(Side.SENTE);
+        board.setAtPosition(new Pos(4, 4), king);
+        board.setAtPosition(new Pos(4, 7), new Rook(Side.GOTE));
+
+        ShogiRuleSet ruleSet = new ShogiRuleSet();
+
+        // Stepping away from the rook keeps the king on the rook's line
+        assertFalse(ruleSet.validMove(new Pos(4, 4), new Pos(4, 3), king, board, Side.SENTE, Side.GOTE));
+        assertTrue(ruleSet.validMove(new Pos(4, 4), new Pos(3, 4), king, board, Side.SENTE, Side.GOTE));
+    }
+
     @Test
     void testValidHandMove_Pawn() {
         // Initialize variant and board
@@ -189,13 +206,15 @@ class ShogiRuleSetTest {
 
         // Create a knight and try to place it on an invalid position for GOTE
         Knight knight = new Knight(Side.GOTE);
-        Pos position = new Pos(1, 1); // Invalid row for GOTE (should be >= 2)
+        Pos position = new Pos(7, 1); // Invalid row for GOTE, which moves down the board (should be < 7)
 
         ShogiRuleSet ruleSet = new ShogiRuleSet();
         boolean validHandMove = ruleSet.validHandMove(position, knight.getClass(), board, Side.GOTE);
 
         // We expect the hand move to be invalid for GOTE
-        assertFalse(validHandMove, "Knight cannot be placed on row < 2 for GOTE");
+        assertFalse(validHandMove, "Knight cannot be placed on row > 6 for GOTE");
+        assertTrue(ruleSet.validHandMove(new Pos(1, 1), knight.getClass(), board, Side.GOTE), "Knight can be placed on row 1 for GOTE");
+        assertFalse(ruleSet.validHandMove(new Pos(1, 1), knight.getClass(), board, Side.SENTE), "Knight cannot be placed on row < 2 for SENTE");
     }
 
     @Test
@@ -223,13 +242,48 @@ class ShogiRuleSetTest {
 
         // Create a lance and try to place it on an invalid position for GOTE
         Lance lance = new Lance(Side.GOTE);
-        Pos position = new Pos(0, 4); // Invalid row for GOTE (should be >= 1)
+        Pos position = new Pos(8, 4); // Invalid row for GOTE, which moves down the board (should be < 8)
 
         ShogiRuleSet ruleSet = new ShogiRuleSet();
         boolean validHandMove = ruleSet.validHandMove(position, lance.getClass(), board, Side.GOTE);
 
         // We expect the hand move to be invalid for GOTE
-        assertFalse(validHandMove, "Lance cannot be placed on row < 1 for GOTE");
+        assertFalse(validHandMove, "Lance cannot be placed on row > 7 for GOTE");
+        assertTrue(ruleSet.validHandMove(new Pos(0, 4), lance.getClass(), board, Side.GOTE), "Lance can be placed on row 0 for GOTE");
+        assertFalse(ruleSet.validHandMove(new Pos(0, 4), lance.getClass(), board, Side.SENTE), "Lance cannot be placed on row 0 for SENTE");
+    }
+
+    @Test
+    void testValidHandMove_Pawn_PromotedPawnInColumn() {
+        Variant standardVariant = new Standard();
+        Board board = new Board(standardVariant.getWidth(), standardVariant.getHeight());
+
+        // A promoted pawn does not count as a pawn in the column
+        Pawn tokin = new Pawn(Side.SENTE);
+        tokin.promote();
+        board.setAtPosition(new Pos(1, 3), tokin);
+
+        ShogiRuleSet ruleSet = new ShogiRuleSet();
+        assertTrue(ruleSet.validHandMove(new Pos(5, 3), Pawn.class, board, Side.SENTE), "Pawn can be placed next to a promoted pawn");
+        assertFalse(ruleSet.validHandMove(new Pos(0, 4), Pawn.class, board, Side.SENTE), "Pawn cannot be placed on the last row");
+    }
+
+    @Test
+    void testInvalidHandMove_PawnDropMate() {
+        Variant standardVariant = new Standard();
+        Board board = standardVariant.createBoard();
+        board.setSfen(new Sfen("3lkl3/9/4G4/9/9/9/9/9/4K4 b P 1"));
+
+        ShogiRuleSet ruleSet = new ShogiRuleSet();
+
+        // The gold defends the pawn and covers both escape squares, so the drop would be mate
+        assertFalse(ruleSet.validHandMove(new Pos(1, 4), Pawn.class, board, Side.SENTE), "Pawn cannot be dropped to give checkmate");
+        // Other pieces may give mate from the hand
+        assertTrue(ruleSet.validHandMove(new Pos(1, 4), GoldGeneral.class, board, Side.SENTE), "Gold can be dropped to give checkmate");
+
+        // With the lance gone the king escapes to 4a
+        board.setAtPosition(new Pos(0, 5), null);
+        assertTrue(ruleSet.validHandMove(new Pos(1, 4), Pawn.class, board, Side.SENTE), "Pawn can be dropped to give check");
     }
 
     @Test
@@ -393,6 +447,49 @@ class ShogiRuleSetTest {
         assertTrue(isInCheckMate, "Gote king should be in checkmate as it cannot move out of check.");
     }
 
+    // Test: Moving a piece to the square behind the king does not block the check
+    @Test
+    void testPieceBehindKingCannotBlockCheck() {
+        Variant standardVariant = new Standard();
+        Board board = boxedInKingBoard(standardVariant);
+
+        ShogiRuleSet ruleSet = new ShogiRuleSet();
+
+        // The gold and the pawn can reach the square behind the king, which is still on the rook's line
+        boolean isInCheckMate = ruleSet.isCurrentlyInCheckMate(board, new Pos(4, 4), Side.SENTE, Side.GOTE, new Player(Side.SENTE));
+        assertTrue(isInCheckMate, "King should be in checkmate as no piece can get between the rook and the king.");
+    }
+
+    // Test: A piece dropped from the hand can block the check
+    @Test
+    void testDropCanBlockCheck() {
+        Variant standardVariant = new Standard();
+        Board board = boxedInKingBoard(standardVariant);
+        Player player = new Player(Side.SENTE);
+        player.intializeHand(standardVariant.getHand());
+        player.addCapturedPiece(Pawn.class);
+
+        ShogiRuleSet ruleSet = new ShogiRuleSet();
+
+        // A pawn cannot be dropped next to the king (column 5 holds a pawn) but can be dropped next to the rook
+        boolean isInCheckMate = ruleSet.isCurrentlyInCheckMate(board, new Pos(4, 4), Side.SENTE, Side.GOTE, player);
+        assertFalse(isInCheckMate, "King should not be in checkmate as a pawn can be dropped between the rook and the king.");
+    }
+
+    private Board boxedInKingBoard(Variant variant) {
+        Board board = new Board(variant.getWidth(), variant.getHeight());
+        board.setAtPosition(new Pos(4, 4), new King(Side.SENTE));
+        board.setAtPosition(new Pos(4, 7), new Rook(Side.GOTE));
+        board.setAtPosition(new Pos(3, 3), new Pawn(Side.SENTE));
+        board.setAtPosition(new Pos(3, 4), new Pawn(Side.SENTE));
+        board.setAtPosition(new Pos(3, 5), new Pawn(Side.SENTE));
+        board.setAtPosition(new Pos(5, 3), new Pawn(Side.SENTE));
+        board.setAtPosition(new Pos(5, 4), new Pawn(Side.SENTE));
+        board.setAtPosition(new Pos(5, 5), new Knight(Side.SENTE));
+        board.setAtPosition(new Pos(5, 2), new GoldGeneral(Side.SENTE));
+        return board;
+    }
+
     // Test: The king is in check, but another SENTE piece can block to stop the check
     @Test
     void testPieceCanBlockCheck() {
@@ -529,4 +626,23 @@ class ShogiRuleSetTest {
         // Expect the method to return false as the move does not cause a check
         assertFalse(causesCheck, "Move should not cause check as Rook is not threatening the King.");
     }
+
+    @Test
+    void testRuleSetReusedAcrossBoardSizes() {
+        ShogiRuleSet ruleSet = new ShogiRuleSet();
+        Variant miniVariant = new Mini();
+        Variant standardVariant = new Standard();
+
+        // The same rule set judges a check on a 9x9 board, a 5x5 board and the 9x9 board again
+        for (Variant variant : new Variant[] {standardVariant, miniVariant, standardVariant}) {
+            Board board = new Board(variant.getWidth(), variant.getHeight());
+            board.setAtPosition(new Pos(4, 0), new King(Side.SENTE));
+            board.setAtPosition(new Pos(0, 0), new Rook(Side.GOTE));
+            board.setAtPosition(new Pos(3, 0), new GoldGeneral(Side.SENTE));
+
+            assertTrue(ruleSet.checkIfNextMoveIsCheck(new Pos(3, 0), new Pos(3, 1), board, Side.SENTE, Side.GOTE),
+                    "The pinned gold general may not leave the rook's line on a " + variant.getWidth() + "x" + variant.getHeight() + " board");
+            assertFalse(ruleSet.checkIfNextMoveIsCheck(new Pos(3, 0), new Pos(2, 0), board, Side.SENTE, Side.GOTE));
+        }
+    }
 }
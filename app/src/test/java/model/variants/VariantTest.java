@@ -1,5 +1,6 @@
 package model.variants;
 
+import model.game.BitboardBoard;
 import model.game.Board;
 import model.game.Player;
 import model.settings.PieceSetType;
@@ -119,6 +120,17 @@ class VariantTest {
         assertFalse(variant.isInPromotionZone(new Pos(4, 4), Side.GOTE));
     }
 
+    @Test
+    void testCreateBoard() {
+        Board board = new TestVariant().createBoard();
+        assertInstanceOf(BitboardBoard.class, board);
+        assertEquals(9, board.getWidth());
+        assertEquals(9, board.getHeight());
+
+        Board chuBoard = assertInstanceOf(BitboardBoard.class, new ChuShogi().createBoard());
+        assertEquals(144, chuBoard.getSquareCount(), "Bitboards should be sized for the 12x12 board");
+    }
+
     @Test
     void testSerialize() {
         Variant variant = new TestVariant();
@@ -0,0 +1,80 @@
+package perft;
+
+import model.Sfen;
+import model.variants.ChuShogi;
+import model.variants.Mini;
+import model.variants.Standard;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PerftTest {
+
+    @Test
+    void testStandardStartPosition() {
+        Standard standard = new Standard();
+        Perft perft = new Perft(standard, standard.getStartSfen());
+        assertEquals(1, perft.count(0));
+        assertEquals(30, perft.count(1));
+        assertEquals(900, perft.count(2));
+        assertEquals(25470, perft.count(3));
+    }
+
+    @Test
+    void testMiniStartPosition() {
+        Mini mini = new Mini();
+        Perft perft = new Perft(mini, mini.getStartSfen());
+        assertEquals(14, perft.count(1));
+        assertEquals(181, perft.count(2));
+        assertEquals(2512, perft.count(3));
+        assertEquals(35401, perft.count(4));
+    }
+
+    @Test
+    void testPositionWithHands() {
+        Standard standard = new Standard();
+        Perft perft = new Perft(standard, new Sfen("4k4/9/9/9/9/9/9/9/4K4 b P 1"));
+        // Five king moves and seventy-one pawn drops (none on the last rank or on the king's square)
+        assertEquals(5 + 71, perft.count(1));
+    }
+
+    @Test
+    void testDivideSumsToNodes() {
+        Standard standard = new Standard();
+        PerftResult result = new Perft(standard, standard.getStartSfen()).divide(2);
+
+        assertEquals(900, result.nodes());
+        assertEquals(30, result.divide().size());
+        assertEquals(900, result.divide().values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(30, result.divide().get("7g7f"));
+    }
+
+    @Test
+    void testParallelMatchesSingleThreaded() {
+        Mini mini = new Mini();
+        Perft perft = new Perft(mini, mini.getStartSfen());
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            PerftResult parallel = perft.divide(4, pool);
+            assertEquals(perft.divide(4).divide(), parallel.divide());
+            assertEquals(35401, parallel.nodes());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testLargeBoard() {
+        Perft perft = new Perft(new ChuShogi(), new Sfen("12/5k6/12/12/12/12/12/12/12/12/12/5K6 b - 1"));
+        assertEquals(5, perft.count(1));
+        assertEquals(5 * 8, perft.count(2));
+    }
+
+    @Test
+    void testDivideRejectsZeroDepth() {
+        Mini mini = new Mini();
+        assertThrows(IllegalArgumentException.class, () -> new Perft(mini, mini.getStartSfen()).divide(0));
+    }
+}
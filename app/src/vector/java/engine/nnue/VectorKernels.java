@@ -0,0 +1,77 @@
+package engine.nnue;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The kernels written with the JDK Vector API, which compiles them to the widest SIMD instructions of the CPU.
+ * Only created through {@link Kernels#create()} once the module is known to be present. The class is kept in the
+ * {@code vector} source set, the only code compiled with the incubator module.
+ *
+ * Dot products widen the 16-bit values to 32-bit lanes before multiplying. Every lane sums at most
+ * {@code hidden / lanes} products, which {@link Network} keeps within the range of an {@code int}.
+ */
+final class VectorKernels implements Kernels {
+    private static final VectorSpecies<Short> SHORTS = ShortVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+
+    @Override
+    public void add(short[] accumulator, short[] weights, int offset) {
+        int i = 0;
+        for (int bound = SHORTS.loopBound(accumulator.length); i < bound; i += SHORTS.length()) {
+            ShortVector.fromArray(SHORTS, accumulator, i)
+                    .add(ShortVector.fromArray(SHORTS, weights, offset + i))
+                    .intoArray(accumulator, i);
+        }
+        for (; i < accumulator.length; i++) {
+            accumulator[i] += weights[offset + i];
+        }
+    }
+
+    @Override
+    public void subtract(short[] accumulator, short[] weights, int offset) {
+        int i = 0;
+        for (int bound = SHORTS.loopBound(accumulator.length); i < bound; i += SHORTS.length()) {
+            ShortVector.fromArray(SHORTS, accumulator, i)
+                    .sub(ShortVector.fromArray(SHORTS, weights, offset + i))
+                    .intoArray(accumulator, i);
+        }
+        for (; i < accumulator.length; i++) {
+            accumulator[i] -= weights[offset + i];
+        }
+    }
+
+    @Override
+    public long dot(short[] accumulator, int clip, short[] weights, int offset) {
+        IntVector sums = IntVector.zero(INTS);
+        int i = 0;
+        int parts = SHORTS.length() / INTS.length();
+        for (int bound = SHORTS.loopBound(accumulator.length); i < bound; i += SHORTS.length()) {
+            ShortVector activations = ShortVector.fromArray(SHORTS, accumulator, i)
+                    .max((short) 0)
+                    .min((short) clip);
+            ShortVector row = ShortVector.fromArray(SHORTS, weights, offset + i);
+            for (int part = 0; part < parts; part++) {
+                IntVector a = (IntVector) activations.convertShape(VectorOperators.S2I, INTS, part);
+                IntVector w = (IntVector) row.convertShape(VectorOperators.S2I, INTS, part);
+                sums = sums.add(a.mul(w));
+            }
+        }
+        long sum = 0;
+        for (int lane = 0; lane < INTS.length(); lane++) {
+            sum += sums.lane(lane);
+        }
+        for (; i < accumulator.length; i++) {
+            int activation = Math.min(Math.max(accumulator[i], 0), clip);
+            sum += activation * weights[offset + i];
+        }
+        return sum;
+    }
+
+    @Override
+    public String getName() {
+        return "vector " + SHORTS.vectorBitSize() + "-bit";
+    }
+}